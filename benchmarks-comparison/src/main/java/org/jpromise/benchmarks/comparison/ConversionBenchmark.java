@@ -0,0 +1,68 @@
+package org.jpromise.benchmarks.comparison;
+
+import com.google.common.util.concurrent.SettableFuture;
+import org.jpromise.*;
+import org.jpromise.rx.ObservablePromise;
+import org.jpromise.rx.PromiseObservable;
+import org.openjdk.jmh.annotations.*;
+import rx.subjects.AsyncSubject;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Measures the cost of adapting a pending operation between jpromise and the other libraries, from wrapping through
+ * completion of the adapted result.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConversionBenchmark {
+    @Benchmark
+    public Integer listenableFutureToPromise() throws ExecutionException, InterruptedException {
+        SettableFuture<Integer> future = SettableFuture.create();
+        Promise<Integer> promise = new ListenablePromise<>(future);
+        future.set(0);
+        return promise.get();
+    }
+
+    @Benchmark
+    public Integer observableToPromise() throws ExecutionException, InterruptedException {
+        AsyncSubject<Integer> subject = AsyncSubject.create();
+        Promise<Integer> promise = new ObservablePromise<>(subject);
+        subject.onNext(0);
+        subject.onCompleted();
+        return promise.get();
+    }
+
+    @Benchmark
+    public Integer promiseToObservable() {
+        Deferred<Integer> deferred = Promises.defer();
+        AtomicReference<Integer> result = new AtomicReference<>();
+        new PromiseObservable<>(deferred.promise()).subscribe(result::set);
+        deferred.fulfill(0);
+        return result.get();
+    }
+
+    @Benchmark
+    public Integer completionStageToPromise() throws ExecutionException, InterruptedException {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        Promise<Integer> promise = new CompletionPromise<>(future);
+        future.complete(0);
+        return promise.get();
+    }
+
+    @Benchmark
+    public Integer promiseToCompletionStage() {
+        Deferred<Integer> deferred = Promises.defer();
+        CompletionStage<Integer> stage = CompletionPromise.toCompletionStage(deferred.promise());
+        deferred.fulfill(0);
+        return stage.toCompletableFuture().join();
+    }
+}
@@ -0,0 +1,83 @@
+package org.jpromise.benchmarks.comparison;
+
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import org.jpromise.Deferred;
+import org.jpromise.Promise;
+import org.jpromise.PromiseExecutors;
+import org.jpromise.Promises;
+import org.jpromise.functions.OnFulfilledFunction;
+import org.openjdk.jmh.annotations.*;
+import rx.Observable;
+import rx.subjects.AsyncSubject;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Composes a chain of {@code depth} synchronous transformations on a pending operation and then completes it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeepChainBenchmark {
+    private static final OnFulfilledFunction<Integer, Integer> JPROMISE_INCREMENT = result -> result + 1;
+    private static final Function<Integer, Integer> GUAVA_INCREMENT = result -> result + 1;
+
+    @Param({ "10", "100", "1000" })
+    public int depth;
+
+    @Benchmark
+    public Integer jpromise() throws ExecutionException, InterruptedException {
+        Deferred<Integer> deferred = Promises.defer();
+        Promise<Integer> promise = deferred.promise();
+        for (int i = 0; i < depth; i++) {
+            promise = promise.thenApply(PromiseExecutors.CURRENT_THREAD, JPROMISE_INCREMENT);
+        }
+        deferred.fulfill(0);
+        return promise.get();
+    }
+
+    @Benchmark
+    public Integer completableFuture() {
+        CompletableFuture<Integer> source = new CompletableFuture<>();
+        CompletableFuture<Integer> future = source;
+        for (int i = 0; i < depth; i++) {
+            future = future.thenApply(result -> result + 1);
+        }
+        source.complete(0);
+        return future.join();
+    }
+
+    @Benchmark
+    public Integer guava() throws ExecutionException, InterruptedException {
+        SettableFuture<Integer> source = SettableFuture.create();
+        ListenableFuture<Integer> future = source;
+        for (int i = 0; i < depth; i++) {
+            future = Futures.transform(future, GUAVA_INCREMENT);
+        }
+        source.set(0);
+        return future.get();
+    }
+
+    @Benchmark
+    public Integer rxJava() {
+        AsyncSubject<Integer> source = AsyncSubject.create();
+        Observable<Integer> observable = source;
+        for (int i = 0; i < depth; i++) {
+            observable = observable.map(result -> result + 1);
+        }
+        AtomicReference<Integer> result = new AtomicReference<>();
+        observable.subscribe(result::set);
+        source.onNext(0);
+        source.onCompleted();
+        return result.get();
+    }
+}
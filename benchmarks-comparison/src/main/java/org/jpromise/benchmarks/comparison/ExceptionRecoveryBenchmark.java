@@ -0,0 +1,81 @@
+package org.jpromise.benchmarks.comparison;
+
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.FutureFallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import org.jpromise.Deferred;
+import org.jpromise.Promise;
+import org.jpromise.PromiseExecutors;
+import org.jpromise.Promises;
+import org.jpromise.functions.OnFulfilledFunction;
+import org.jpromise.functions.OnRejectedHandler;
+import org.openjdk.jmh.annotations.*;
+import rx.Observable;
+import rx.subjects.AsyncSubject;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Rejects a pending operation that has a transformation followed by a recovery handler composed on it.  The same
+ * exception instance is reused so that the cost of filling in stack traces does not dominate the results.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExceptionRecoveryBenchmark {
+    private static final Exception EXCEPTION = new Exception("benchmark");
+    private static final Integer FALLBACK = -1;
+
+    private static final OnFulfilledFunction<Integer, Integer> JPROMISE_INCREMENT = result -> result + 1;
+    private static final OnRejectedHandler<Throwable, Integer> JPROMISE_RECOVER = exception -> FALLBACK;
+    private static final Function<Integer, Integer> GUAVA_INCREMENT = result -> result + 1;
+    private static final FutureFallback<Integer> GUAVA_RECOVER = exception -> Futures.immediateFuture(FALLBACK);
+
+    @Benchmark
+    public Integer jpromise() throws ExecutionException, InterruptedException {
+        Deferred<Integer> deferred = Promises.defer();
+        Promise<Integer> promise = deferred.promise()
+                .thenApply(PromiseExecutors.CURRENT_THREAD, JPROMISE_INCREMENT)
+                .handleWith(PromiseExecutors.CURRENT_THREAD, JPROMISE_RECOVER);
+        deferred.reject(EXCEPTION);
+        return promise.get();
+    }
+
+    @Benchmark
+    public Integer completableFuture() {
+        CompletableFuture<Integer> source = new CompletableFuture<>();
+        CompletableFuture<Integer> future = source
+                .thenApply(result -> result + 1)
+                .exceptionally(exception -> FALLBACK);
+        source.completeExceptionally(EXCEPTION);
+        return future.join();
+    }
+
+    @Benchmark
+    public Integer guava() throws ExecutionException, InterruptedException {
+        SettableFuture<Integer> source = SettableFuture.create();
+        ListenableFuture<Integer> future = Futures.withFallback(Futures.transform(source, GUAVA_INCREMENT), GUAVA_RECOVER);
+        source.setException(EXCEPTION);
+        return future.get();
+    }
+
+    @Benchmark
+    public Integer rxJava() {
+        AsyncSubject<Integer> source = AsyncSubject.create();
+        Observable<Integer> observable = source
+                .map(result -> result + 1)
+                .onErrorReturn(exception -> FALLBACK);
+        AtomicReference<Integer> result = new AtomicReference<>();
+        observable.subscribe(result::set);
+        source.onError(EXCEPTION);
+        return result.get();
+    }
+}
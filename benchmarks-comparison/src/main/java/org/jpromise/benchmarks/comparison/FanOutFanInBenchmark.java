@@ -0,0 +1,99 @@
+package org.jpromise.benchmarks.comparison;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import org.jpromise.Deferred;
+import org.jpromise.Promise;
+import org.jpromise.PromiseManager;
+import org.jpromise.Promises;
+import org.openjdk.jmh.annotations.*;
+import rx.Observable;
+import rx.subjects.AsyncSubject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Forks {@code width} pending operations, joins them into a list of their results and then completes every input, so
+ * that every library does the same work.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FanOutFanInBenchmark {
+    @Param({ "10", "1000" })
+    public int width;
+
+    @Benchmark
+    public Object jpromise() throws ExecutionException, InterruptedException {
+        List<Deferred<Integer>> deferreds = new ArrayList<>(width);
+        List<Promise<Integer>> promises = new ArrayList<>(width);
+        for (int i = 0; i < width; i++) {
+            Deferred<Integer> deferred = Promises.defer();
+            deferreds.add(deferred);
+            promises.add(deferred.promise());
+        }
+        Promise<List<Integer>> all = PromiseManager.allOf(promises);
+        for (int i = 0; i < width; i++) {
+            deferreds.get(i).fulfill(i);
+        }
+        return all.get();
+    }
+
+    @Benchmark
+    public Object completableFuture() {
+        List<CompletableFuture<Integer>> futures = new ArrayList<>(width);
+        for (int i = 0; i < width; i++) {
+            futures.add(new CompletableFuture<Integer>());
+        }
+        CompletableFuture<List<Integer>> all = CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[width]))
+                .thenApply(ignored -> {
+                    List<Integer> results = new ArrayList<>(width);
+                    for (CompletableFuture<Integer> future : futures) {
+                        results.add(future.join());
+                    }
+                    return results;
+                });
+        for (int i = 0; i < width; i++) {
+            futures.get(i).complete(i);
+        }
+        return all.join();
+    }
+
+    @Benchmark
+    public Object guava() throws ExecutionException, InterruptedException {
+        List<SettableFuture<Integer>> futures = new ArrayList<>(width);
+        for (int i = 0; i < width; i++) {
+            futures.add(SettableFuture.<Integer>create());
+        }
+        ListenableFuture<List<Integer>> all = Futures.allAsList(futures);
+        for (int i = 0; i < width; i++) {
+            futures.get(i).set(i);
+        }
+        return all.get();
+    }
+
+    @Benchmark
+    public Object rxJava() {
+        List<AsyncSubject<Integer>> subjects = new ArrayList<>(width);
+        for (int i = 0; i < width; i++) {
+            subjects.add(AsyncSubject.<Integer>create());
+        }
+        AtomicReference<List<Integer>> all = new AtomicReference<>();
+        Observable.merge(subjects).toList().subscribe(all::set);
+        for (int i = 0; i < width; i++) {
+            AsyncSubject<Integer> subject = subjects.get(i);
+            subject.onNext(i);
+            subject.onCompleted();
+        }
+        return all.get();
+    }
+}
@@ -0,0 +1,81 @@
+package org.jpromise.benchmarks.comparison;
+
+import com.google.common.util.concurrent.SettableFuture;
+import org.jpromise.Deferred;
+import org.jpromise.Promise;
+import org.jpromise.Promises;
+import org.openjdk.jmh.annotations.*;
+import rx.subjects.AsyncSubject;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Arms a timeout on a pending operation which then completes well before the timeout elapses, which is the common
+ * case in timeout-heavy flows.  The cost measured is scheduling the timeout and cancelling it again on completion.
+ * {@code CompletableFuture} (Java 8) and Guava have no built-in timeout so both use a shared
+ * {@link ScheduledExecutorService} the way application code typically does.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimeoutBenchmark {
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private ScheduledExecutorService scheduler;
+
+    @Setup
+    public void setup() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "timeout-benchmark");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        scheduler = executor;
+    }
+
+    @TearDown
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Benchmark
+    public Integer jpromise() throws ExecutionException, InterruptedException {
+        Deferred<Integer> deferred = Promises.defer();
+        Promise<Integer> promise = Promises.orTimeout(deferred.promise(), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        deferred.fulfill(0);
+        return promise.get();
+    }
+
+    @Benchmark
+    public Integer completableFuture() {
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        ScheduledFuture<?> timeout = scheduler.schedule(() -> future.completeExceptionally(new TimeoutException()), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        future.whenComplete((result, exception) -> timeout.cancel(false));
+        future.complete(0);
+        return future.join();
+    }
+
+    @Benchmark
+    public Integer guava() throws ExecutionException, InterruptedException {
+        SettableFuture<Integer> future = SettableFuture.create();
+        ScheduledFuture<?> timeout = scheduler.schedule(() -> future.setException(new TimeoutException()), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        future.addListener(() -> timeout.cancel(false), Runnable::run);
+        future.set(0);
+        return future.get();
+    }
+
+    @Benchmark
+    public Integer rxJava() {
+        AsyncSubject<Integer> source = AsyncSubject.create();
+        AtomicReference<Integer> result = new AtomicReference<>();
+        source.timeout(TIMEOUT_SECONDS, TimeUnit.SECONDS).subscribe(result::set);
+        source.onNext(0);
+        source.onCompleted();
+        return result.get();
+    }
+}
@@ -0,0 +1,54 @@
+package org.jpromise.benchmarks;
+
+import org.jpromise.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares executors on a blocking-heavy workload where every task sleeps, which is where
+ * {@link org.jpromise.PromiseExecutors#VIRTUAL_THREAD} is expected to outperform the bounded
+ * {@link org.jpromise.PromiseExecutors#COMMON_POOL}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BlockingBenchmark {
+    private static final Callable<Void> SLEEP = new Callable<Void>() {
+        @Override
+        public Void call() throws InterruptedException {
+            Thread.sleep(1L);
+            return null;
+        }
+    };
+
+    @Param({ "COMMON_POOL", "VIRTUAL_THREAD", "NEW_THREAD" })
+    public String executor;
+
+    @Param({ "100", "1000" })
+    public int tasks;
+
+    private Executor resolved;
+
+    @Setup
+    public void setup() {
+        resolved = PromiseExecutors.valueOf(executor);
+    }
+
+    @Benchmark
+    public Void blockingTasks() throws ExecutionException, InterruptedException {
+        List<Promise<Void>> promises = new ArrayList<Promise<Void>>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            promises.add(Promises.create(resolved, SLEEP));
+        }
+        return PromiseManager.whenAllCompleted(promises).get();
+    }
+}
@@ -0,0 +1,86 @@
+package org.jpromise.benchmarks;
+
+import org.jpromise.*;
+import org.jpromise.functions.OnFulfilled;
+import org.jpromise.functions.OnFulfilledFunction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of chains of {@code then}, {@code thenApply} and {@code thenCompose} continuations per
+ * executor.  The chain is composed on a pending promise which is then fulfilled and awaited.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChainBenchmark {
+    private static final OnFulfilled<Integer> NOOP = new OnFulfilled<Integer>() {
+        @Override
+        public void fulfilled(Integer result) { }
+    };
+    private static final OnFulfilledFunction<Integer, Integer> INCREMENT = new OnFulfilledFunction<Integer, Integer>() {
+        @Override
+        public Integer fulfilled(Integer result) {
+            return result + 1;
+        }
+    };
+    private static final OnFulfilledFunction<Integer, Future<Integer>> COMPOSE = new OnFulfilledFunction<Integer, Future<Integer>>() {
+        @Override
+        public Future<Integer> fulfilled(Integer result) {
+            return Promises.fulfilled(result + 1);
+        }
+    };
+
+    @Param({ "CURRENT_THREAD", "COMMON_POOL" })
+    public String executor;
+
+    @Param({ "1", "10", "100" })
+    public int depth;
+
+    private Executor resolved;
+
+    @Setup
+    public void setup() {
+        resolved = PromiseExecutors.valueOf(executor);
+    }
+
+    @Benchmark
+    public Integer then() throws ExecutionException, InterruptedException {
+        Deferred<Integer> deferred = Promises.defer();
+        Promise<Integer> promise = deferred.promise();
+        for (int i = 0; i < depth; i++) {
+            promise = promise.then(resolved, NOOP);
+        }
+        deferred.fulfill(0);
+        return promise.get();
+    }
+
+    @Benchmark
+    public Integer thenApply() throws ExecutionException, InterruptedException {
+        Deferred<Integer> deferred = Promises.defer();
+        Promise<Integer> promise = deferred.promise();
+        for (int i = 0; i < depth; i++) {
+            promise = promise.thenApply(resolved, INCREMENT);
+        }
+        deferred.fulfill(0);
+        return promise.get();
+    }
+
+    @Benchmark
+    public Integer thenCompose() throws ExecutionException, InterruptedException {
+        Deferred<Integer> deferred = Promises.defer();
+        Promise<Integer> promise = deferred.promise();
+        for (int i = 0; i < depth; i++) {
+            promise = promise.thenCompose(resolved, COMPOSE);
+        }
+        deferred.fulfill(0);
+        return promise.get();
+    }
+}
@@ -0,0 +1,133 @@
+package org.jpromise.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JMH result files written with {@code -rf csv} and reports the change of every benchmark present in
+ * both, along with the normalized allocation rate if the results were recorded with {@code -prof gc}.  Exits with a
+ * non-zero status if any of them regressed by more than the threshold percentage.
+ * <p>
+ * Usage: {@code java -cp target/benchmarks.jar org.jpromise.benchmarks.CompareResults baseline.csv current.csv [threshold]}
+ */
+public class CompareResults {
+    private static final double DEFAULT_THRESHOLD = 10.0;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: CompareResults <baseline.csv> <current.csv> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+        Map<String, Result> baseline = read(args[0]);
+        Map<String, Result> current = read(args[1]);
+
+        int regressions = 0;
+        System.out.println(String.format("%-80s %14s %14s %9s", "Benchmark", "Baseline", "Current", "Change"));
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            Result after = entry.getValue();
+            double change = (after.score - before.score) / before.score * 100.0;
+            // throughput is better when higher, time and allocation are better when lower
+            double regression = after.higherIsBetter() ? -change : change;
+            String flag = "";
+            if (regression > threshold) {
+                flag = "  REGRESSION";
+                regressions++;
+            }
+            System.out.println(String.format("%-80s %14.3f %14.3f %+8.1f%%%s (%s)",
+                    entry.getKey(), before.score, after.score, change, flag, after.unit));
+        }
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) regressed by more than " + threshold + "%");
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Result> read(String file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<String, Result>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+        try {
+            List<String> header = parse(reader.readLine());
+            int benchmark = header.indexOf("Benchmark");
+                int score = header.indexOf("Score");
+            int unit = header.indexOf("Unit");
+            String line;
+            while ((line = reader.readLine()) != null) {
+                List<String> fields = parse(line);
+                if (fields.size() != header.size()) {
+                    continue;
+                }
+                String name = fields.get(benchmark);
+                // of the secondary metrics only the normalized allocation rate is stable enough to compare
+                if (name.indexOf(':') >= 0 && !name.endsWith("gc.alloc.rate.norm")) {
+                    continue;
+                }
+                StringBuilder key = new StringBuilder(name);
+                for (int i = 0; i < header.size(); i++) {
+                    if (header.get(i).startsWith("Param: ") && fields.get(i).length() > 0) {
+                        key.append(' ').append(header.get(i).substring(7)).append('=').append(fields.get(i));
+                    }
+                }
+                results.put(key.toString(), new Result(Double.parseDouble(fields.get(score)), fields.get(unit)));
+            }
+        }
+        finally {
+            reader.close();
+        }
+        return results;
+    }
+
+    private static List<String> parse(String line) {
+        List<String> fields = new ArrayList<String>();
+        if (line == null) {
+            return fields;
+        }
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                }
+                else {
+                    quoted = !quoted;
+                }
+            }
+            else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            }
+            else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static class Result {
+        final double score;
+        final String unit;
+
+        Result(double score, String unit) {
+            this.score = score;
+            this.unit = unit;
+        }
+
+        boolean higherIsBetter() {
+            return unit.startsWith("ops/");
+        }
+    }
+}
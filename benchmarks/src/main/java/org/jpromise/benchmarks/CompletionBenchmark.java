@@ -0,0 +1,64 @@
+package org.jpromise.benchmarks;
+
+import org.jpromise.*;
+import org.jpromise.functions.OnFulfilled;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of completing a promise, with and without registered continuations and waiters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CompletionBenchmark {
+    private static final String RESULT = "RESULT";
+    private static final OnFulfilled<String> NOOP = new OnFulfilled<String>() {
+        @Override
+        public void fulfilled(String result) { }
+    };
+    private static final Callable<String> TASK = new Callable<String>() {
+        @Override
+        public String call() {
+            return RESULT;
+        }
+    };
+
+    @Benchmark
+    public Promise<String> fulfill() {
+        Deferred<String> deferred = Promises.defer();
+        deferred.fulfill(RESULT);
+        return deferred.promise();
+    }
+
+    @Benchmark
+    public Promise<String> fulfillWithContinuation() {
+        Deferred<String> deferred = Promises.defer();
+        Promise<String> promise = deferred.promise().then(PromiseExecutors.CURRENT_THREAD, NOOP);
+        deferred.fulfill(RESULT);
+        return promise;
+    }
+
+    @Benchmark
+    public Promise<String> registerOnCompleted() {
+        return Promises.fulfilled(RESULT).then(PromiseExecutors.CURRENT_THREAD, NOOP);
+    }
+
+    @Benchmark
+    public String fulfillAndGet() throws ExecutionException, InterruptedException {
+        Deferred<String> deferred = Promises.defer();
+        deferred.fulfill(RESULT);
+        return deferred.promise().get();
+    }
+
+    @Benchmark
+    public String commonPoolRoundTrip() throws ExecutionException, InterruptedException {
+        return Promises.create(PromiseExecutors.COMMON_POOL, TASK).get();
+    }
+}
@@ -0,0 +1,48 @@
+package org.jpromise.benchmarks;
+
+import org.jpromise.*;
+import org.jpromise.functions.OnFulfilledFunction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Completes a chain of a million {@link org.jpromise.PromiseExecutors#CURRENT_THREAD} stages, which must drain
+ * iteratively rather than recursively to avoid overflowing the stack.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xss256k", "-Xmx2g" })
+@State(Scope.Thread)
+public class DeepChainBenchmark {
+    private static final OnFulfilledFunction<Integer, Integer> INCREMENT = new OnFulfilledFunction<Integer, Integer>() {
+        @Override
+        public Integer fulfilled(Integer result) {
+            return result + 1;
+        }
+    };
+
+    @Param({ "1000000" })
+    public int depth;
+
+    private Deferred<Integer> deferred;
+    private Promise<Integer> promise;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        deferred = Promises.defer();
+        promise = deferred.promise();
+        for (int i = 0; i < depth; i++) {
+            promise = promise.thenApply(PromiseExecutors.CURRENT_THREAD, INCREMENT);
+        }
+    }
+
+    @Benchmark
+    public Integer completeChain() throws ExecutionException, InterruptedException {
+        deferred.fulfill(0);
+        return promise.get();
+    }
+}
@@ -0,0 +1,61 @@
+package org.jpromise.benchmarks;
+
+import org.jpromise.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link org.jpromise.PromiseManager#whenAllFulfilled(Iterable)} and
+ * {@link org.jpromise.PromiseManager#whenAnyCompleted(Iterable)} over pending promises which are fulfilled after the
+ * aggregate has been composed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PromiseManagerBenchmark {
+    @Param({ "10", "1000", "100000" })
+    public int count;
+
+    @Benchmark
+    public Void whenAllFulfilled() throws ExecutionException, InterruptedException {
+        List<Deferred<String>> deferreds = defer(count);
+        Promise<Void> promise = PromiseManager.whenAllFulfilled(promises(deferreds));
+        for (Deferred<String> deferred : deferreds) {
+            deferred.fulfill("RESULT");
+        }
+        return promise.get();
+    }
+
+    @Benchmark
+    public String whenAnyCompleted() throws ExecutionException, InterruptedException {
+        List<Deferred<String>> deferreds = defer(count);
+        Promise<String> promise = PromiseManager.whenAnyCompleted(promises(deferreds));
+        for (Deferred<String> deferred : deferreds) {
+            deferred.fulfill("RESULT");
+        }
+        return promise.get();
+    }
+
+    private static List<Deferred<String>> defer(int count) {
+        List<Deferred<String>> deferreds = new ArrayList<Deferred<String>>(count);
+        for (int i = 0; i < count; i++) {
+            deferreds.add(Promises.<String>defer());
+        }
+        return deferreds;
+    }
+
+    private static List<Promise<String>> promises(List<Deferred<String>> deferreds) {
+        List<Promise<String>> promises = new ArrayList<Promise<String>>(deferreds.size());
+        for (Deferred<String> deferred : deferreds) {
+            promises.add(deferred.promise());
+        }
+        return promises;
+    }
+}
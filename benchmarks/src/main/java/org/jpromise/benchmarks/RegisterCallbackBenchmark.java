@@ -0,0 +1,49 @@
+package org.jpromise.benchmarks;
+
+import org.jpromise.*;
+import org.jpromise.functions.OnFulfilled;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Measures registering continuations on a shared pending promise from several threads at once.  The shared promise
+ * is fulfilled and replaced after every {@code batch} registrations so that the number of registered continuations
+ * stays bounded.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class RegisterCallbackBenchmark {
+    private static final OnFulfilled<String> NOOP = new OnFulfilled<String>() {
+        @Override
+        public void fulfilled(String result) { }
+    };
+
+    @Param({ "16", "256" })
+    public int batch;
+
+    private final AtomicReference<Deferred<String>> current = new AtomicReference<Deferred<String>>();
+    private final AtomicInteger registered = new AtomicInteger();
+
+    @Setup
+    public void setup() {
+        current.set(Promises.<String>defer());
+    }
+
+    @Benchmark
+    public Promise<String> registerCallback() {
+        Deferred<String> deferred = current.get();
+        Promise<String> promise = deferred.promise().then(PromiseExecutors.CURRENT_THREAD, NOOP);
+        if (registered.incrementAndGet() % batch == 0 && current.compareAndSet(deferred, Promises.<String>defer())) {
+            deferred.fulfill("RESULT");
+        }
+        return promise;
+    }
+}
@@ -0,0 +1,84 @@
+package org.jpromise;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Measures the bytes allocated by the current thread using the HotSpot {@code ThreadMXBean} allocated bytes counter.
+ * Allocations made on other threads, such as continuations dispatched to a pool, are not counted so the measured
+ * operations should run on {@link PromiseExecutors#CURRENT_THREAD}.
+ */
+public class AllocationHelpers {
+    private AllocationHelpers() {
+        throw new IllegalStateException();
+    }
+
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = threadMXBean();
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+                if (sunBean.isThreadAllocatedMemorySupported()) {
+                    sunBean.setThreadAllocatedMemoryEnabled(true);
+                    return sunBean;
+                }
+            }
+        }
+        catch (LinkageError ignored) { }
+        catch (UnsupportedOperationException ignored) { }
+        return null;
+    }
+
+    public static boolean isSupported() {
+        return THREAD_MX_BEAN != null;
+    }
+
+    public static long allocatedBytes() {
+        if (THREAD_MX_BEAN == null) throw new UnsupportedOperationException();
+        return THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Returns the bytes allocated per run of the specified operation.  The operation is run repeatedly first so that
+     * the measured rounds execute compiled code, and the lowest round is reported to filter out one-off allocations
+     * such as class initialization.
+     */
+    public static long bytesPerOperation(int operations, Runnable operation) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            measure(operations, operation);
+        }
+        long lowest = Long.MAX_VALUE;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            lowest = Math.min(lowest, measure(operations, operation));
+        }
+        return lowest / operations;
+    }
+
+    private static long measure(int operations, Runnable operation) {
+        long before = allocatedBytes();
+        for (int i = 0; i < operations; i++) {
+            operation.run();
+        }
+        return allocatedBytes() - before;
+    }
+
+    /**
+     * Fails if the specified operation allocates more than {@code budget} bytes per run, or skips the test if the
+     * JVM cannot count allocated bytes per thread.
+     */
+    public static void assertAllocatesAtMost(String name, long budget, int operations, Runnable operation) {
+        assumeTrue(isSupported());
+        assertWithinBudget(name, budget, bytesPerOperation(operations, operation));
+    }
+
+    public static void assertWithinBudget(String name, long budget, long allocated) {
+        assertTrue(String.format("%s allocated %d bytes per operation, budget is %d", name, allocated, budget), allocated <= budget);
+    }
+}
@@ -0,0 +1,62 @@
+package org.jpromise;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class AdaptiveDelayTest {
+    @Test
+    public void initialDelay() {
+        AdaptiveDelay delay = new AdaptiveDelay(100, TimeUnit.MILLISECONDS);
+
+        assertEquals(100L, delay.delay(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void keepsInitialDelayUntilIntervalRecorded() {
+        AdaptiveDelay delay = new AdaptiveDelay(100, TimeUnit.MILLISECONDS, 16, 0.95);
+
+        delay.record(5, TimeUnit.MILLISECONDS);
+        assertEquals(100L, delay.delay(TimeUnit.MILLISECONDS));
+        delay.record(7, TimeUnit.MILLISECONDS);
+
+        assertEquals(7L, delay.delay(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void tracksPercentile() {
+        AdaptiveDelay delay = new AdaptiveDelay(100, TimeUnit.MILLISECONDS, 20, 0.95);
+
+        for (int i = 1; i <= 20; i++) {
+            delay.record(i, TimeUnit.MILLISECONDS);
+        }
+
+        assertEquals(19L, delay.delay(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void tracksMostRecentWindow() {
+        AdaptiveDelay delay = new AdaptiveDelay(100, TimeUnit.MILLISECONDS, 8, 0.5);
+
+        for (int i = 0; i < 8; i++) {
+            delay.record(1000, TimeUnit.MILLISECONDS);
+        }
+        for (int i = 0; i < 8; i++) {
+            delay.record(10, TimeUnit.MILLISECONDS);
+        }
+
+        assertEquals(10L, delay.delay(TimeUnit.MILLISECONDS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidPercentile() {
+        new AdaptiveDelay(100, TimeUnit.MILLISECONDS, 8, 1.5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidWindowSize() {
+        new AdaptiveDelay(100, TimeUnit.MILLISECONDS, 0, 0.95);
+    }
+}
@@ -0,0 +1,211 @@
+package org.jpromise;
+
+import org.junit.Test;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.jpromise.PromiseHelpers.assertFulfills;
+import static org.junit.Assert.*;
+
+/**
+ * Drives the service against a simulated dependency on a virtual clock so that the limits converge deterministically.
+ */
+public class AdaptiveLimitPromiseServiceTest {
+    private static final String SUCCESS1 = "SUCCESS1";
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int CLIENTS = 100;
+    private static final int STEPS = 5000;
+
+    private static final Callable<String> SUCCEEDS = new Callable<String>() {
+        @Override
+        public String call() throws Exception {
+            return SUCCESS1;
+        }
+    };
+
+    /**
+     * The latency of the simulated dependency for the number of tasks it is running.
+     */
+    private interface LatencyCurve {
+        long latency(int concurrency);
+    }
+
+    /**
+     * Serves up to {@code capacity} tasks at the base latency, beyond which the tasks queue and the latency grows in
+     * proportion to the concurrency.
+     */
+    private static LatencyCurve saturatesAt(final int capacity, final long baseLatency) {
+        return new LatencyCurve() {
+            @Override
+            public long latency(int concurrency) {
+                return concurrency <= capacity ? baseLatency : baseLatency * concurrency / capacity;
+            }
+        };
+    }
+
+    private static final class Completion implements Comparable<Completion> {
+        final long time;
+        final long sequence;
+        final Runnable task;
+
+        Completion(long time, long sequence, Runnable task) {
+            this.time = time;
+            this.sequence = sequence;
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(Completion other) {
+            if (time != other.time) {
+                return time < other.time ? -1 : 1;
+            }
+            return sequence < other.sequence ? -1 : (sequence == other.sequence ? 0 : 1);
+        }
+    }
+
+    private static final class SimulatedService extends AbstractPromiseService {
+        private final PriorityQueue<Completion> running = new PriorityQueue<Completion>();
+        private LatencyCurve curve;
+        private long now;
+        private long sequence;
+        private int peak;
+
+        SimulatedService(LatencyCurve curve) {
+            this.curve = curve;
+        }
+
+        @Override
+        protected void execute(Runnable task) {
+            int concurrency = running.size() + 1;
+            peak = Math.max(peak, concurrency);
+            running.add(new Completion(now + curve.latency(concurrency), sequence++, task));
+        }
+
+        void step() {
+            Completion completion = running.poll();
+            now = completion.time;
+            completion.task.run();
+        }
+    }
+
+    private static AdaptiveLimitPromiseService simulate(final SimulatedService dependency, ConcurrencyLimit limit) {
+        return new AdaptiveLimitPromiseService(dependency, limit) {
+            @Override
+            long nanoTime() {
+                return dependency.now;
+            }
+        };
+    }
+
+    /**
+     * Keeps a fixed number of clients waiting on the service, each submitting again as soon as its task completes.
+     */
+    private static void run(SimulatedService dependency, AdaptiveLimitPromiseService service, int steps) {
+        for (int i = 0; i < steps; i++) {
+            while (service.inFlight() + service.queueDepth() < CLIENTS) {
+                service.submit(SUCCEEDS);
+            }
+            dependency.step();
+        }
+    }
+
+    private static void assertBetween(int min, int max, int actual) {
+        assertTrue("expected between " + min + " and " + max + " but was " + actual, actual >= min && actual <= max);
+    }
+
+    @Test
+    public void vegasConvergesOnCapacity() {
+        SimulatedService dependency = new SimulatedService(saturatesAt(20, 10 * MILLIS));
+        AdaptiveLimitPromiseService service = simulate(dependency, new VegasLimit(5, 1, 200));
+
+        run(dependency, service, STEPS);
+
+        assertBetween(20, 30, service.limit());
+        assertTrue(service.inFlight() <= service.limit());
+        assertEquals(CLIENTS - 1, service.inFlight() + service.queueDepth());
+    }
+
+    @Test
+    public void gradientConvergesOnCapacity() {
+        SimulatedService dependency = new SimulatedService(saturatesAt(20, 10 * MILLIS));
+        AdaptiveLimitPromiseService service = simulate(dependency, new GradientLimit(5, 1, 200));
+
+        run(dependency, service, STEPS);
+
+        assertBetween(20, 30, service.limit());
+    }
+
+    @Test
+    public void aimdBacksOffOnTimeouts() {
+        SimulatedService dependency = new SimulatedService(saturatesAt(20, 10 * MILLIS));
+        AdaptiveLimitPromiseService service = simulate(dependency, new AimdLimit(5, 1, 200, 15, TimeUnit.MILLISECONDS));
+
+        run(dependency, service, STEPS);
+
+        // the latency exceeds the timeout beyond thirty tasks
+        assertBetween(20, 31, service.limit());
+        assertTrue(dependency.peak <= 40);
+    }
+
+    @Test
+    public void limitFollowsCapacity() {
+        SimulatedService dependency = new SimulatedService(saturatesAt(40, 10 * MILLIS));
+        AdaptiveLimitPromiseService service = simulate(dependency, new GradientLimit(5, 1, 200));
+
+        run(dependency, service, STEPS);
+        assertBetween(40, 50, service.limit());
+
+        dependency.curve = saturatesAt(10, 10 * MILLIS);
+        run(dependency, service, STEPS);
+        assertBetween(10, 20, service.limit());
+    }
+
+    @Test
+    public void limitStaysWithinBounds() {
+        SimulatedService dependency = new SimulatedService(saturatesAt(1000, 10 * MILLIS));
+        AdaptiveLimitPromiseService service = simulate(dependency, new VegasLimit(5, 1, 25));
+
+        run(dependency, service, STEPS);
+
+        assertEquals(25, service.limit());
+        assertEquals(25, dependency.peak);
+    }
+
+    @Test
+    public void unusedLimitDoesNotGrow() {
+        SimulatedService dependency = new SimulatedService(saturatesAt(1000, 10 * MILLIS));
+        AdaptiveLimitPromiseService service = simulate(dependency, new AimdLimit(50, 1, 200, 15, TimeUnit.MILLISECONDS));
+
+        for (int i = 0; i < STEPS; i++) {
+            service.submit(SUCCEEDS);
+            dependency.step();
+        }
+
+        assertEquals(50, service.limit());
+    }
+
+    @Test
+    public void rejectionIsDropped() throws Throwable {
+        PromiseService delegate = new ExecutorPromiseService(new CurrentThreadExecutor());
+        AdaptiveLimitPromiseService service = new AdaptiveLimitPromiseService(delegate, new AimdLimit(10, 1, 200, 0.5, 1, TimeUnit.MINUTES));
+
+        service.submit(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                throw new RejectedExecutionException();
+            }
+        });
+
+        // a single drop moves the limit by its share of the backoff
+        assertEquals(9, service.limit());
+        assertFulfills(SUCCESS1, service.submit(SUCCEEDS));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullLimit() {
+        new AdaptiveLimitPromiseService(new ExecutorPromiseService(new CurrentThreadExecutor()), null);
+    }
+}
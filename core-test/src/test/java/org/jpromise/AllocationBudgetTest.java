@@ -0,0 +1,172 @@
+package org.jpromise;
+
+import org.jpromise.functions.OnFulfilled;
+import org.jpromise.functions.OnFulfilledFunction;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.jpromise.AllocationHelpers.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Fails when the bytes allocated on the hot paths grow beyond their budgets.  The budgets are measured on HotSpot with
+ * compressed references and without escape analysis, which the build disables for these tests only, so they hold
+ * however the JIT has compiled the path, plus a little headroom.  Raise one only with a reason.
+ */
+public class AllocationBudgetTest {
+    // deferred and its promise, the continuation promise and its stage, a completion for each promise and the
+    // trampoline frame
+    private static final long FULFILL_BUDGET = 216;
+    // the continuation promise, its stage and its completion
+    private static final long THEN_APPLY_STEP_BUDGET = 128;
+    // inputs share one continuation so nothing is allocated per input beyond noise
+    private static final long WHEN_ALL_COMPLETED_INPUT_BUDGET = 8;
+    // the result slot continuation and the array slot for each input
+    private static final long ALL_OF_INPUT_BUDGET = 40;
+    // the deferred and its completion, the derived promise doubling as continuation and timer task and its completion,
+    // the timer entry and the timer queue nodes for scheduling and cancelling it
+    private static final long OR_TIMEOUT_BUDGET = 248;
+    // the stack node linking each continuation after the first
+    private static final long REGISTER_CONTINUATION_BUDGET = 32;
+
+    private static final int OPERATIONS = 10000;
+    private static final int WIDTH = 64;
+    private static final String SUCCESS1 = "SUCCESS1";
+
+    private static final OnFulfilled<String> NOOP = new OnFulfilled<String>() {
+        @Override
+        public void fulfilled(String result) throws Throwable { }
+    };
+    private static final Continuation<String> CONTINUATION = new Continuation<String>() {
+        @Override
+        public void completed(Promise<String> promise, String result, Throwable exception) { }
+    };
+    private static final OnFulfilledFunction<String, String> IDENTITY = new OnFulfilledFunction<String, String>() {
+        @Override
+        public String fulfilled(String result) throws Throwable {
+            return result;
+        }
+    };
+
+    private static Runnable chain(final int depth) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                Deferred<String> deferred = Promises.defer();
+                Promise<String> promise = deferred.promise();
+                for (int i = 0; i < depth; i++) {
+                    promise = promise.thenApply(PromiseExecutors.CURRENT_THREAD, IDENTITY);
+                }
+                deferred.fulfill(SUCCESS1);
+            }
+        };
+    }
+
+    private static Runnable fanOut(final int width) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                DeferredPromise<String> deferred = new DeferredPromise<String>();
+                AbstractPromise<String> promise = (AbstractPromise<String>)deferred.promise();
+                for (int i = 0; i < width; i++) {
+                    promise.registerCallback(CONTINUATION);
+                }
+                deferred.fulfill(SUCCESS1);
+            }
+        };
+    }
+
+    private static Runnable fanIn(final int width, final boolean join) {
+        return fanIn(width, join, false);
+    }
+
+    private static Runnable fanIn(final int width, final boolean join, final boolean collect) {
+        return new Runnable() {
+            private final List<Deferred<String>> deferreds = new ArrayList<Deferred<String>>(width);
+            private final List<Promise<String>> promises = new ArrayList<Promise<String>>(width);
+
+            @Override
+            public void run() {
+                deferreds.clear();
+                promises.clear();
+                for (int i = 0; i < width; i++) {
+                    Deferred<String> deferred = Promises.defer();
+                    deferreds.add(deferred);
+                    promises.add(deferred.promise());
+                }
+                if (collect) {
+                    PromiseManager.allOf(promises);
+                }
+                else if (join) {
+                    PromiseManager.whenAllCompleted(promises);
+                }
+                for (int i = 0; i < width; i++) {
+                    deferreds.get(i).fulfill(SUCCESS1);
+                }
+            }
+        };
+    }
+
+    @Test
+    public void fulfillWithOneContinuation() {
+        assertAllocatesAtMost("Deferred.fulfill with one continuation", FULFILL_BUDGET, OPERATIONS, new Runnable() {
+            @Override
+            public void run() {
+                Deferred<String> deferred = Promises.defer();
+                deferred.promise().then(PromiseExecutors.CURRENT_THREAD, NOOP);
+                deferred.fulfill(SUCCESS1);
+            }
+        });
+    }
+
+    @Test
+    public void thenApplyStep() {
+        assumeTrue(isSupported());
+        long shallow = bytesPerOperation(OPERATIONS, chain(1));
+        long deep = bytesPerOperation(OPERATIONS, chain(WIDTH + 1));
+        long perStep = (deep - shallow) / WIDTH;
+        assertWithinBudget("thenApply step", THEN_APPLY_STEP_BUDGET, perStep);
+    }
+
+    @Test
+    public void whenAllCompletedPerInput() {
+        assumeTrue(isSupported());
+        long inputs = bytesPerOperation(OPERATIONS / WIDTH, fanIn(WIDTH, false));
+        long joined = bytesPerOperation(OPERATIONS / WIDTH, fanIn(WIDTH, true));
+        long perInput = (joined - inputs) / WIDTH;
+        assertWithinBudget("whenAllCompleted per input", WHEN_ALL_COMPLETED_INPUT_BUDGET, perInput);
+    }
+
+    @Test
+    public void orTimeoutCompletedFirst() {
+        assertAllocatesAtMost("orTimeout completed before the timeout", OR_TIMEOUT_BUDGET, OPERATIONS, new Runnable() {
+            @Override
+            public void run() {
+                Deferred<String> deferred = Promises.defer();
+                Promises.orTimeout(deferred.promise(), 1, TimeUnit.MINUTES);
+                deferred.fulfill(SUCCESS1);
+            }
+        });
+    }
+
+    @Test
+    public void allOfPerInput() {
+        assumeTrue(isSupported());
+        long inputs = bytesPerOperation(OPERATIONS / WIDTH, fanIn(WIDTH, false));
+        long collected = bytesPerOperation(OPERATIONS / WIDTH, fanIn(WIDTH, false, true));
+        long perInput = (collected - inputs) / WIDTH;
+        assertWithinBudget("allOf per input", ALL_OF_INPUT_BUDGET, perInput);
+    }
+
+    @Test
+    public void registerContinuationPerContinuation() {
+        assumeTrue(isSupported());
+        long single = bytesPerOperation(OPERATIONS / WIDTH, fanOut(1));
+        long wide = bytesPerOperation(OPERATIONS / WIDTH, fanOut(WIDTH + 1));
+        long perContinuation = (wide - single) / WIDTH;
+        assertWithinBudget("registering a continuation", REGISTER_CONTINUATION_BUDGET, perContinuation);
+    }
+}
@@ -0,0 +1,247 @@
+package org.jpromise;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.jpromise.PromiseHelpers.assertFulfills;
+import static org.jpromise.PromiseHelpers.assertRejects;
+import static org.junit.Assert.*;
+
+public class BulkheadPromiseServiceTest {
+    private static final String SUCCESS1 = "SUCCESS1";
+    private static final String SUCCESS2 = "SUCCESS2";
+    private static final String SUCCESS3 = "SUCCESS3";
+
+    /**
+     * A service whose tasks stay in flight until they are completed by the test.
+     */
+    private static class PendingService extends AbstractPromiseService {
+        private final List<Runnable> started = new ArrayList<Runnable>();
+        private boolean synchronous;
+
+        @Override
+        protected void execute(Runnable task) {
+            started.add(task);
+            if (synchronous) {
+                task.run();
+            }
+        }
+
+        void complete(int index) {
+            started.get(index).run();
+        }
+    }
+
+    private static Callable<String> returns(final String result) {
+        return new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return result;
+            }
+        };
+    }
+
+    @Test
+    public void limitsTasksInFlight() throws Throwable {
+        PendingService delegate = new PendingService();
+        BulkheadPromiseService service = new BulkheadPromiseService(delegate, 2, 10, OverflowPolicy.REJECT);
+
+        Promise<String> promise1 = service.submit(returns(SUCCESS1));
+        Promise<String> promise2 = service.submit(returns(SUCCESS2));
+        Promise<String> promise3 = service.submit(returns(SUCCESS3));
+
+        assertEquals(2, delegate.started.size());
+        assertEquals(2, service.inFlight());
+        assertEquals(1, service.queueDepth());
+        assertTrue(promise3.isPending());
+
+        delegate.complete(1);
+
+        assertFulfills(SUCCESS2, promise2);
+        assertEquals(3, delegate.started.size());
+        assertEquals(2, service.inFlight());
+        assertEquals(0, service.queueDepth());
+
+        delegate.complete(0);
+        delegate.complete(2);
+
+        assertFulfills(SUCCESS1, promise1);
+        assertFulfills(SUCCESS3, promise3);
+        assertEquals(0, service.inFlight());
+    }
+
+    @Test
+    public void rejectsOverflow() throws Throwable {
+        PendingService delegate = new PendingService();
+        BulkheadPromiseService service = new BulkheadPromiseService(delegate, 1, 1, OverflowPolicy.REJECT);
+
+        service.submit(returns(SUCCESS1));
+        Promise<String> queued = service.submit(returns(SUCCESS2));
+        Promise<String> rejected = service.submit(returns(SUCCESS3));
+
+        assertRejects(RejectedExecutionException.class, rejected);
+        assertTrue(queued.isPending());
+        assertEquals(1, service.queueDepth());
+    }
+
+    @Test
+    public void shedsOldest() throws Throwable {
+        PendingService delegate = new PendingService();
+        BulkheadPromiseService service = new BulkheadPromiseService(delegate, 1, 1, OverflowPolicy.SHED_OLDEST);
+
+        service.submit(returns(SUCCESS1));
+        Promise<String> shed = service.submit(returns(SUCCESS2));
+        Promise<String> queued = service.submit(returns(SUCCESS3));
+
+        assertRejects(RejectedExecutionException.class, shed);
+        assertEquals(1, service.queueDepth());
+        delegate.complete(0);
+        delegate.complete(1);
+
+        assertFulfills(SUCCESS3, queued);
+    }
+
+    @Test
+    public void callerRuns() throws Throwable {
+        PendingService delegate = new PendingService();
+        BulkheadPromiseService service = new BulkheadPromiseService(delegate, 1, 0, OverflowPolicy.CALLER_RUNS);
+
+        service.submit(returns(SUCCESS1));
+        final Thread caller = Thread.currentThread();
+        Promise<Boolean> promise = service.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                return Thread.currentThread() == caller;
+            }
+        });
+
+        assertEquals(Boolean.TRUE, promise.getNow(null));
+        assertEquals(1, delegate.started.size());
+        assertEquals(1, service.inFlight());
+    }
+
+    @Test
+    public void callerRunsDoesNotAffectInFlight() throws Throwable {
+        PendingService delegate = new PendingService();
+        final BulkheadPromiseService service = new BulkheadPromiseService(delegate, 1, 0, OverflowPolicy.CALLER_RUNS);
+
+        Promise<String> first = service.submit(returns(SUCCESS1));
+        Promise<Integer> running = service.submit(new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                return service.inFlight();
+            }
+        });
+        Promise<String> failed = service.submit(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                throw new Exception();
+            }
+        });
+
+        assertEquals(Integer.valueOf(1), running.getNow(null));
+        assertTrue(failed.isRejected());
+        assertEquals(1, service.inFlight());
+        delegate.complete(0);
+        assertFulfills(SUCCESS1, first);
+        assertEquals(0, service.inFlight());
+        service.submit(returns(SUCCESS2));
+        assertEquals(2, delegate.started.size());
+        assertEquals(1, service.inFlight());
+    }
+
+    @Test
+    public void releasesPermitOnRejection() throws Throwable {
+        Exception exception = new Exception();
+        PromiseService delegate = new ExecutorPromiseService(new CurrentThreadExecutor());
+        BulkheadPromiseService service = new BulkheadPromiseService(delegate, 1, 0, OverflowPolicy.REJECT);
+
+        final Exception thrown = exception;
+        Promise<String> promise = service.submit(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                throw thrown;
+            }
+        });
+
+        assertRejects(exception, promise);
+        assertEquals(0, service.inFlight());
+        assertFulfills(SUCCESS1, service.submit(returns(SUCCESS1)));
+    }
+
+    @Test
+    public void releasesPermitOnCancellation() throws Throwable {
+        PendingService delegate = new PendingService();
+        BulkheadPromiseService service = new BulkheadPromiseService(delegate, 1, 1, OverflowPolicy.REJECT);
+
+        Promise<String> promise1 = service.submit(returns(SUCCESS1));
+        Promise<String> promise2 = service.submit(returns(SUCCESS2));
+        promise1.cancel(true);
+
+        assertEquals(2, delegate.started.size());
+        assertEquals(1, service.inFlight());
+        delegate.complete(1);
+        assertFulfills(SUCCESS2, promise2);
+        assertEquals(0, service.inFlight());
+    }
+
+    @Test
+    public void cancelledQueuedTaskIsRemoved() throws Throwable {
+        PendingService delegate = new PendingService();
+        BulkheadPromiseService service = new BulkheadPromiseService(delegate, 1, 1, OverflowPolicy.REJECT);
+
+        service.submit(returns(SUCCESS1));
+        service.submit(returns(SUCCESS2)).cancel(true);
+
+        assertEquals(0, service.queueDepth());
+        Promise<String> promise = service.submit(returns(SUCCESS3));
+        delegate.complete(0);
+        delegate.complete(1);
+
+        assertFulfills(SUCCESS3, promise);
+        assertEquals(2, delegate.started.size());
+    }
+
+    @Test
+    public void synchronousServiceDoesNotRecurse() throws Throwable {
+        final AtomicInteger deepest = new AtomicInteger();
+        PendingService delegate = new PendingService();
+        BulkheadPromiseService service = new BulkheadPromiseService(delegate, 1, 10000, OverflowPolicy.REJECT);
+        Callable<String> task = new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                deepest.set(Math.max(deepest.get(), new Throwable().getStackTrace().length));
+                return SUCCESS1;
+            }
+        };
+
+        Promise<String> last = null;
+        for (int i = 0; i < 10000; i++) {
+            last = service.submit(task);
+        }
+        int depth = new Throwable().getStackTrace().length;
+        delegate.synchronous = true;
+        delegate.complete(0);
+
+        assertFulfills(SUCCESS1, last);
+        assertEquals(10000, delegate.started.size());
+        assertEquals(0, service.inFlight());
+        assertEquals(0, service.queueDepth());
+        assertTrue(deepest.get() < depth + 100);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullService() {
+        new BulkheadPromiseService(null, 1, 1, OverflowPolicy.REJECT);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidMaxInFlight() {
+        new BulkheadPromiseService(new PendingService(), 0, 1, OverflowPolicy.REJECT);
+    }
+}
@@ -0,0 +1,208 @@
+package org.jpromise;
+
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.jpromise.PromiseHelpers.assertFulfills;
+import static org.jpromise.PromiseHelpers.assertRejects;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Mockito.*;
+
+public class CircuitBreakerPromiseServiceTest {
+    private static final String SUCCESS1 = "SUCCESS1";
+
+    private static final Callable<String> SUCCEEDS = new Callable<String>() {
+        @Override
+        public String call() throws Exception {
+            return SUCCESS1;
+        }
+    };
+    private static final Callable<String> FAILS = new Callable<String>() {
+        @Override
+        public String call() throws Exception {
+            throw new Exception();
+        }
+    };
+
+    private static void fill(PromiseService service, int successes, int failures) {
+        for (int i = 0; i < successes; i++) {
+            service.submit(SUCCEEDS);
+        }
+        for (int i = 0; i < failures; i++) {
+            service.submit(FAILS);
+        }
+    }
+
+    @Test
+    public void closedExecutesTasks() throws Throwable {
+        CircuitBreakerPromiseService service = new CircuitBreakerPromiseService(new ExecutorPromiseService(new CurrentThreadExecutor()), 4, 0.5, 1, TimeUnit.MINUTES, 1);
+
+        assertFulfills(SUCCESS1, service.submit(SUCCEEDS));
+        assertEquals(CircuitBreakerState.CLOSED, service.state());
+        assertEquals(0.0, service.failureRate(), 0.0);
+    }
+
+    @Test
+    public void opensAtFailureRateThreshold() throws Throwable {
+        Executor executor = spy(new CurrentThreadExecutor());
+        CircuitBreakerPromiseService service = new CircuitBreakerPromiseService(new ExecutorPromiseService(executor), 4, 0.5, 1, TimeUnit.MINUTES, 1);
+
+        fill(service, 2, 1);
+        assertEquals(CircuitBreakerState.CLOSED, service.state());
+        fill(service, 0, 1);
+
+        assertEquals(CircuitBreakerState.OPEN, service.state());
+        assertEquals(0.5, service.failureRate(), 0.0);
+        assertRejects(RejectedExecutionException.class, service.submit(SUCCEEDS));
+        verify(executor, times(4)).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void staysClosedBelowThreshold() throws Throwable {
+        CircuitBreakerPromiseService service = new CircuitBreakerPromiseService(new ExecutorPromiseService(new CurrentThreadExecutor()), 4, 0.5, 1, TimeUnit.MINUTES, 1);
+
+        fill(service, 0, 1);
+        fill(service, 10, 0);
+        fill(service, 0, 1);
+
+        assertEquals(CircuitBreakerState.CLOSED, service.state());
+        assertEquals(0.25, service.failureRate(), 0.0);
+    }
+
+    @Test
+    public void halfOpenProbeCloses() throws Throwable {
+        Deferred<String> deferred = Promises.defer();
+        PromiseService delegate = mock(PromiseService.class);
+        when(delegate.submit(FAILS)).thenReturn(Promises.<String>rejected(new Exception()));
+        when(delegate.submit(SUCCEEDS)).thenReturn(deferred.promise());
+        CircuitBreakerPromiseService service = new CircuitBreakerPromiseService(delegate, 2, 1.0, 10, TimeUnit.MILLISECONDS, 1);
+
+        fill(service, 0, 2);
+        assertEquals(CircuitBreakerState.OPEN, service.state());
+        Thread.sleep(20);
+
+        Promise<String> probe = service.submit(SUCCEEDS);
+        assertEquals(CircuitBreakerState.HALF_OPEN, service.state());
+        assertRejects(RejectedExecutionException.class, service.submit(SUCCEEDS));
+        deferred.fulfill(SUCCESS1);
+
+        assertFulfills(SUCCESS1, probe);
+        assertEquals(CircuitBreakerState.CLOSED, service.state());
+        assertEquals(0.0, service.failureRate(), 0.0);
+        verify(delegate, times(1)).submit(SUCCEEDS);
+    }
+
+    @Test
+    public void halfOpenProbeReopens() throws Throwable {
+        CircuitBreakerPromiseService service = new CircuitBreakerPromiseService(new ExecutorPromiseService(new CurrentThreadExecutor()), 2, 1.0, 10, TimeUnit.MILLISECONDS, 2);
+
+        fill(service, 0, 2);
+        Thread.sleep(20);
+        fill(service, 1, 0);
+        assertEquals(CircuitBreakerState.HALF_OPEN, service.state());
+        fill(service, 0, 1);
+
+        assertEquals(CircuitBreakerState.OPEN, service.state());
+        assertRejects(RejectedExecutionException.class, service.submit(SUCCEEDS));
+    }
+
+    @Test
+    public void cancelledProbeIsReleased() throws Throwable {
+        Deferred<String> deferred = Promises.defer();
+        PromiseService delegate = mock(PromiseService.class);
+        when(delegate.submit(FAILS)).thenReturn(Promises.<String>rejected(new Exception()));
+        when(delegate.submit(SUCCEEDS)).thenReturn(deferred.promise());
+        CircuitBreakerPromiseService service = new CircuitBreakerPromiseService(delegate, 1, 1.0, 10, TimeUnit.MILLISECONDS, 1);
+
+        fill(service, 0, 1);
+        Thread.sleep(20);
+        service.submit(SUCCEEDS).cancel(true);
+
+        assertEquals(CircuitBreakerState.HALF_OPEN, service.state());
+        service.submit(SUCCEEDS);
+        verify(delegate, times(2)).submit(SUCCEEDS);
+    }
+
+    @Test
+    public void lateFailureOfClosedCircuitIsIgnoredWhileHalfOpen() throws Throwable {
+        Callable<String> slow = new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return SUCCESS1;
+            }
+        };
+        Deferred<String> late = Promises.defer();
+        Deferred<String> deferred = Promises.defer();
+        PromiseService delegate = mock(PromiseService.class);
+        when(delegate.submit(slow)).thenReturn(late.promise());
+        when(delegate.submit(FAILS)).thenReturn(Promises.<String>rejected(new Exception()));
+        when(delegate.submit(SUCCEEDS)).thenReturn(deferred.promise());
+        CircuitBreakerPromiseService service = new CircuitBreakerPromiseService(delegate, 2, 1.0, 10, TimeUnit.MILLISECONDS, 2);
+
+        service.submit(slow);
+        fill(service, 0, 2);
+        Thread.sleep(20);
+        service.submit(SUCCEEDS);
+        late.reject(new Exception());
+
+        assertEquals(CircuitBreakerState.HALF_OPEN, service.state());
+        service.submit(SUCCEEDS);
+        deferred.fulfill(SUCCESS1);
+
+        assertEquals(CircuitBreakerState.CLOSED, service.state());
+        assertEquals(0.0, service.failureRate(), 0.0);
+        verify(delegate, times(2)).submit(SUCCEEDS);
+    }
+
+    @Test
+    public void probeThatCannotBeSubmittedReopens() throws Throwable {
+        PromiseService delegate = mock(PromiseService.class);
+        when(delegate.submit(FAILS)).thenReturn(Promises.<String>rejected(new Exception()));
+        when(delegate.submit(SUCCEEDS)).thenThrow(new RejectedExecutionException());
+        CircuitBreakerPromiseService service = new CircuitBreakerPromiseService(delegate, 2, 1.0, 10, TimeUnit.MILLISECONDS, 1);
+
+        fill(service, 0, 2);
+        Thread.sleep(20);
+
+        assertRejects(RejectedExecutionException.class, service.submit(SUCCEEDS));
+        assertEquals(CircuitBreakerState.OPEN, service.state());
+        Thread.sleep(20);
+        reset(delegate);
+        when(delegate.submit(SUCCEEDS)).thenReturn(Promises.fulfilled(SUCCESS1));
+
+        assertFulfills(SUCCESS1, service.submit(SUCCEEDS));
+        assertEquals(CircuitBreakerState.CLOSED, service.state());
+    }
+
+    @Test
+    public void listenerReceivesEvents() throws Throwable {
+        CircuitBreakerListener listener = mock(CircuitBreakerListener.class);
+        CircuitBreakerPromiseService service = new CircuitBreakerPromiseService(new ExecutorPromiseService(new CurrentThreadExecutor()), 2, 0.5, 1, TimeUnit.MINUTES, 1, listener);
+
+        fill(service, 1, 1);
+        service.submit(SUCCEEDS);
+
+        verify(listener).outcomeRecorded(false, 0.0);
+        verify(listener).outcomeRecorded(true, 0.5);
+        verify(listener).stateChanged(CircuitBreakerState.CLOSED, CircuitBreakerState.OPEN);
+        verify(listener).callRejected(CircuitBreakerState.OPEN);
+        verify(listener, times(2)).outcomeRecorded(anyBoolean(), anyDouble());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullService() {
+        new CircuitBreakerPromiseService(null, 2, 0.5, 1, TimeUnit.MINUTES, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidThreshold() {
+        new CircuitBreakerPromiseService(new ExecutorPromiseService(new CurrentThreadExecutor()), 2, 0.0, 1, TimeUnit.MINUTES, 1);
+    }
+}
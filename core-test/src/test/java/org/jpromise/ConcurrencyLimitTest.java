@@ -0,0 +1,127 @@
+package org.jpromise;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ConcurrencyLimitTest {
+    private static void recordWindow(ConcurrencyLimit limit, long rtt, boolean dropped) {
+        int window = limit.limit();
+        for (int i = 0; i < window; i++) {
+            limit.record(rtt, TimeUnit.MILLISECONDS, window, dropped);
+        }
+    }
+
+    @Test
+    public void aimdGrowsByOnePerWindow() {
+        AimdLimit limit = new AimdLimit(10, 1, 100, 100, TimeUnit.MILLISECONDS);
+
+        recordWindow(limit, 10, false);
+        recordWindow(limit, 10, false);
+
+        assertEquals(11, limit.limit());
+    }
+
+    @Test
+    public void aimdBacksOffPerWindow() {
+        AimdLimit limit = new AimdLimit(100, 1, 100, 0.5, 100, TimeUnit.MILLISECONDS);
+
+        recordWindow(limit, 10, true);
+
+        assertTrue(limit.limit() >= 50 && limit.limit() <= 65);
+    }
+
+    @Test
+    public void aimdTreatsSlowTasksAsDropped() {
+        AimdLimit limit = new AimdLimit(10, 1, 100, 100, TimeUnit.MILLISECONDS);
+
+        recordWindow(limit, 101, false);
+
+        assertEquals(9, limit.limit());
+    }
+
+    @Test
+    public void aimdDoesNotGrowWhileUnused() {
+        AimdLimit limit = new AimdLimit(10, 1, 100, 100, TimeUnit.MILLISECONDS);
+
+        for (int i = 0; i < 100; i++) {
+            limit.record(10, TimeUnit.MILLISECONDS, 4, false);
+        }
+
+        assertEquals(10, limit.limit());
+    }
+
+    @Test
+    public void vegasHoldsBetweenAlphaAndBeta() {
+        VegasLimit limit = new VegasLimit(20, 1, 100);
+        limit.record(10, TimeUnit.MILLISECONDS, 20, false);
+
+        // four of the twenty tasks are queued
+        recordWindow(limit, 12, false);
+        int held = limit.limit();
+        recordWindow(limit, 12, false);
+
+        assertEquals(held, limit.limit());
+    }
+
+    @Test
+    public void vegasShrinksWhenQueued() {
+        VegasLimit limit = new VegasLimit(20, 1, 100);
+        limit.record(10, TimeUnit.MILLISECONDS, 20, false);
+
+        recordWindow(limit, 20, false);
+
+        assertEquals(19, limit.limit());
+    }
+
+    @Test
+    public void gradientGrowsByHeadroom() {
+        GradientLimit limit = new GradientLimit(20, 1, 100, 1.0, 4);
+
+        recordWindow(limit, 10, false);
+
+        assertTrue(limit.limit() >= 23 && limit.limit() <= 24);
+    }
+
+    @Test
+    public void gradientHalvesWhenDropped() {
+        GradientLimit limit = new GradientLimit(20, 1, 100);
+
+        for (int i = 0; i < 100; i++) {
+            limit.record(10, TimeUnit.MILLISECONDS, 20, true);
+        }
+
+        assertTrue(limit.limit() < 10);
+    }
+
+    @Test
+    public void limitStaysWithinBounds() {
+        GradientLimit limit = new GradientLimit(5, 5, 10);
+
+        for (int i = 0; i < 1000; i++) {
+            limit.record(10, TimeUnit.MILLISECONDS, 10, false);
+        }
+        assertEquals(10, limit.limit());
+        for (int i = 0; i < 1000; i++) {
+            limit.record(10, TimeUnit.MILLISECONDS, 10, true);
+        }
+        assertEquals(5, limit.limit());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void initialLimitOutOfRange() {
+        new VegasLimit(0, 1, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidBackoffRatio() {
+        new AimdLimit(10, 1, 100, 1.0, 100, TimeUnit.MILLISECONDS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullTimeUnit() {
+        new GradientLimit(10, 1, 100).record(10, null, 10, false);
+    }
+}
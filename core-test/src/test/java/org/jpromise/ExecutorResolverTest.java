@@ -85,6 +85,32 @@ public class ExecutorResolverTest {
         }
     }
 
+    @Test
+    public void resolveVirtualThread() throws Throwable {
+        String previous = null;
+        try {
+            previous = setProperty(PROPERTY_KEY, PromiseExecutors.VIRTUAL_THREAD_KEY);
+            Executor executor = ExecutorResolver.resolveBySetting(PROPERTY_KEY, null);
+            assertEquals(PromiseExecutors.VIRTUAL_THREAD, executor);
+        }
+        finally {
+            resetProperty(PROPERTY_KEY, previous);
+        }
+    }
+
+    @Test
+    public void resolveFuturePoller() throws Throwable {
+        String previous = null;
+        try {
+            previous = setProperty(PROPERTY_KEY, PromiseExecutors.FUTURE_POLLER_KEY);
+            Executor executor = ExecutorResolver.resolveBySetting(PROPERTY_KEY, null);
+            assertEquals(FuturePoller.shared(), executor);
+        }
+        finally {
+            resetProperty(PROPERTY_KEY, previous);
+        }
+    }
+
     @Test
     public void resolveByClassName() throws Throwable {
         String previous = null;
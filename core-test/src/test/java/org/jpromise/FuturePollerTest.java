@@ -0,0 +1,117 @@
+package org.jpromise;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.jpromise.PromiseHelpers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class FuturePollerTest {
+    private static final String SUCCESS1 = "SUCCESS1";
+    private static final FuturePoller POLLER = new FuturePoller(2, 2);
+
+    @Test
+    public void fulfillsWhenFutureCompletes() throws Throwable {
+        FutureTask<String> future = new FutureTask<String>(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return SUCCESS1;
+            }
+        });
+
+        Promise<String> promise = Promises.fromFuture(POLLER, future);
+        assertTrue(promise.isPending());
+        Thread.sleep(20);
+        future.run();
+
+        assertFulfills(SUCCESS1, promise);
+    }
+
+    @Test
+    public void rejectsWhenFutureThrows() throws Throwable {
+        final Exception exception = new Exception();
+        FutureTask<String> future = new FutureTask<String>(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                throw exception;
+            }
+        });
+
+        Promise<String> promise = Promises.fromFuture(POLLER, future);
+        future.run();
+
+        assertRejects(exception, promise);
+    }
+
+    @Test
+    public void timesOut() throws Throwable {
+        @SuppressWarnings("unchecked")
+        Future<String> future = mock(Future.class);
+        when(future.isDone()).thenReturn(false);
+
+        Promise<String> promise = Promises.fromFuture(POLLER, future, 20, TimeUnit.MILLISECONDS);
+
+        assertRejects(TimeoutException.class, promise);
+        verify(future, never()).get(anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void cancel() throws Throwable {
+        FutureTask<String> future = new FutureTask<String>(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return SUCCESS1;
+            }
+        });
+
+        Promise<String> promise = Promises.fromFuture(POLLER, future);
+
+        assertTrue(promise.cancel(true));
+        assertTrue(future.isCancelled());
+        assertRejects(CancellationException.class, promise);
+    }
+
+    @Test
+    public void pollsManyFuturesWithoutBlockingThreads() throws Throwable {
+        int count = 1000;
+        List<FutureTask<String>> futures = new ArrayList<FutureTask<String>>(count);
+        List<Promise<String>> promises = new ArrayList<Promise<String>>(count);
+        int threads = Thread.activeCount();
+        for (int i = 0; i < count; i++) {
+            FutureTask<String> future = new FutureTask<String>(new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    return SUCCESS1;
+                }
+            });
+            futures.add(future);
+            promises.add(Promises.fromFuture(POLLER, future));
+        }
+        assertTrue(Thread.activeCount() - threads <= 2);
+        for (FutureTask<String> future : futures) {
+            future.run();
+        }
+
+        assertFulfills(PromiseManager.whenAllFulfilled(promises));
+        for (Promise<String> promise : promises) {
+            assertEquals(SUCCESS1, promise.getNow(null));
+        }
+    }
+
+    @Test
+    public void executesBlockingCommands() throws Throwable {
+        final CountDownLatch latch = new CountDownLatch(1);
+        POLLER.execute(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        });
+
+        assertTrue(latch.await(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+}
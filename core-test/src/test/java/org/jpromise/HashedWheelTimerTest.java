@@ -0,0 +1,185 @@
+package org.jpromise;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.jpromise.PromiseHelpers.DEFAULT_TIMEOUT;
+import static org.junit.Assert.*;
+
+public class HashedWheelTimerTest {
+    @Test
+    public void executesTask() throws Throwable {
+        HashedWheelTimer timer = new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 8);
+        try {
+            final CountDownLatch latch = new CountDownLatch(1);
+            long start = System.nanoTime();
+            HashedWheelTimer.Timeout timeout = timer.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    latch.countDown();
+                }
+            }, 20, TimeUnit.MILLISECONDS);
+
+            assertTrue(latch.await(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+            assertTrue(timeout.isExpired());
+            assertFalse(timeout.cancel());
+            assertEquals(0, timer.outstanding());
+        }
+        finally {
+            timer.stop();
+        }
+    }
+
+    @Test
+    public void executesTaskAfterMultipleRounds() throws Throwable {
+        HashedWheelTimer timer = new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 4);
+        try {
+            final CountDownLatch latch = new CountDownLatch(1);
+            long start = System.nanoTime();
+            timer.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    latch.countDown();
+                }
+            }, 30, TimeUnit.MILLISECONDS);
+
+            assertTrue(latch.await(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(30));
+        }
+        finally {
+            timer.stop();
+        }
+    }
+
+    @Test
+    public void cancelPreventsTask() throws Throwable {
+        HashedWheelTimer timer = new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 8);
+        try {
+            final AtomicInteger counter = new AtomicInteger();
+            HashedWheelTimer.Timeout timeout = timer.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    counter.incrementAndGet();
+                }
+            }, 20, TimeUnit.MILLISECONDS);
+
+            assertTrue(timeout.cancel());
+            assertTrue(timeout.isCancelled());
+            assertFalse(timeout.cancel());
+            assertEquals(0, timer.outstanding());
+            Thread.sleep(50);
+            assertEquals(0, counter.get());
+        }
+        finally {
+            timer.stop();
+        }
+    }
+
+    @Test
+    public void executesManyTasks() throws Throwable {
+        HashedWheelTimer timer = new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 16);
+        try {
+            int count = 1000;
+            final CountDownLatch latch = new CountDownLatch(count / 2);
+            List<HashedWheelTimer.Timeout> timeouts = new ArrayList<HashedWheelTimer.Timeout>(count);
+            for (int i = 0; i < count; i++) {
+                final boolean cancelled = i % 2 == 1;
+                timeouts.add(timer.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        // a slow test thread may not cancel a task before it runs, which must not release the latch early
+                        if (!cancelled) {
+                            latch.countDown();
+                        }
+                    }
+                }, 20 + i % 50, TimeUnit.MILLISECONDS));
+            }
+            for (int i = 1; i < count; i += 2) {
+                timeouts.get(i).cancel();
+            }
+
+            assertTrue(latch.await(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+            assertEquals(0, timer.outstanding());
+        }
+        finally {
+            timer.stop();
+        }
+    }
+
+    @Test
+    public void restartsAfterIdle() throws Throwable {
+        HashedWheelTimer timer = new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 8);
+        try {
+            for (int i = 0; i < 2; i++) {
+                final CountDownLatch latch = new CountDownLatch(1);
+                timer.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        latch.countDown();
+                    }
+                }, 5, TimeUnit.MILLISECONDS);
+                assertTrue(latch.await(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+                Thread.sleep(20);
+            }
+        }
+        finally {
+            timer.stop();
+        }
+    }
+
+    @Test
+    public void stopReturnsUnexpiredTasks() throws Throwable {
+        HashedWheelTimer timer = new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 8);
+        final AtomicInteger counter = new AtomicInteger();
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                counter.incrementAndGet();
+            }
+        };
+        HashedWheelTimer.Timeout unexpired = timer.schedule(task, 1, TimeUnit.MINUTES);
+        timer.schedule(task, 1, TimeUnit.MINUTES).cancel();
+
+        Set<HashedWheelTimer.Timeout> timeouts = timer.stop();
+
+        assertEquals(Collections.singleton(unexpired), timeouts);
+        assertFalse(unexpired.isExpired());
+        assertTrue(timer.stop().isEmpty());
+        assertEquals(0, counter.get());
+    }
+
+    @Test
+    public void stopUnstartedTimer() {
+        assertTrue(new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 8).stop().isEmpty());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void scheduleAfterStop() {
+        HashedWheelTimer timer = new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 8);
+        timer.stop();
+
+        timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+            }
+        }, 1, TimeUnit.MILLISECONDS);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void stopShared() {
+        HashedWheelTimer.shared().stop();
+    }
+
+    @Test
+    public void shared() {
+        assertSame(HashedWheelTimer.shared(), HashedWheelTimer.shared());
+    }
+}
@@ -0,0 +1,314 @@
+package org.jpromise;
+
+import org.jpromise.functions.*;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.jpromise.PromiseHelpers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PrimitivePromiseTest {
+    private static final OnFulfilledLongFunction DOUBLE_IT = new OnFulfilledLongFunction() {
+        @Override
+        public long fulfilled(long result) throws Throwable {
+            return result * 2L;
+        }
+    };
+
+    /**
+     * Fulfills the callback registered on a promise that is not an {@link org.jpromise.AbstractPromise} with a null
+     * result.
+     */
+    private static Answer<Object> completesWithNull(final Promise<?> promise) {
+        return new Answer<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                OnCompleted<Object> callback = (OnCompleted<Object>)invocation.getArguments()[1];
+                callback.completed((Promise<Object>)promise, null, null);
+                return null;
+            }
+        };
+    }
+
+    @Test
+    public void longDeferredGetNow() throws Throwable {
+        LongDeferred deferred = Promises.deferLong();
+        LongPromise promise = deferred.promise();
+        assertEquals(-1L, promise.getNow(-1L));
+
+        assertTrue(deferred.fulfill(42L));
+
+        assertFalse(deferred.fulfill(43L));
+        assertEquals(42L, promise.getNow(-1L));
+        assertFulfills(42L, promise);
+    }
+
+    @Test
+    public void intDeferredGetNow() throws Throwable {
+        IntDeferred deferred = Promises.deferInt();
+        deferred.fulfill(42);
+
+        assertEquals(42, deferred.promise().getNow(-1));
+        assertFulfills(42, deferred.promise());
+    }
+
+    @Test
+    public void doubleDeferredGetNow() throws Throwable {
+        DoubleDeferred deferred = Promises.deferDouble();
+        deferred.fulfill(4.2);
+
+        assertEquals(4.2, deferred.promise().getNow(-1.0), 0.0);
+        assertFulfills(4.2, deferred.promise());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fulfillBoxedNull() {
+        LongDeferred deferred = Promises.deferLong();
+        deferred.fulfill((Long)null);
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void getNowRejected() throws Throwable {
+        LongDeferred deferred = Promises.deferLong();
+        deferred.reject(new Exception());
+
+        deferred.promise().getNow(0L);
+    }
+
+    @Test(expected = CancellationException.class)
+    public void getNowCancelled() throws Throwable {
+        LongDeferred deferred = Promises.deferLong();
+        deferred.promise().cancel(true);
+
+        deferred.promise().getNow(0L);
+    }
+
+    @Test
+    public void thenApplyLong() throws Throwable {
+        LongDeferred deferred = Promises.deferLong();
+        LongPromise promise = deferred.promise()
+                .thenApplyLong(PromiseExecutors.CURRENT_THREAD, DOUBLE_IT)
+                .thenApplyLong(PromiseExecutors.CURRENT_THREAD, DOUBLE_IT);
+
+        deferred.fulfill(3L);
+
+        assertEquals(12L, promise.getNow(0L));
+    }
+
+    @Test
+    public void thenApplyLongThrows() throws Throwable {
+        final Exception exception = new Exception();
+        LongPromise promise = Promises.fulfilledLong(1L).thenApplyLong(PromiseExecutors.CURRENT_THREAD, new OnFulfilledLongFunction() {
+            @Override
+            public long fulfilled(long result) throws Throwable {
+                throw exception;
+            }
+        });
+
+        assertRejects(exception, promise);
+    }
+
+    @Test
+    public void thenApplyLongRejected() throws Throwable {
+        Exception exception = new Exception();
+        LongDeferred deferred = Promises.deferLong();
+        LongPromise promise = deferred.promise().thenApplyLong(PromiseExecutors.CURRENT_THREAD, DOUBLE_IT);
+
+        deferred.reject(exception);
+
+        assertRejects(exception, promise);
+    }
+
+    @Test
+    public void thenApplyIntAndDouble() throws Throwable {
+        IntPromise intPromise = Promises.fulfilledInt(3).thenApplyInt(PromiseExecutors.CURRENT_THREAD, new OnFulfilledIntFunction() {
+            @Override
+            public int fulfilled(int result) throws Throwable {
+                return result + 1;
+            }
+        });
+        DoublePromise doublePromise = Promises.fulfilledDouble(1.5).thenApplyDouble(PromiseExecutors.CURRENT_THREAD, new OnFulfilledDoubleFunction() {
+            @Override
+            public double fulfilled(double result) throws Throwable {
+                return result * 2.0;
+            }
+        });
+
+        assertEquals(4, intPromise.getNow(0));
+        assertEquals(3.0, doublePromise.getNow(0.0), 0.0);
+    }
+
+    @Test
+    public void boxedContinuationReceivesResult() throws Throwable {
+        final AtomicReference<Long> received = new AtomicReference<Long>();
+        LongDeferred deferred = Promises.deferLong();
+        Promise<Long> promise = deferred.promise().then(PromiseExecutors.CURRENT_THREAD, new OnFulfilled<Long>() {
+            @Override
+            public void fulfilled(Long result) throws Throwable {
+                received.set(result);
+            }
+        });
+
+        deferred.fulfill(7L);
+
+        assertEquals(Long.valueOf(7L), received.get());
+        assertFulfills(7L, promise);
+        assertEquals("[FULFILLED]: 7", deferred.promise().toString());
+    }
+
+    @Test
+    public void boxedContinuationAfterPrimitiveStage() throws Throwable {
+        Promise<String> promise = Promises.fulfilledLong(5L)
+                .thenApplyLong(PromiseExecutors.CURRENT_THREAD, DOUBLE_IT)
+                .thenApply(PromiseExecutors.CURRENT_THREAD, new OnFulfilledFunction<Long, String>() {
+                    @Override
+                    public String fulfilled(Long result) throws Throwable {
+                        return String.valueOf(result);
+                    }
+                });
+
+        assertFulfills("10", promise);
+    }
+
+    @Test
+    public void toLongPromise() throws Throwable {
+        LongPromise promise = Promises.toLongPromise(Promises.fulfilled(42));
+
+        assertEquals(42L, promise.getNow(0L));
+    }
+
+    @Test
+    public void toLongPromiseReturnsSame() {
+        LongPromise promise = Promises.fulfilledLong(42L);
+
+        assertSame(promise, Promises.toLongPromise(promise));
+    }
+
+    @Test
+    public void toDoublePromiseFromPending() throws Throwable {
+        Deferred<Integer> deferred = Promises.defer();
+        DoublePromise promise = Promises.toDoublePromise(deferred.promise());
+
+        deferred.fulfill(3);
+
+        assertEquals(3.0, promise.getNow(0.0), 0.0);
+    }
+
+    @Test
+    public void toIntPromiseRejected() throws Throwable {
+        Exception exception = new Exception();
+        IntPromise promise = Promises.toIntPromise(Promises.<Long>rejected(exception));
+
+        assertRejects(exception, promise);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void toIntPromiseRejectsNullFromForeignPromise() throws Throwable {
+        Promise<Integer> foreign = mock(Promise.class);
+        when(foreign.whenCompleted(any(Executor.class), any(OnCompleted.class))).thenAnswer(completesWithNull(foreign));
+
+        assertRejects(NullPointerException.class, Promises.toIntPromise(foreign));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void toLongPromiseRejectsNullFromForeignPromise() throws Throwable {
+        Promise<Long> foreign = mock(Promise.class);
+        when(foreign.whenCompleted(any(Executor.class), any(OnCompleted.class))).thenAnswer(completesWithNull(foreign));
+
+        assertRejects(NullPointerException.class, Promises.toLongPromise(foreign));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void toDoublePromiseRejectsNullFromForeignPromise() throws Throwable {
+        Promise<Double> foreign = mock(Promise.class);
+        when(foreign.whenCompleted(any(Executor.class), any(OnCompleted.class))).thenAnswer(completesWithNull(foreign));
+
+        assertRejects(NullPointerException.class, Promises.toDoublePromise(foreign));
+    }
+
+    @Test
+    public void sumLong() throws Throwable {
+        LongDeferred deferred = Promises.deferLong();
+        LongPromise promise = PromiseManager.sumLong(Promises.fulfilledLong(1L), deferred.promise(), Promises.fulfilledLong(3L));
+        assertTrue(promise.isPending());
+
+        deferred.fulfill(2L);
+
+        assertEquals(6L, promise.getNow(0L));
+    }
+
+    @Test
+    public void sumLongEmpty() throws Throwable {
+        assertEquals(0L, PromiseManager.sumLong().getNow(-1L));
+        assertEquals(0L, PromiseManager.sumLong((Iterable<LongPromise>)null).getNow(-1L));
+    }
+
+    @Test
+    public void sumLongRejected() throws Throwable {
+        Exception exception = new Exception();
+        LongDeferred deferred = Promises.deferLong();
+        LongPromise promise = PromiseManager.sumLong(Promises.fulfilledLong(1L), deferred.promise());
+
+        deferred.reject(exception);
+
+        assertRejects(exception, promise);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void sumLongRejectsNullFromForeignPromise() throws Throwable {
+        LongPromise foreign = mock(LongPromise.class);
+        when(foreign.whenCompleted(any(Executor.class), any(OnCompleted.class))).thenAnswer(completesWithNull(foreign));
+
+        LongPromise promise = PromiseManager.sumLong(Promises.fulfilledLong(1L), foreign);
+
+        assertRejects(NullPointerException.class, promise);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void maxDoubleRejectsNullFromForeignPromise() throws Throwable {
+        DoublePromise foreign = mock(DoublePromise.class);
+        when(foreign.whenCompleted(any(Executor.class), any(OnCompleted.class))).thenAnswer(completesWithNull(foreign));
+
+        DoublePromise promise = PromiseManager.maxDouble(Promises.fulfilledDouble(1.0), foreign);
+
+        assertRejects(NullPointerException.class, promise);
+    }
+
+    @Test
+    public void maxLong() throws Throwable {
+        LongPromise promise = PromiseManager.maxLong(Arrays.asList(Promises.fulfilledLong(-5L), Promises.fulfilledLong(9L), Promises.fulfilledLong(2L)));
+
+        assertEquals(9L, promise.getNow(0L));
+    }
+
+    @Test
+    public void maxLongEmpty() throws Throwable {
+        assertRejects(NoSuchElementException.class, PromiseManager.maxLong());
+    }
+
+    @Test
+    public void sumAndMaxDouble() throws Throwable {
+        DoublePromise sum = PromiseManager.sumDouble(Promises.fulfilledDouble(1.5), Promises.fulfilledDouble(2.25));
+        DoublePromise max = PromiseManager.maxDouble(Promises.fulfilledDouble(-1.5), Promises.fulfilledDouble(-2.25));
+
+        assertEquals(3.75, sum.getNow(0.0), 0.0);
+        assertEquals(-1.5, max.getNow(0.0), 0.0);
+    }
+}
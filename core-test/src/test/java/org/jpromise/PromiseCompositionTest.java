@@ -1,5 +1,6 @@
 package org.jpromise;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -19,6 +20,11 @@ public class PromiseCompositionTest {
         PromiseComposition.clear();
     }
 
+    @After
+    public void tearDown() {
+        PromiseComposition.clear();
+    }
+
     @Test(expected = IllegalStateException.class)
     public void PromiseCompositionCannotBeCreated() throws Throwable {
         Class<PromiseComposition> promiseCompositionClass = PromiseComposition.class;
@@ -180,4 +186,31 @@ public class PromiseCompositionTest {
         composite.completed(promise1, promise2, SUCCESS1, null);
         verify(completion, times(1)).completed(promise1, promise2, SUCCESS1, null);
     }
+
+    @Test
+    public void noListenersSharesNoOp() throws Exception {
+        Promise<String> promise1 = Promises.fulfilled(SUCCESS1);
+        Promise<String> promise2 = Promises.fulfilled(SUCCESS2);
+
+        PromiseContinuationListener callback1 = PromiseComposition.composingContinuation(promise1, promise2);
+        PromiseContinuationListener callback2 = PromiseComposition.composingContinuation(promise2, promise1);
+        assertSame(callback1, callback2);
+        PromiseContinuationCompletion completion1 = callback1.invokingContinuation(promise1, promise2, SUCCESS1, null);
+        PromiseContinuationCompletion completion2 = callback2.invokingContinuation(promise2, promise1, SUCCESS2, null);
+        assertSame(completion1, completion2);
+        completion1.completed(promise1, promise2, SUCCESS1, null);
+    }
+
+    @Test
+    public void listenerReturningNullSharesNoOp() throws Exception {
+        Promise<String> promise1 = Promises.fulfilled(SUCCESS1);
+        Promise<String> promise2 = Promises.fulfilled(SUCCESS2);
+        PromiseCompositionListener listener = mock(PromiseCompositionListener.class);
+        PromiseComposition.register(listener);
+
+        PromiseContinuationListener callback = PromiseComposition.composingContinuation(promise1, promise2);
+        verify(listener, times(1)).composingContinuation(promise1, promise2);
+        PromiseComposition.clear();
+        assertSame(PromiseComposition.composingContinuation(promise1, promise2), callback);
+    }
 }
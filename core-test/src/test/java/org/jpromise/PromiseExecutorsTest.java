@@ -6,6 +6,9 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.Executor;
 
 import static org.jpromise.PromiseHelpers.assertFulfills;
@@ -64,4 +67,41 @@ public class PromiseExecutorsTest {
 
         assertFulfills(SUCCESS1, promise2);
     }
+
+    @Test
+    public void commonPoolBlockingGetDoesNotStarvePool() throws Throwable {
+        final Deferred<String> deferred = Promises.defer();
+        int blockers = Runtime.getRuntime().availableProcessors() + 2;
+        List<Promise<String>> promises = new ArrayList<Promise<String>>(blockers);
+        for (int i = 0; i < blockers; i++) {
+            promises.add(Promises.create(PromiseExecutors.COMMON_POOL, new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    return deferred.promise().get();
+                }
+            }));
+        }
+        Promises.create(PromiseExecutors.COMMON_POOL, new Runnable() {
+            @Override
+            public void run() {
+                deferred.fulfill(SUCCESS1);
+            }
+        });
+
+        for (Promise<String> promise : promises) {
+            assertFulfills(SUCCESS1, promise);
+        }
+    }
+
+    @Test
+    public void virtualThreadExecutesTask() throws Throwable {
+        Promise<Boolean> promise = Promises.create(PromiseExecutors.VIRTUAL_THREAD, new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                return Thread.currentThread().isDaemon();
+            }
+        });
+
+        assertFulfills(true, promise);
+    }
 }
@@ -0,0 +1,90 @@
+package org.jpromise;
+
+import org.jpromise.functions.OnFulfilled;
+import org.junit.Test;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.vm.VM;
+import org.openjdk.jol.vm.VirtualMachine;
+
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.*;
+
+public class PromiseFootprintTest {
+    private static final Callable<String> TASK = new Callable<String>() {
+        @Override
+        public String call() throws Exception {
+            return null;
+        }
+    };
+    // the deferred holds only its promise and the promise holds only its state
+    private static final int DEFERRED_REFERENCES = 1;
+    private static final int PROMISE_REFERENCES = 1;
+
+    private static long budget(int references, int ints, int booleans) {
+        VirtualMachine vm = VM.current();
+        long size = vm.objectHeaderSize()
+                + references * vm.sizeOfField("oop")
+                + ints * vm.sizeOfField("int")
+                + booleans * vm.sizeOfField("boolean");
+        long alignment = vm.objectAlignment();
+        return ((size + alignment - 1) / alignment) * alignment;
+    }
+
+    private static long instanceSize(Class<?> cls) {
+        return ClassLayout.parseClass(cls).instanceSize();
+    }
+
+    @Test
+    public void deferredPromise() {
+        DeferredPromise<String> deferred = new DeferredPromise<String>();
+        GraphLayout layout = GraphLayout.parseInstance(deferred);
+        long budget = budget(DEFERRED_REFERENCES, 0, 0) + budget(PROMISE_REFERENCES, 0, 0);
+
+        assertEquals(layout.toFootprint(), 2, layout.totalCount());
+        assertTrue(String.format("The deferred and its promise take %d bytes, budget is %d", layout.totalSize(), budget), layout.totalSize() <= budget);
+    }
+
+    @Test
+    public void continuationPromise() {
+        long size = instanceSize(ContinuationPromise.class);
+        long budget = budget(5, 0, 1);
+
+        assertTrue(String.format("A continuation promise takes %d bytes, budget is %d", size, budget), size <= budget);
+    }
+
+    @Test
+    public void runnablePromise() {
+        RunnablePromise<String> promise = new RunnablePromise<String>(TASK);
+        GraphLayout layout = GraphLayout.parseInstance(promise);
+        long size = instanceSize(RunnablePromise.class);
+        long budget = budget(3, 1, 0);
+
+        assertTrue(String.format("A runnable promise takes %d bytes, budget is %d", size, budget), size <= budget);
+        assertEquals(layout.toFootprint(), 2, layout.totalCount());
+    }
+
+    @Test
+    public void completedPromiseDropsContinuations() {
+        Deferred<Void> deferred = Promises.defer();
+        Promise<Void> promise = deferred.promise();
+        promise.then(PromiseExecutors.CURRENT_THREAD, new OnFulfilled<Void>() {
+            @Override
+            public void fulfilled(Void result) throws Throwable { }
+        });
+        promise.then(PromiseExecutors.CURRENT_THREAD, new OnFulfilled<Void>() {
+            @Override
+            public void fulfilled(Void result) throws Throwable { }
+        });
+
+        deferred.fulfill(null);
+
+        GraphLayout layout = GraphLayout.parseInstance(promise);
+
+        for (Class<?> cls : layout.getClasses()) {
+            assertFalse(cls.getName(), Continuation.class.isAssignableFrom(cls));
+            assertFalse(cls.getName(), Object[].class.isAssignableFrom(cls));
+        }
+    }
+}
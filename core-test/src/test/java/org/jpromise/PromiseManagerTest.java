@@ -7,7 +7,11 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
 
 import static org.jpromise.PromiseHelpers.*;
 import static org.junit.Assert.*;
@@ -239,6 +243,52 @@ public class PromiseManagerTest {
         assertRejects(exception, promise);
     }
 
+    @Test
+    public void whenAllFulfilledRejectedLeavesRemaining() throws Throwable {
+        Throwable exception = new Throwable();
+        Deferred<String> deferred = Promises.defer();
+
+        Promise<Void> promise = PromiseManager.whenAllFulfilled(deferred.promise(), Promises.<String>rejected(exception));
+
+        assertRejects(exception, promise);
+        assertTrue(deferred.promise().isPending());
+    }
+
+    @Test
+    public void whenAllFulfilledRejectedCancelsRemaining() throws Throwable {
+        Throwable exception = new Throwable();
+        Deferred<String> deferred1 = Promises.defer();
+        Deferred<String> deferred2 = Promises.defer();
+        Promise<String> fulfilled = Promises.fulfilled(SUCCESS1);
+
+        Promise<Void> promise = PromiseManager.whenAllFulfilled(CancellationMode.CANCEL, deferred1.promise(), fulfilled, deferred2.promise());
+        deferred2.reject(exception);
+
+        assertRejects(exception, promise);
+        assertRejects(CancellationException.class, deferred1.promise());
+        assertFalse(deferred2.promise().isCancelled());
+        assertTrue(fulfilled.isFulfilled());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void whenAllFulfilledRejectedInterruptsRemaining() throws Throwable {
+        Throwable exception = new Throwable();
+        Promise<String> running = mock(Promise.class);
+        List<Promise<String>> promises = new ArrayList<Promise<String>>();
+        promises.add(running);
+        promises.add(Promises.<String>rejected(exception));
+
+        Promise<Void> promise = PromiseManager.whenAllFulfilled(CancellationMode.INTERRUPT, promises);
+
+        assertRejects(exception, promise);
+        verify(running, timeout(DEFAULT_TIMEOUT)).cancel(true);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenAllFulfilledNullMode() throws Throwable {
+        PromiseManager.whenAllFulfilled((CancellationMode)null, new ArrayList<Promise<?>>());
+    }
 
     @Test
     public void whenAllFulfilledEmptyList() throws Throwable {
@@ -285,6 +335,66 @@ public class PromiseManagerTest {
         assertFulfills(promise);
     }
 
+    @Test
+    public void allOf() throws Throwable {
+        Deferred<String> deferred = Promises.defer();
+        List<Promise<String>> promises = new ArrayList<Promise<String>>();
+        promises.add(fulfillAfter(SUCCESS1, 10));
+        promises.add(deferred.promise());
+        promises.add(Promises.fulfilled(SUCCESS3));
+
+        Promise<List<String>> promise = PromiseManager.allOf(promises);
+        assertTrue(promise.isPending());
+        deferred.fulfill(SUCCESS2);
+
+        assertFulfills(Arrays.asList(SUCCESS1, SUCCESS2, SUCCESS3), promise);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void allOfArray() throws Throwable {
+        Promise<String>[] promises = new Promise[] { Promises.fulfilled(SUCCESS1), fulfillAfter(SUCCESS2, 10), null };
+
+        Promise<String[]> promise = PromiseManager.allOf(promises, String.class);
+
+        assertArrayEquals(new String[] { SUCCESS1, SUCCESS2, null }, promise.get(DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void allOfRejected() throws Throwable {
+        Throwable exception = new Throwable();
+        Deferred<String> deferred = Promises.defer();
+        List<Promise<String>> promises = new ArrayList<Promise<String>>();
+        promises.add(deferred.promise());
+        promises.add(PromiseHelpers.<String>rejectAfter(exception, 10));
+
+        Promise<List<String>> promise = PromiseManager.allOf(promises);
+
+        assertRejects(exception, promise);
+        assertTrue(deferred.promise().isPending());
+    }
+
+    @Test
+    public void allOfRejectedCancelsRemaining() throws Throwable {
+        Throwable exception = new Throwable();
+        Deferred<String> deferred = Promises.defer();
+        List<Promise<String>> promises = new ArrayList<Promise<String>>();
+        promises.add(deferred.promise());
+        promises.add(PromiseHelpers.<String>rejectAfter(exception, 10));
+
+        Promise<List<String>> promise = PromiseManager.allOf(CancellationMode.CANCEL, promises);
+
+        assertRejects(exception, promise);
+        assertRejects(CancellationException.class, deferred.promise());
+    }
+
+    @Test
+    public void allOfEmpty() throws Throwable {
+        assertFulfills(Collections.<String>emptyList(), PromiseManager.allOf(new ArrayList<Promise<String>>()));
+        assertFulfills(Collections.<String>emptyList(), PromiseManager.allOf((Iterable<Promise<String>>)null));
+        assertEquals(0, PromiseManager.allOf((Promise<String>[])null, String.class).get().length);
+    }
+
     @Test
     public void whenAnyComplete2() throws Throwable {
         Promise<String> promise1 = Promises.fulfilled(SUCCESS1);
@@ -406,6 +516,22 @@ public class PromiseManagerTest {
         assertFulfills(SUCCESS2, promise);
     }
 
+    @Test
+    public void whenAnyCompleteCancelsLosers() throws Throwable {
+        Deferred<String> deferred1 = Promises.defer();
+        Deferred<String> deferred2 = Promises.defer();
+        List<Promise<String>> promises = new ArrayList<Promise<String>>();
+        promises.add(deferred1.promise());
+        promises.add(deferred2.promise());
+
+        Promise<String> promise = PromiseManager.whenAnyCompleted(CancellationMode.CANCEL, promises);
+        deferred2.fulfill(SUCCESS2);
+
+        assertFulfills(SUCCESS2, promise);
+        assertRejects(CancellationException.class, deferred1.promise());
+        assertTrue(deferred2.promise().isFulfilled());
+    }
+
     @Test
     public void whenAnyCompleteNullList() throws Throwable {
         List<Promise<String>> list = null;
@@ -554,6 +680,21 @@ public class PromiseManagerTest {
         assertFulfills(SUCCESS2, promise);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void whenAnyFulfilledCancelsLosers() throws Throwable {
+        Throwable exception = new Throwable();
+        Deferred<String> deferred = Promises.defer();
+        Promise<String> rejected = Promises.rejected(exception);
+        Promise<String>[] promises = new Promise[] { rejected, deferred.promise(), fulfillAfter(SUCCESS3, 10) };
+
+        Promise<String> promise = PromiseManager.whenAnyFulfilled(CancellationMode.CANCEL, promises);
+
+        assertFulfills(SUCCESS3, promise);
+        assertRejects(CancellationException.class, deferred.promise());
+        assertRejects(exception, rejected);
+    }
+
     @Test
     public void whenAnyFulfilledNullList() throws Throwable {
         List<Promise<String>> list = null;
@@ -580,4 +721,129 @@ public class PromiseManagerTest {
 
         assertFulfills(SUCCESS1, promise);
     }
+
+    @Test
+    public void whenNFulfilled() throws Throwable {
+        Deferred<String> deferred1 = Promises.defer();
+        Deferred<String> deferred2 = Promises.defer();
+        Deferred<String> deferred3 = Promises.defer();
+        List<Promise<String>> promises = new ArrayList<Promise<String>>(3);
+        promises.add(deferred1.promise());
+        promises.add(deferred2.promise());
+        promises.add(deferred3.promise());
+
+        Promise<List<String>> promise = PromiseManager.whenNFulfilled(2, promises);
+        deferred3.fulfill(SUCCESS3);
+        assertTrue(promise.isPending());
+        deferred1.fulfill(SUCCESS1);
+
+        assertFulfills(Arrays.asList(SUCCESS3, SUCCESS1), promise);
+        assertTrue(deferred2.promise().isPending());
+    }
+
+    @Test
+    public void whenNFulfilledToleratesRejections() throws Throwable {
+        Throwable exception = new Throwable();
+        Deferred<String> deferred = Promises.defer();
+        List<Promise<String>> promises = new ArrayList<Promise<String>>(3);
+        promises.add(Promises.<String>rejected(exception));
+        promises.add(deferred.promise());
+        promises.add(Promises.fulfilled(SUCCESS3));
+
+        Promise<List<String>> promise = PromiseManager.whenNFulfilled(2, promises);
+        assertTrue(promise.isPending());
+        deferred.fulfill(SUCCESS2);
+
+        assertFulfills(Arrays.asList(SUCCESS3, SUCCESS2), promise);
+    }
+
+    @Test
+    public void whenNFulfilledRejected() throws Throwable {
+        Throwable exception1 = new Throwable();
+        Throwable exception2 = new Throwable();
+        Deferred<String> deferred1 = Promises.defer();
+        Deferred<String> deferred2 = Promises.defer();
+        Deferred<String> deferred3 = Promises.defer();
+        List<Promise<String>> promises = new ArrayList<Promise<String>>(3);
+        promises.add(deferred1.promise());
+        promises.add(deferred2.promise());
+        promises.add(deferred3.promise());
+
+        Promise<List<String>> promise = PromiseManager.whenNFulfilled(CancellationMode.CANCEL, 2, promises);
+        deferred1.reject(exception1);
+        assertTrue(promise.isPending());
+        deferred2.reject(exception2);
+
+        assertRejects(exception2, promise);
+        assertRejects(CancellationException.class, deferred3.promise());
+    }
+
+    @Test
+    public void whenNFulfilledCancelsStragglers() throws Throwable {
+        Deferred<String> deferred = Promises.defer();
+        List<Promise<String>> promises = new ArrayList<Promise<String>>(3);
+        promises.add(fulfillAfter(SUCCESS1, 10));
+        promises.add(deferred.promise());
+        promises.add(Promises.fulfilled(SUCCESS3));
+
+        Promise<List<String>> promise = PromiseManager.whenNFulfilled(CancellationMode.CANCEL, 2, promises);
+
+        assertFulfills(Arrays.asList(SUCCESS3, SUCCESS1), promise);
+        assertRejects(CancellationException.class, deferred.promise());
+    }
+
+    @Test
+    public void whenNFulfilledZero() throws Throwable {
+        Deferred<String> deferred = Promises.defer();
+        List<Promise<String>> promises = Collections.singletonList(deferred.promise());
+
+        assertFulfills(Collections.<String>emptyList(), PromiseManager.whenNFulfilled(0, promises));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenNFulfilledTooMany() throws Throwable {
+        List<Promise<String>> promises = new ArrayList<Promise<String>>(2);
+        promises.add(Promises.fulfilled(SUCCESS1));
+        promises.add(null);
+
+        PromiseManager.whenNFulfilled(2, promises);
+    }
+
+    @Test
+    public void whenMajorityFulfilled() throws Throwable {
+        Throwable exception = new Throwable();
+        Deferred<String> deferred = Promises.defer();
+        List<Promise<String>> promises = new ArrayList<Promise<String>>();
+        promises.add(Promises.fulfilled(SUCCESS1));
+        promises.add(Promises.<String>rejected(exception));
+        promises.add(deferred.promise());
+        promises.add(fulfillAfter(SUCCESS4, 10));
+        promises.add(fulfillAfter(SUCCESS5, 100));
+
+        Promise<List<String>> promise = PromiseManager.whenMajorityFulfilled(CancellationMode.CANCEL, promises);
+
+        assertFulfills(Arrays.asList(SUCCESS1, SUCCESS4, SUCCESS5), promise);
+        assertRejects(CancellationException.class, deferred.promise());
+    }
+
+    @Test
+    public void whenMajorityFulfilledRejected() throws Throwable {
+        Throwable exception = new Throwable();
+        List<Promise<String>> promises = new ArrayList<Promise<String>>();
+        promises.add(Promises.fulfilled(SUCCESS1));
+        promises.add(Promises.<String>rejected(new Throwable()));
+        promises.add(Promises.<String>defer().promise());
+        promises.add(PromiseHelpers.<String>rejectAfter(exception, 10));
+
+        Promise<List<String>> promise = PromiseManager.whenMajorityFulfilled(promises);
+
+        assertRejects(exception, promise);
+    }
+
+    @Test
+    public void whenMajorityFulfilledEmpty() throws Throwable {
+        Promise<String>[] array = null;
+
+        assertFulfills(Collections.<String>emptyList(), PromiseManager.whenMajorityFulfilled(array));
+    }
 }
@@ -10,7 +10,13 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.mockito.stubbing.Answer;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.jpromise.PromiseHelpers.*;
 import static org.junit.Assert.*;
@@ -20,9 +26,18 @@ import static org.mockito.Mockito.*;
 @RunWith(MockitoJUnitRunner.class)
 public class PromiseTest {
     private static final String SUCCESS1 = "SUCCESS1";
+    private static final Integer SUCCESS_INT = 42;
     private static final String SUCCESS2 = "SUCCESS2";
     private static final String FAIL1 = "FAIL1";
 
+    private static void assertCollected(WeakReference<?> reference) throws InterruptedException {
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull("the referent should have been collected", reference.get());
+    }
+
     @Test
     public void fulfills() throws Throwable {
         Promise<String> promise = fulfillAfter(SUCCESS1, 10);
@@ -1106,6 +1121,104 @@ public class PromiseTest {
         assertFulfills(SUCCESS1, promise);
     }
 
+    @Test
+    public void orTimeout() throws Throwable {
+        Deferred<String> deferred = Promises.defer();
+        Promise<String> promise = Promises.orTimeout(deferred.promise(), 10, TimeUnit.MILLISECONDS);
+
+        assertRejects(TimeoutException.class, promise);
+        assertTrue(deferred.promise().isPending());
+    }
+
+    @Test(timeout = 1000)
+    public void orTimeoutCompletes() throws Throwable {
+        Promise<String> promise = Promises.orTimeout(fulfillAfter(SUCCESS1, 10), 5000, TimeUnit.MILLISECONDS);
+
+        assertFulfills(SUCCESS1, promise);
+    }
+
+    @Test(timeout = 1000)
+    public void orTimeoutRejected() throws Throwable {
+        Throwable exception = new Throwable();
+        Promise<String> promise = Promises.orTimeout(PromiseHelpers.<String>rejectAfter(exception, 10), 5000, TimeUnit.MILLISECONDS);
+
+        assertRejects(exception, promise);
+    }
+
+    @Test
+    public void orTimeoutAlreadyCompleted() throws Throwable {
+        Promise<String> promise = Promises.fulfilled(SUCCESS1);
+
+        assertSame(promise, Promises.orTimeout(promise, 5000, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void orTimeoutCancelled() throws Throwable {
+        Deferred<String> deferred = Promises.defer();
+        Promise<String> promise = Promises.orTimeout(deferred.promise(), 5000, TimeUnit.MILLISECONDS);
+
+        assertTrue(promise.cancel(true));
+
+        assertTrue(promise.isCancelled());
+        assertTrue(deferred.promise().isPending());
+    }
+
+    @Test
+    public void orTimeoutIsReleasedBySourceOnTimeout() throws Throwable {
+        Deferred<String> deferred = Promises.defer();
+        Promise<String> promise = Promises.orTimeout(deferred.promise(), 10, TimeUnit.MILLISECONDS);
+        assertRejects(TimeoutException.class, promise);
+        WeakReference<Promise<String>> reference = new WeakReference<Promise<String>>(promise);
+        promise = null;
+
+        assertCollected(reference);
+        assertTrue(deferred.promise().isPending());
+    }
+
+    @Test
+    public void orTimeoutIsReleasedBySourceOnCancel() throws Throwable {
+        Deferred<String> deferred = Promises.defer();
+        Promise<String> promise = Promises.orTimeout(deferred.promise(), 1, TimeUnit.MINUTES);
+        assertTrue(promise.cancel(true));
+        WeakReference<Promise<String>> reference = new WeakReference<Promise<String>>(promise);
+        promise = null;
+
+        assertCollected(reference);
+        assertTrue(deferred.promise().isPending());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void orTimeoutForeignPromise() throws Throwable {
+        Promise<String> foreign = mock(Promise.class);
+
+        Promise<String> promise = Promises.orTimeout(foreign, 10, TimeUnit.MILLISECONDS);
+
+        assertRejects(TimeoutException.class, promise);
+        verify(foreign).whenCompleted(eq(PromiseExecutors.CURRENT_THREAD), any(OnCompleted.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void orTimeoutNullPromise() {
+        Promises.orTimeout(null, 10, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void completeOnTimeout() throws Throwable {
+        Deferred<String> deferred = Promises.defer();
+        Promise<String> promise = Promises.completeOnTimeout(deferred.promise(), SUCCESS2, 10, TimeUnit.MILLISECONDS);
+
+        assertFulfills(SUCCESS2, promise);
+        assertTrue(deferred.promise().isPending());
+    }
+
+    @Test(timeout = 1000)
+    public void completeOnTimeoutCompletes() throws Throwable {
+        Promise<String> promise = Promises.completeOnTimeout(fulfillAfter(SUCCESS1, 10), SUCCESS2, 5000, TimeUnit.MILLISECONDS);
+
+        assertFulfills(SUCCESS1, promise);
+    }
+
     @Test
     public void get() throws Throwable {
         Promise<String> promise = fulfillAfter(SUCCESS1, 10);
@@ -1248,4 +1361,393 @@ public class PromiseTest {
 
         assertNull(promise.getException());
     }
+
+    @Test
+    public void callbacksInvokedInRegistrationOrder() throws Throwable {
+        Deferred<String> deferred = Promises.defer();
+        Promise<String> promise = deferred.promise();
+        final List<Integer> order = new ArrayList<Integer>();
+        for (int i = 0; i < 5; i++) {
+            final int index = i;
+            promise.then(PromiseExecutors.CURRENT_THREAD, new OnFulfilled<String>() {
+                @Override
+                public void fulfilled(String result) throws Throwable {
+                    order.add(index);
+                }
+            });
+        }
+
+        deferred.fulfill(SUCCESS1);
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), order);
+    }
+
+    @Test
+    public void timedOutWaiterIsRemovedBetweenCallbacks() throws Throwable {
+        Deferred<String> deferred = Promises.defer();
+        Promise<String> promise = deferred.promise();
+        final List<Integer> order = new ArrayList<Integer>();
+        for (int i = 0; i < 6; i++) {
+            final int index = i;
+            promise.then(PromiseExecutors.CURRENT_THREAD, new OnFulfilled<String>() {
+                @Override
+                public void fulfilled(String result) throws Throwable {
+                    order.add(index);
+                }
+            });
+            if (i % 2 == 0) {
+                try {
+                    promise.get(1, TimeUnit.MILLISECONDS);
+                    fail("promise.get(long, TimeUnit) should not return successfully");
+                }
+                catch (TimeoutException ignored) { }
+            }
+        }
+
+        deferred.fulfill(SUCCESS1);
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5), order);
+    }
+
+    @Test
+    public void registerCallbackContended() throws Throwable {
+        final int threads = 8;
+        final int callbacksPerThread = 1000;
+        final Deferred<String> deferred = Promises.defer();
+        final Promise<String> promise = deferred.promise();
+        final AtomicInteger invoked = new AtomicInteger();
+        final CyclicBarrier barrier = new CyclicBarrier(threads + 1);
+        final OnFulfilled<String> callback = new OnFulfilled<String>() {
+            @Override
+            public void fulfilled(String result) throws Throwable {
+                invoked.incrementAndGet();
+            }
+        };
+        List<Thread> workers = new ArrayList<Thread>(threads);
+        for (int i = 0; i < threads; i++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        barrier.await();
+                        for (int j = 0; j < callbacksPerThread; j++) {
+                            promise.then(PromiseExecutors.CURRENT_THREAD, callback);
+                        }
+                    }
+                    catch (Exception ignored) { }
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+            workers.add(thread);
+        }
+        barrier.await();
+        deferred.fulfill(SUCCESS1);
+        for (Thread thread : workers) {
+            thread.join(DEFAULT_TIMEOUT);
+        }
+
+        assertEquals(threads * callbacksPerThread, invoked.get());
+    }
+
+    @Test
+    public void completeContended() throws Throwable {
+        final int threads = 8;
+        final Deferred<Integer> deferred = Promises.defer();
+        final AtomicInteger winners = new AtomicInteger();
+        final CyclicBarrier barrier = new CyclicBarrier(threads);
+        List<Thread> workers = new ArrayList<Thread>(threads);
+        for (int i = 0; i < threads; i++) {
+            final int value = i;
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        barrier.await();
+                        boolean completed = (value % 2 == 0) ? deferred.fulfill(value) : deferred.reject(new Exception());
+                        if (completed) {
+                            winners.incrementAndGet();
+                        }
+                    }
+                    catch (Exception ignored) { }
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+            workers.add(thread);
+        }
+        for (Thread thread : workers) {
+            thread.join(DEFAULT_TIMEOUT);
+        }
+
+        assertEquals(1, winners.get());
+        assertTrue(deferred.promise().isDone());
+    }
+
+    @Test
+    public void getMultipleWaiters() throws Throwable {
+        final int threads = 4;
+        final Deferred<String> deferred = Promises.defer();
+        final Promise<String> promise = deferred.promise();
+        final AtomicInteger released = new AtomicInteger();
+        List<Thread> workers = new ArrayList<Thread>(threads);
+        for (int i = 0; i < threads; i++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        if (SUCCESS1.equals(promise.get())) {
+                            released.incrementAndGet();
+                        }
+                    }
+                    catch (Exception ignored) { }
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+            workers.add(thread);
+        }
+        Thread.sleep(50);
+        deferred.fulfill(SUCCESS1);
+        for (Thread thread : workers) {
+            thread.join(DEFAULT_TIMEOUT);
+        }
+
+        assertEquals(threads, released.get());
+    }
+
+    @Test
+    public void getTimedTimesOutThenFulfills() throws Throwable {
+        Deferred<String> deferred = Promises.defer();
+        Promise<String> promise = deferred.promise();
+
+        for (int i = 0; i < 3; i++) {
+            try {
+                String ignored = promise.get(1, TimeUnit.MILLISECONDS);
+                throw new AssertionFailedError("promise.get(long, TimeUnit) should not return successfully");
+            }
+            catch (TimeoutException ignored) { }
+        }
+        deferred.fulfill(SUCCESS1);
+
+        assertEquals(SUCCESS1, promise.get(100, TimeUnit.MILLISECONDS));
+        assertEquals(SUCCESS1, promise.get());
+    }
+
+    @Test
+    public void sameExecutorContinuationsAreFused() throws Throwable {
+        Executor executor = mock(Executor.class);
+        OnFulfilledFunction<String, String> append = new OnFulfilledFunction<String, String>() {
+            @Override
+            public String fulfilled(String result) throws Throwable {
+                return result + "!";
+            }
+        };
+        Deferred<String> deferred = Promises.defer();
+        Promise<String> promise1 = deferred.promise().thenApply(executor, append);
+        Promise<String> promise2 = promise1.thenApply(executor, append);
+        Promise<String> promise3 = promise2.thenApply(executor, append);
+
+        deferred.fulfill(SUCCESS1);
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor, times(1)).execute(captor.capture());
+        captor.getValue().run();
+
+        verify(executor, times(1)).execute(any(Runnable.class));
+        assertFulfills(SUCCESS1 + "!", promise1);
+        assertFulfills(SUCCESS1 + "!!", promise2);
+        assertFulfills(SUCCESS1 + "!!!", promise3);
+    }
+
+    @Test
+    public void differentExecutorContinuationsAreNotFused() throws Throwable {
+        Executor executor1 = mock(Executor.class);
+        Executor executor2 = mock(Executor.class);
+        @SuppressWarnings("unchecked")
+        OnFulfilled<String> callback = mock(OnFulfilled.class);
+        Deferred<String> deferred = Promises.defer();
+        Promise<String> promise1 = deferred.promise().then(executor1, callback);
+        Promise<String> promise2 = promise1.then(executor2, callback);
+
+        deferred.fulfill(SUCCESS1);
+        ArgumentCaptor<Runnable> captor1 = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor1, times(1)).execute(captor1.capture());
+        captor1.getValue().run();
+        assertFulfills(SUCCESS1, promise1);
+
+        ArgumentCaptor<Runnable> captor2 = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor2, times(1)).execute(captor2.capture());
+        captor2.getValue().run();
+        assertFulfills(SUCCESS1, promise2);
+        verify(callback, times(2)).fulfilled(SUCCESS1);
+    }
+
+    @Test
+    public void fanOutContinuationsAreNotFused() throws Throwable {
+        final int width = 4;
+        final CyclicBarrier barrier = new CyclicBarrier(width);
+        OnFulfilledFunction<String, String> identity = new OnFulfilledFunction<String, String>() {
+            @Override
+            public String fulfilled(String result) throws Throwable {
+                return result;
+            }
+        };
+        OnFulfilledFunction<String, String> await = new OnFulfilledFunction<String, String>() {
+            @Override
+            public String fulfilled(String result) throws Throwable {
+                // only returns if the siblings run in parallel
+                barrier.await(5, TimeUnit.SECONDS);
+                return result;
+            }
+        };
+        Deferred<String> deferred = Promises.defer();
+        Promise<String> parent = deferred.promise().thenApply(PromiseExecutors.NEW_THREAD, identity);
+        List<Promise<String>> children = new ArrayList<Promise<String>>();
+        for (int i = 0; i < width; i++) {
+            children.add(parent.thenApply(PromiseExecutors.NEW_THREAD, await));
+        }
+
+        deferred.fulfill(SUCCESS1);
+
+        for (Promise<String> child : children) {
+            assertEquals(SUCCESS1, child.get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void stageCanBlockOnDependentOfPromiseItCompletes() throws Throwable {
+        final Deferred<String> inner = Promises.defer();
+        final Promise<String> dependent = inner.promise().thenApply(PromiseExecutors.NEW_THREAD, new OnFulfilledFunction<String, String>() {
+            @Override
+            public String fulfilled(String result) throws Throwable {
+                return result + "!";
+            }
+        });
+        Deferred<String> deferred = Promises.defer();
+        Promise<String> outer = deferred.promise().thenApply(PromiseExecutors.NEW_THREAD, new OnFulfilledFunction<String, String>() {
+            @Override
+            public String fulfilled(String result) throws Throwable {
+                inner.fulfill(result);
+                return dependent.get(2, TimeUnit.SECONDS);
+            }
+        });
+
+        deferred.fulfill(SUCCESS1);
+
+        assertEquals(SUCCESS1 + "!", outer.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void currentThreadDependentsRunBeforeFulfillReturns() throws Throwable {
+        final int depth = 8;
+        final List<Deferred<String>> deferreds = new ArrayList<Deferred<String>>();
+        final List<Promise<String>> promises = new ArrayList<Promise<String>>();
+        final List<Boolean> ran = new ArrayList<Boolean>();
+        for (int i = 0; i <= depth; i++) {
+            deferreds.add(Promises.<String>defer());
+        }
+        for (int i = 0; i <= depth; i++) {
+            final int index = i;
+            promises.add(deferreds.get(i).promise().then(PromiseExecutors.CURRENT_THREAD, new OnFulfilled<String>() {
+                @Override
+                public void fulfilled(String result) throws Throwable {
+                    if (index < depth) {
+                        // each fulfill nests the stages of the following deferreds
+                        deferreds.get(index + 1).fulfill(result);
+                        ran.add(promises.get(index + 1).isDone());
+                    }
+                }
+            }));
+        }
+
+        deferreds.get(0).fulfill(SUCCESS1);
+
+        assertEquals(Collections.nCopies(depth, true), ran);
+    }
+
+    @Test
+    public void currentThreadStageCanBlockOnDependentOfPromiseItCompletes() throws Throwable {
+        final Deferred<String> inner = Promises.defer();
+        final Promise<String> dependent = inner.promise().thenApply(PromiseExecutors.CURRENT_THREAD, new OnFulfilledFunction<String, String>() {
+            @Override
+            public String fulfilled(String result) throws Throwable {
+                return result + "!";
+            }
+        });
+        Deferred<String> deferred = Promises.defer();
+        Promise<String> outer = deferred.promise().thenApply(PromiseExecutors.CURRENT_THREAD, new OnFulfilledFunction<String, String>() {
+            @Override
+            public String fulfilled(String result) throws Throwable {
+                inner.fulfill(result);
+                return dependent.get(2, TimeUnit.SECONDS);
+            }
+        });
+
+        deferred.fulfill(SUCCESS1);
+
+        assertFulfills(SUCCESS1 + "!", outer);
+    }
+
+    @Test
+    public void currentThreadChainDoesNotGrowStack() throws Throwable {
+        OnFulfilledFunction<Integer, Integer> increment = new OnFulfilledFunction<Integer, Integer>() {
+            @Override
+            public Integer fulfilled(Integer result) throws Throwable {
+                return result + 1;
+            }
+        };
+        Deferred<Integer> deferred = Promises.defer();
+        Promise<Integer> promise = deferred.promise();
+        for (int i = 0; i < 100000; i++) {
+            promise = promise.thenApply(PromiseExecutors.CURRENT_THREAD, increment);
+        }
+
+        deferred.fulfill(0);
+
+        assertFulfills(100000, promise);
+    }
+
+    @Test
+    public void currentThreadNestedComposeDoesNotGrowStack() throws Throwable {
+        Deferred<Integer> deferred = Promises.defer();
+        Promise<Integer> promise = deferred.promise();
+        for (int i = 0; i < 100000; i++) {
+            final Promise<Integer> inner = promise;
+            promise = Promises.fulfilled(i).thenCompose(PromiseExecutors.CURRENT_THREAD, new OnFulfilledFunction<Integer, Future<Integer>>() {
+                @Override
+                public Future<Integer> fulfilled(Integer result) throws Throwable {
+                    return inner;
+                }
+            });
+        }
+
+        deferred.fulfill(SUCCESS_INT);
+
+        assertFulfills(SUCCESS_INT, promise);
+    }
+
+    @Test
+    public void alternatingSynchronousExecutorsDoNotGrowStack() throws Throwable {
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        };
+        OnFulfilledFunction<Integer, Integer> increment = new OnFulfilledFunction<Integer, Integer>() {
+            @Override
+            public Integer fulfilled(Integer result) throws Throwable {
+                return result + 1;
+            }
+        };
+        Deferred<Integer> deferred = Promises.defer();
+        Promise<Integer> promise = deferred.promise();
+        for (int i = 0; i < 100000; i++) {
+            promise = promise.thenApply(i % 2 == 0 ? PromiseExecutors.CURRENT_THREAD : executor, increment);
+        }
+
+        deferred.fulfill(0);
+
+        assertFulfills(100000, promise);
+    }
 }
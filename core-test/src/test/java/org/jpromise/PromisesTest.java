@@ -11,11 +11,15 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.jpromise.PromiseHelpers.assertFulfills;
 import static org.jpromise.PromiseHelpers.assertRejects;
 import static org.jpromise.PromiseHelpers.fulfillAfter;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
@@ -353,4 +357,346 @@ public class PromisesTest {
 
         assertRejects(exception, promise);
     }
+
+    private static class Attempts implements Callable<Future<String>> {
+        private final BlockingQueue<Deferred<String>> started = new LinkedBlockingQueue<Deferred<String>>();
+        private final AtomicInteger count = new AtomicInteger();
+        private final BlockingQueue<Thread> threads = new LinkedBlockingQueue<Thread>();
+
+        @Override
+        public Future<String> call() throws Exception {
+            count.incrementAndGet();
+            threads.add(Thread.currentThread());
+            Deferred<String> deferred = Promises.defer();
+            started.add(deferred);
+            return deferred.promise();
+        }
+
+        Deferred<String> next() throws InterruptedException {
+            Deferred<String> deferred = started.poll(PromiseHelpers.DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS);
+            assertNotNull("Expected another attempt to be started.", deferred);
+            return deferred;
+        }
+    }
+
+    @Test
+    public void hedgeFirstAttemptFulfilled() throws Throwable {
+        Attempts attempts = new Attempts();
+
+        Promise<String> promise = Promises.hedge(attempts, 10, TimeUnit.MILLISECONDS, 3);
+        attempts.next().fulfill(SUCCESS1);
+        Thread.sleep(50);
+
+        assertFulfills(SUCCESS1, promise);
+        assertEquals(1, attempts.count.get());
+    }
+
+    @Test
+    public void hedgeStartsAttemptAfterDelay() throws Throwable {
+        Attempts attempts = new Attempts();
+
+        Promise<String> promise = Promises.hedge(attempts, 10, TimeUnit.MILLISECONDS, 3);
+        Deferred<String> first = attempts.next();
+        Deferred<String> second = attempts.next();
+        second.fulfill(SUCCESS2);
+
+        assertFulfills(SUCCESS2, promise);
+        assertRejects(CancellationException.class, first.promise());
+    }
+
+    @Test
+    public void hedgeLimitsAttempts() throws Throwable {
+        Attempts attempts = new Attempts();
+
+        Promise<String> promise = Promises.hedge(attempts, 5, TimeUnit.MILLISECONDS, 2);
+        attempts.next();
+        attempts.next();
+        Thread.sleep(100);
+
+        assertEquals(2, attempts.count.get());
+        assertTrue(promise.isPending());
+    }
+
+    @Test
+    public void hedgeRejectedStartsNextAttempt() throws Throwable {
+        Attempts attempts = new Attempts();
+
+        Promise<String> promise = Promises.hedge(attempts, 1, TimeUnit.MINUTES, 2);
+        attempts.next().reject(new Exception());
+        attempts.next().fulfill(SUCCESS2);
+
+        assertFulfills(SUCCESS2, promise);
+    }
+
+    @Test
+    public void hedgeAllRejected() throws Throwable {
+        Exception exception = new Exception();
+        Attempts attempts = new Attempts();
+
+        Promise<String> promise = Promises.hedge(attempts, 1, TimeUnit.MINUTES, 2);
+        attempts.next().reject(new Exception());
+        attempts.next().reject(exception);
+
+        assertRejects(exception, promise);
+    }
+
+    @Test
+    public void hedgeRejectedOnForeignThreadStartsNextAttemptOnExecutor() throws Throwable {
+        final BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<Runnable>();
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                tasks.add(command);
+            }
+        };
+        Attempts attempts = new Attempts();
+
+        Promise<String> promise = Promises.hedge(executor, attempts, 1, TimeUnit.MINUTES, 2);
+        final Deferred<String> first = attempts.next();
+        Thread foreign = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                first.reject(new Exception());
+            }
+        });
+        foreign.start();
+        foreign.join();
+
+        assertEquals(1, attempts.count.get());
+        Runnable task = tasks.poll(PromiseHelpers.DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS);
+        assertNotNull(task);
+        task.run();
+        attempts.next().fulfill(SUCCESS2);
+
+        assertFulfills(SUCCESS2, promise);
+        assertSame(Thread.currentThread(), attempts.threads.poll());
+        assertSame(Thread.currentThread(), attempts.threads.poll());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void hedgeAttemptThrows() throws Throwable {
+        RuntimeException exception = new RuntimeException();
+        Callable<Future<String>> attempt = mock(Callable.class);
+        when(attempt.call()).thenThrow(exception);
+
+        Promise<String> promise = Promises.hedge(attempt, 1, TimeUnit.MINUTES, 3);
+
+        assertRejects(exception, promise);
+        verify(attempt, times(3)).call();
+    }
+
+    @Test
+    public void hedgeCancelled() throws Throwable {
+        Attempts attempts = new Attempts();
+
+        Promise<String> promise = Promises.hedge(attempts, 1, TimeUnit.MINUTES, 2);
+        Deferred<String> first = attempts.next();
+        promise.cancel(true);
+
+        assertTrue(first.promise().isCancelled());
+        assertEquals(1, attempts.count.get());
+    }
+
+    @Test
+    public void hedgeRecordsLatency() throws Throwable {
+        Attempts attempts = new Attempts();
+        AdaptiveDelay delay = new AdaptiveDelay(1, TimeUnit.MINUTES, 1, 0.95);
+
+        Promise<String> promise = Promises.hedge(attempts, delay, 2);
+        Thread.sleep(20);
+        attempts.next().fulfill(SUCCESS1);
+
+        assertFulfills(SUCCESS1, promise);
+        long recorded = delay.delay(TimeUnit.MILLISECONDS);
+        assertTrue(recorded >= 20 && recorded < 60000);
+    }
+
+    @Test
+    public void hedgeRecordsLatencyOfRejectedAttempts() throws Throwable {
+        Attempts attempts = new Attempts();
+        AdaptiveDelay delay = new AdaptiveDelay(1, TimeUnit.MINUTES, 2, 1.0);
+
+        Promise<String> promise = Promises.hedge(attempts, delay, 2);
+        Thread.sleep(20);
+        attempts.next().reject(new Exception());
+        attempts.next().fulfill(SUCCESS2);
+
+        assertFulfills(SUCCESS2, promise);
+        long recorded = delay.delay(TimeUnit.MILLISECONDS);
+        assertTrue(recorded >= 20 && recorded < 60000);
+    }
+
+    @Test
+    public void hedgeStartsHedgedAttemptOnExecutor() throws Throwable {
+        final BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<Runnable>();
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                tasks.add(command);
+            }
+        };
+        Attempts attempts = new Attempts();
+
+        Promise<String> promise = Promises.hedge(executor, attempts, 5, TimeUnit.MILLISECONDS, 2);
+        attempts.next();
+        Runnable task = tasks.poll(PromiseHelpers.DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS);
+        assertNotNull(task);
+        assertEquals(1, attempts.count.get());
+        task.run();
+        attempts.next().fulfill(SUCCESS2);
+
+        assertFulfills(SUCCESS2, promise);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void hedgeWithoutAttempts() throws Throwable {
+        Promises.hedge(new Attempts(), 1, TimeUnit.MINUTES, 0);
+    }
+
+    private static final RetryPolicy IMMEDIATE = new RetryPolicy(3).withBackoff(0, 0, TimeUnit.MILLISECONDS);
+
+    @Test
+    public void retryFulfilled() throws Throwable {
+        Attempts attempts = new Attempts();
+
+        Promise<String> promise = Promises.retry(attempts, IMMEDIATE);
+        attempts.next().reject(new Exception());
+        attempts.next().fulfill(SUCCESS1);
+
+        assertFulfills(SUCCESS1, promise);
+        assertEquals(2, attempts.count.get());
+    }
+
+    @Test
+    public void retryGivesUpAfterMaxAttempts() throws Throwable {
+        Exception exception = new Exception();
+        Attempts attempts = new Attempts();
+
+        Promise<String> promise = Promises.retry(attempts, IMMEDIATE);
+        attempts.next().reject(new Exception());
+        attempts.next().reject(new Exception());
+        attempts.next().reject(exception);
+
+        assertRejects(exception, promise);
+        assertEquals(3, attempts.count.get());
+    }
+
+    @Test
+    public void retryAbortsOnException() throws Throwable {
+        IllegalStateException exception = new IllegalStateException();
+        Attempts attempts = new Attempts();
+
+        Promise<String> promise = Promises.retry(attempts, IMMEDIATE.abortOn(IllegalStateException.class));
+        attempts.next().reject(exception);
+
+        assertRejects(exception, promise);
+        assertEquals(1, attempts.count.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void retryAttemptThrows() throws Throwable {
+        RuntimeException exception = new RuntimeException();
+        Callable<Future<String>> attempt = mock(Callable.class);
+        when(attempt.call()).thenThrow(exception);
+
+        Promise<String> promise = Promises.retry(attempt, IMMEDIATE);
+
+        assertRejects(exception, promise);
+        verify(attempt, times(3)).call();
+    }
+
+    @Test
+    public void retryWaitsForBackoff() throws Throwable {
+        Attempts attempts = new Attempts();
+
+        Promise<String> promise = Promises.retry(attempts, new RetryPolicy(2).withBackoff(1, 1, TimeUnit.MINUTES));
+        attempts.next().reject(new Exception());
+        Thread.sleep(50);
+
+        assertEquals(1, attempts.count.get());
+        assertTrue(promise.isPending());
+        promise.cancel(true);
+    }
+
+    @Test
+    public void retryDeadline() throws Throwable {
+        Attempts attempts = new Attempts();
+
+        Promise<String> promise = Promises.retry(attempts, new RetryPolicy(2).withDeadline(20, TimeUnit.MILLISECONDS));
+        Deferred<String> first = attempts.next();
+
+        assertRejects(TimeoutException.class, promise);
+        assertRejects(CancellationException.class, first.promise());
+    }
+
+    @Test
+    public void retryBackoffPastDeadline() throws Throwable {
+        Exception exception = new Exception();
+        Attempts attempts = new Attempts();
+
+        Promise<String> promise = Promises.retry(attempts, new RetryPolicy(2).withBackoff(1, 1, TimeUnit.MINUTES).withDeadline(30, TimeUnit.SECONDS));
+        attempts.next().reject(exception);
+
+        TimeoutException timeout = assertRejects(TimeoutException.class, promise);
+        assertSame(exception, timeout.getCause());
+        assertEquals(1, attempts.count.get());
+    }
+
+    @Test
+    public void retryStartsRetryOnExecutor() throws Throwable {
+        final BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<Runnable>();
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                tasks.add(command);
+            }
+        };
+        Attempts attempts = new Attempts();
+
+        Promise<String> promise = Promises.retry(executor, attempts, IMMEDIATE);
+        attempts.next().reject(new Exception());
+        Runnable task = tasks.poll(PromiseHelpers.DEFAULT_TIMEOUT, TimeUnit.MILLISECONDS);
+        assertNotNull(task);
+        assertEquals(1, attempts.count.get());
+        task.run();
+        attempts.next().fulfill(SUCCESS1);
+
+        assertFulfills(SUCCESS1, promise);
+    }
+
+    @Test
+    public void retryCancelled() throws Throwable {
+        Attempts attempts = new Attempts();
+
+        Promise<String> promise = Promises.retry(attempts, IMMEDIATE);
+        Deferred<String> first = attempts.next();
+        promise.cancel(true);
+
+        assertTrue(first.promise().isCancelled());
+        assertEquals(1, attempts.count.get());
+    }
+
+    @Test
+    public void retryManyAttemptsWithoutRecursion() throws Throwable {
+        final AtomicInteger count = new AtomicInteger();
+        final int depth = new Throwable().getStackTrace().length;
+        final AtomicInteger deepest = new AtomicInteger();
+        Callable<Future<String>> attempt = new Callable<Future<String>>() {
+            @Override
+            public Future<String> call() throws Exception {
+                deepest.set(Math.max(deepest.get(), new Throwable().getStackTrace().length));
+                if (count.incrementAndGet() < 100) {
+                    return Promises.rejected(new Exception());
+                }
+                return Promises.fulfilled(SUCCESS1);
+            }
+        };
+
+        Promise<String> promise = Promises.retry(attempt, new RetryPolicy(100).withBackoff(0, 0, TimeUnit.MILLISECONDS));
+
+        assertFulfills(SUCCESS1, promise, 10000);
+        assertTrue(deepest.get() < depth + 100);
+    }
 }
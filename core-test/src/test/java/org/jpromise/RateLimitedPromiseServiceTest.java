@@ -0,0 +1,174 @@
+package org.jpromise;
+
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+import static org.jpromise.PromiseHelpers.assertFulfills;
+import static org.jpromise.PromiseHelpers.assertRejects;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class RateLimitedPromiseServiceTest {
+    private static final String SUCCESS1 = "SUCCESS1";
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final Callable<String> SUCCEEDS = new Callable<String>() {
+        @Override
+        public String call() throws Exception {
+            return SUCCESS1;
+        }
+    };
+
+    /**
+     * A service whose token bucket is refilled by a virtual clock.
+     */
+    private static class VirtualClockService extends RateLimitedPromiseService {
+        private long now;
+
+        VirtualClockService(double permitsPerSecond, int burst) {
+            super(new ExecutorPromiseService(new CurrentThreadExecutor()), permitsPerSecond, burst);
+        }
+
+        @Override
+        long nanoTime() {
+            return now;
+        }
+    }
+
+    @Test
+    public void burstIsAvailableImmediately() {
+        VirtualClockService service = new VirtualClockService(1000, 10);
+
+        assertTrue(service.tryAcquire(10));
+        assertFalse(service.tryAcquire(1));
+    }
+
+    @Test
+    public void permitsRefillAtRate() {
+        VirtualClockService service = new VirtualClockService(1000, 10);
+        assertTrue(service.tryAcquire(10));
+
+        service.now += MILLIS;
+        assertTrue(service.tryAcquire(1));
+        assertFalse(service.tryAcquire(1));
+
+        service.now += 5 * MILLIS;
+        assertFalse(service.tryAcquire(6));
+        assertTrue(service.tryAcquire(5));
+    }
+
+    @Test
+    public void bucketDoesNotExceedBurst() {
+        VirtualClockService service = new VirtualClockService(1000, 10);
+
+        service.now += TimeUnit.MINUTES.toNanos(1);
+
+        assertTrue(service.tryAcquire(10));
+        assertFalse(service.tryAcquire(1));
+    }
+
+    @Test
+    public void batchLargerThanBurstIsNeverAvailableImmediately() {
+        VirtualClockService service = new VirtualClockService(1000, 10);
+
+        assertFalse(service.tryAcquire(11));
+        assertTrue(service.tryAcquire(10));
+    }
+
+    @Test
+    public void sustainsRate() {
+        VirtualClockService service = new VirtualClockService(1000000, 100);
+        int acquired = 0;
+
+        for (long i = 0; i < 2 * 1000000; i++) {
+            if (service.tryAcquire(1)) {
+                acquired += 1;
+            }
+            service.now += 500;
+        }
+
+        // one second of permits plus the burst
+        assertEquals(1000000 + 100, acquired, 1);
+    }
+
+    @Test
+    public void submitsWithinBurstImmediately() throws Throwable {
+        PromiseService delegate = spy(new ExecutorPromiseService(new CurrentThreadExecutor()));
+        RateLimitedPromiseService service = new RateLimitedPromiseService(delegate, 1, 2);
+
+        assertFulfills(SUCCESS1, service.submit(SUCCEEDS));
+        assertFulfills(SUCCESS1, service.submit(SUCCEEDS));
+        assertTrue(service.submit(SUCCEEDS).isPending());
+        verify(delegate, times(2)).submit(SUCCEEDS);
+    }
+
+    @Test
+    public void schedulesTaskWhenPermitsRunOut() throws Throwable {
+        RateLimitedPromiseService service = new RateLimitedPromiseService(new ExecutorPromiseService(new CurrentThreadExecutor()), 20, 1);
+
+        assertTrue(service.submit(SUCCEEDS).isDone());
+        Promise<String> promise = service.submit(SUCCEEDS);
+
+        assertTrue(promise.isPending());
+        assertFulfills(SUCCESS1, promise);
+    }
+
+    @Test
+    public void acquireSchedulesWhenPermitsRunOut() throws Throwable {
+        RateLimitedPromiseService service = new RateLimitedPromiseService(new ExecutorPromiseService(new CurrentThreadExecutor()), 1000, 10);
+
+        assertTrue(service.acquire(10).isDone());
+        Promise<Void> promise = service.acquire(10);
+
+        assertTrue(promise.isPending());
+        assertFulfills(null, promise);
+    }
+
+    @Test
+    public void submitsBatch() throws Throwable {
+        RateLimitedPromiseService service = new RateLimitedPromiseService(new ExecutorPromiseService(new CurrentThreadExecutor()), 1, 5);
+
+        assertFulfills(SUCCESS1, service.submit(SUCCEEDS, 5));
+        assertTrue(service.submit(SUCCEEDS, 1).isPending());
+    }
+
+    @Test
+    public void cancelledTaskIsNotSubmitted() throws Throwable {
+        PromiseService delegate = mock(PromiseService.class);
+        when(delegate.submit(SUCCEEDS)).thenReturn(Promises.fulfilled(SUCCESS1));
+        HashedWheelTimer timer = new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 16);
+        try {
+            RateLimitedPromiseService service = new RateLimitedPromiseService(delegate, timer, 50, 1);
+
+            service.submit(SUCCEEDS);
+            Promise<String> promise = service.submit(SUCCEEDS);
+            promise.cancel(true);
+            Thread.sleep(50);
+
+            assertRejects(CancellationException.class, promise);
+            assertEquals(0, timer.outstanding());
+            verify(delegate, times(1)).submit(SUCCEEDS);
+        }
+        finally {
+            timer.stop();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidPermits() {
+        new RateLimitedPromiseService(new ExecutorPromiseService(new CurrentThreadExecutor()), 1).tryAcquire(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidRate() {
+        new RateLimitedPromiseService(new ExecutorPromiseService(new CurrentThreadExecutor()), 0.0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullService() {
+        new RateLimitedPromiseService(null, 1);
+    }
+}
@@ -0,0 +1,96 @@
+package org.jpromise;
+
+import org.junit.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class RetryPolicyTest {
+    @Test
+    public void exponentialBackoff() {
+        RetryPolicy policy = new RetryPolicy(10).withBackoff(10, 100, TimeUnit.NANOSECONDS);
+
+        assertEquals(10L, policy.delay(1, 0.5));
+        assertEquals(20L, policy.delay(2, 0.5));
+        assertEquals(40L, policy.delay(3, 0.5));
+        assertEquals(80L, policy.delay(4, 0.5));
+        assertEquals(100L, policy.delay(5, 0.5));
+        assertEquals(100L, policy.delay(60, 0.5));
+    }
+
+    @Test
+    public void multiplier() {
+        RetryPolicy policy = new RetryPolicy(10).withBackoff(10, 1000, TimeUnit.NANOSECONDS).withMultiplier(3.0);
+
+        assertEquals(90L, policy.delay(3, 0.0));
+    }
+
+    @Test
+    public void jitter() {
+        RetryPolicy policy = new RetryPolicy(10).withBackoff(100, 1000, TimeUnit.NANOSECONDS).withJitter(0.5);
+
+        assertEquals(100L, policy.delay(1, 0.0));
+        assertEquals(75L, policy.delay(1, 0.5));
+        assertEquals(50L, policy.delay(1, 1.0));
+    }
+
+    @Test
+    public void maxAttempts() {
+        RetryPolicy policy = new RetryPolicy(3).withBackoff(0, 0, TimeUnit.NANOSECONDS);
+
+        assertEquals(0L, policy.retryDelay(1, new Exception(), 0L));
+        assertEquals(0L, policy.retryDelay(2, new Exception(), 0L));
+        assertTrue(policy.retryDelay(3, new Exception(), 0L) < 0L);
+    }
+
+    @Test
+    public void deadline() {
+        RetryPolicy policy = new RetryPolicy(10).withBackoff(10, 10, TimeUnit.MILLISECONDS).withDeadline(1, TimeUnit.SECONDS);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(10), policy.retryDelay(1, new Exception(), TimeUnit.MILLISECONDS.toNanos(500)));
+        assertEquals(RetryPolicy.PAST_DEADLINE, policy.retryDelay(1, new Exception(), TimeUnit.MILLISECONDS.toNanos(995)));
+    }
+
+    @Test
+    public void retriesAnyExceptionByDefault() {
+        RetryPolicy policy = new RetryPolicy(3);
+
+        assertTrue(policy.shouldRetry(new Exception()));
+        assertTrue(policy.shouldRetry(new Error()));
+    }
+
+    @Test
+    public void retryOnAndAbortOn() {
+        RetryPolicy policy = new RetryPolicy(3).retryOn(IOException.class).abortOn(FileNotFoundException.class);
+
+        assertTrue(policy.shouldRetry(new IOException()));
+        assertFalse(policy.shouldRetry(new FileNotFoundException()));
+        assertFalse(policy.shouldRetry(new IllegalStateException()));
+    }
+
+    @Test
+    public void policiesAreImmutable() {
+        RetryPolicy policy = new RetryPolicy(3);
+        policy.retryOn(IOException.class);
+
+        assertTrue(policy.shouldRetry(new IllegalStateException()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidMaxAttempts() {
+        new RetryPolicy(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidJitter() {
+        new RetryPolicy(3).withJitter(2.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidBackoff() {
+        new RetryPolicy(3).withBackoff(10, 5, TimeUnit.MILLISECONDS);
+    }
+}
@@ -5,8 +5,6 @@ import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.runners.MockitoJUnitRunner;
 
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.TimeUnit;
 
 import static org.jpromise.PromiseHelpers.*;
@@ -23,24 +21,28 @@ public class TimerPromiseTest {
 
     @Test
     public void cancel() throws Throwable {
-        Timer timer = mock(Timer.class);
+        HashedWheelTimer timer = mock(HashedWheelTimer.class);
+        HashedWheelTimer.Timeout timeout = mock(HashedWheelTimer.Timeout.class);
+        when(timer.schedule(any(Runnable.class), eq(10L), eq(TimeUnit.MILLISECONDS))).thenReturn(timeout);
         TimerPromise promise = new TimerPromise(timer, 10, TimeUnit.MILLISECONDS);
         assertTrue(promise.cancel(true));
-        verify(timer, times(1)).cancel();
+        verify(timeout, times(1)).cancel();
     }
 
     @Test
     public void cancelFulfilled() throws Throwable {
-        Timer timer = mock(Timer.class);
+        HashedWheelTimer timer = mock(HashedWheelTimer.class);
+        HashedWheelTimer.Timeout timeout = mock(HashedWheelTimer.Timeout.class);
+        when(timer.schedule(any(Runnable.class), eq(10L), eq(TimeUnit.MILLISECONDS))).thenReturn(timeout);
         TimerPromise promise = new TimerPromise(timer, 10, TimeUnit.MILLISECONDS);
 
-        ArgumentCaptor<TimerTask> captor = ArgumentCaptor.forClass(TimerTask.class);
-        verify(timer, times(1)).schedule(captor.capture(), eq(10L));
-        TimerTask task = captor.getValue();
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(timer, times(1)).schedule(captor.capture(), eq(10L), eq(TimeUnit.MILLISECONDS));
+        Runnable task = captor.getValue();
 
         task.run();
 
         assertFalse(promise.cancel(true));
-        verify(timer, times(0)).cancel();
+        verify(timeout, times(0)).cancel();
     }
 }
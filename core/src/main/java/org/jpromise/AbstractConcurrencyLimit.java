@@ -0,0 +1,73 @@
+package org.jpromise;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.jpromise.util.MessageUtil.mustNotBeNull;
+
+/**
+ * The base of the {@link org.jpromise.ConcurrencyLimit} implementations, which is updated without locking.  An
+ * implementation calculates the limit that it would set after a full window of tasks completing like the recorded task
+ * and each task moves the limit by its share of that window, so that the limit changes by at most one step per round
+ * trip however many tasks are in flight.  Applying the whole step for every task would overshoot, since the tasks
+ * completing during the round trip after a change were all dispatched before it.
+ */
+abstract class AbstractConcurrencyLimit implements ConcurrencyLimit {
+    private final int minLimit;
+    private final int maxLimit;
+    // the fractional limit, stored as the bits of a double so that the shares of a step are not lost
+    private final AtomicLong limit;
+    private final AtomicLong minRtt = new AtomicLong(Long.MAX_VALUE);
+
+    AbstractConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1) throw new IllegalArgumentException("The minimum limit must be positive.");
+        if (maxLimit < minLimit) throw new IllegalArgumentException("The maximum limit must not be less than the minimum limit.");
+        if (initialLimit < minLimit || initialLimit > maxLimit) throw new IllegalArgumentException("The initial limit must be between the minimum and maximum limits.");
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = new AtomicLong(Double.doubleToLongBits(initialLimit));
+    }
+
+    @Override
+    public int limit() {
+        return (int)Double.longBitsToDouble(limit.get());
+    }
+
+    @Override
+    public void record(long rtt, TimeUnit timeUnit, int inFlight, boolean dropped) {
+        if (timeUnit == null) throw new IllegalArgumentException(mustNotBeNull("timeUnit"));
+        long nanos = Math.max(timeUnit.toNanos(rtt), 1L);
+        long min = dropped ? minRtt.get() : updateMinimum(nanos);
+        for (;;) {
+            long bits = limit.get();
+            double current = Double.longBitsToDouble(bits);
+            double target = target(current, nanos, min, dropped);
+            if (target > current && inFlight * 2 < current) {
+                // the limit is not being used so the round-trip time says nothing about whether it can grow
+                return;
+            }
+            double updated = Math.max(minLimit, Math.min(maxLimit, current + (target - current) / current));
+            if (updated == current || limit.compareAndSet(bits, Double.doubleToLongBits(updated))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the limit after a full window of tasks completing like the recorded task.
+     * @param current The current limit.
+     * @param rtt The round-trip time of the recorded task in nanoseconds.
+     * @param minRtt The lowest round-trip time observed in nanoseconds.
+     * @param dropped Whether the recorded task was dropped.
+     */
+    abstract double target(double current, long rtt, long minRtt, boolean dropped);
+
+    private long updateMinimum(long rtt) {
+        for (;;) {
+            long current = minRtt.get();
+            if (rtt >= current || minRtt.compareAndSet(current, rtt)) {
+                return Math.min(current, rtt);
+            }
+        }
+    }
+}
@@ -2,26 +2,31 @@ package org.jpromise;
 
 import org.jpromise.functions.*;
 
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
 
 import static org.jpromise.util.MessageUtil.mustNotBeNull;
 
 public abstract class AbstractPromise<V> implements Promise<V> {
-    private final Object lock = new Object();
-    private final CountDownLatch latch = new CountDownLatch(1);
-    private final List<Continuation<V>> callbacks = new LinkedList<Continuation<V>>();
-    private PromiseState state = PromiseState.PENDING;
-    private V result;
-    private Throwable exception;
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<AbstractPromise, Object> STATE =
+            AtomicReferenceFieldUpdater.newUpdater(AbstractPromise.class, Object.class, "state");
+
+    /**
+     * While the promise is pending this is {@code null} if nothing has been registered, the single registered
+     * {@link Continuation} or a {@link Node} stack of the registered continuations, most recently registered on top.
+     * Once the promise is completed it is replaced by the {@link Completion}.
+     */
+    private volatile Object state;
 
     @Override
     public PromiseState state() {
-        return state;
+        Completion<V> completion = completion();
+        if (completion == null) {
+            return PromiseState.PENDING;
+        }
+        return completion.state;
     }
 
     @Override
@@ -46,18 +51,21 @@ public abstract class AbstractPromise<V> implements Promise<V> {
 
     @Override
     public boolean isCancelled() {
-        return (exception instanceof CancellationException);
+        Completion<V> completion = completion();
+        return completion != null && (completion.exception instanceof CancellationException);
     }
 
     @Override
     public String toString() {
-        switch (state) {
+        Completion<V> completion = completion();
+        if (completion == null) {
+            return "[PENDING]";
+        }
+        switch (completion.state) {
             case FULFILLED:
-                return String.format("[FULFILLED]: %s", result);
-            case REJECTED:
-                return String.format("[REJECTED]: %s", exception);
+                return String.format("[FULFILLED]: %s", completion.value());
             default:
-                return "[PENDING]";
+                return String.format("[REJECTED]: %s", completion.exception);
         }
     }
 
@@ -306,22 +314,16 @@ public abstract class AbstractPromise<V> implements Promise<V> {
         if (isDone()) {
             return this;
         }
-        final Timer timer = new Timer(true);
-        final AtomicBoolean flag = new AtomicBoolean();
-        timer.schedule(new TimerTask() {
+        final HashedWheelTimer.Timeout scheduled = HashedWheelTimer.shared().schedule(new Runnable() {
             @Override
             public void run() {
-                if (flag.compareAndSet(false, true)) {
-                    AbstractPromise.this.cancel(mayInterruptIfRunning);
-                }
+                AbstractPromise.this.cancel(mayInterruptIfRunning);
             }
-        }, timeUnit.toMillis(timeout));
-        this.whenCompleted(new OnCompleted<V>() {
+        }, timeout, timeUnit);
+        registerCallback(new Continuation<V>() {
             @Override
-            public void completed(Promise<V> promise, V result, Throwable exception) throws Throwable {
-                if (flag.compareAndSet(false, true)) {
-                    timer.cancel();
-                }
+            public void completed(Promise<V> promise, V result, Throwable exception) {
+                scheduled.cancel();
             }
         });
         return this;
@@ -329,22 +331,23 @@ public abstract class AbstractPromise<V> implements Promise<V> {
 
     @Override
     public V get() throws InterruptedException, ExecutionException {
-        latch.await();
-        if (state == PromiseState.REJECTED) {
-            throw new ExecutionException(exception);
+        Completion<V> completion = completion();
+        if (completion == null) {
+            completion = await(false, 0L);
         }
-        return result;
+        return report(completion);
     }
 
     @Override
     public V get(long timeout, TimeUnit timeUnit) throws InterruptedException, ExecutionException, TimeoutException {
-        if (!latch.await(timeout, timeUnit)) {
-            throw new TimeoutException();
-        }
-        if (state == PromiseState.REJECTED) {
-            throw new ExecutionException(exception);
+        Completion<V> completion = completion();
+        if (completion == null) {
+            completion = await(true, timeUnit.toNanos(timeout));
+            if (completion == null) {
+                throw new TimeoutException();
+            }
         }
-        return result;
+        return report(completion);
     }
 
     @Override
@@ -369,35 +372,62 @@ public abstract class AbstractPromise<V> implements Promise<V> {
 
     @Override
     public Throwable getException() {
-        return exception;
+        Completion<V> completion = completion();
+        return completion != null ? completion.exception : null;
     }
 
     protected boolean complete(V result) {
-        if (state != PromiseState.PENDING) {
+        if (state instanceof Completion) {
             return false;
         }
-        synchronized (lock) {
-            if (state != PromiseState.PENDING) return false;
-            state = PromiseState.FULFILLED;
-            this.result = result;
-            onFulfilled(result);
+        if (!transition(new Completion<V>(PromiseState.FULFILLED, result, null))) {
+            return false;
         }
+        onFulfilled(result);
+        return true;
+    }
+
+    boolean completeInt(int result) {
+        return completePrimitive(new IntCompletion<V>(result));
+    }
+
+    boolean completeLong(long result) {
+        return completePrimitive(new LongCompletion<V>(result));
+    }
+
+    boolean completeDouble(double result) {
+        return completePrimitive(new DoubleCompletion<V>(result));
+    }
+
+    private boolean completePrimitive(Completion<V> completion) {
+        if (state instanceof Completion) {
+            return false;
+        }
+        if (!transition(completion)) {
+            return false;
+        }
+        // the result is not boxed for the hooks, see onFulfilled
+        onFulfilled(null);
         return true;
     }
 
     protected boolean completeWithException(Throwable exception) {
-        if (state != PromiseState.PENDING) {
+        if (state instanceof Completion) {
             return false;
         }
-        synchronized (lock) {
-            if (state != PromiseState.PENDING) return false;
-            state = PromiseState.REJECTED;
-            this.exception = exception;
-            onRejected(exception);
+        if (!transition(new Completion<V>(PromiseState.REJECTED, null, exception))) {
+            return false;
         }
+        onRejected(exception);
         return true;
     }
 
+    /**
+     * Invoked once the promise has been fulfilled.  A primitive promise such as an {@link org.jpromise.IntPromise}
+     * fulfilled with an unboxed value passes {@code null} to this and {@link #onCompleted} rather than boxing the
+     * value; its continuations still receive the boxed value unless they consume the primitive directly.
+     * @param result The result of the promise, or {@code null} if it was fulfilled with an unboxed primitive value.
+     */
     protected void onFulfilled(V result) {
         onCompleted(PromiseState.FULFILLED, result, null);
     }
@@ -407,8 +437,61 @@ public abstract class AbstractPromise<V> implements Promise<V> {
     }
 
     protected void onCompleted(PromiseState state, V result, Throwable exception) {
-        latch.countDown();
-        invokeCallbacks(callbacks, result, exception);
+        invokeCallbacks(detachContinuations(), result, exception);
+    }
+
+    int getNowInt(int defaultValue) throws ExecutionException {
+        Completion<V> completion = completionNow();
+        return completion != null ? completion.intValue() : defaultValue;
+    }
+
+    long getNowLong(long defaultValue) throws ExecutionException {
+        Completion<V> completion = completionNow();
+        return completion != null ? completion.longValue() : defaultValue;
+    }
+
+    double getNowDouble(double defaultValue) throws ExecutionException {
+        Completion<V> completion = completionNow();
+        return completion != null ? completion.doubleValue() : defaultValue;
+    }
+
+    IntPromise applyInt(Executor executor, final OnFulfilledIntFunction function) {
+        if (executor == null) throw new IllegalArgumentException(mustNotBeNull("executor"));
+        if (function == null) throw new IllegalArgumentException(mustNotBeNull("function"));
+        IntContinuationPromise<V> continuation = new IntContinuationPromise<V>(this, executor) {
+            @Override
+            protected void completeComposed(V result) throws Throwable {
+                completeInt(function.fulfilled(AbstractPromise.this.completion().intValue()));
+            }
+        };
+        registerCallback((Continuation<V>)continuation);
+        return continuation;
+    }
+
+    LongPromise applyLong(Executor executor, final OnFulfilledLongFunction function) {
+        if (executor == null) throw new IllegalArgumentException(mustNotBeNull("executor"));
+        if (function == null) throw new IllegalArgumentException(mustNotBeNull("function"));
+        LongContinuationPromise<V> continuation = new LongContinuationPromise<V>(this, executor) {
+            @Override
+            protected void completeComposed(V result) throws Throwable {
+                completeLong(function.fulfilled(AbstractPromise.this.completion().longValue()));
+            }
+        };
+        registerCallback((Continuation<V>)continuation);
+        return continuation;
+    }
+
+    DoublePromise applyDouble(Executor executor, final OnFulfilledDoubleFunction function) {
+        if (executor == null) throw new IllegalArgumentException(mustNotBeNull("executor"));
+        if (function == null) throw new IllegalArgumentException(mustNotBeNull("function"));
+        DoubleContinuationPromise<V> continuation = new DoubleContinuationPromise<V>(this, executor) {
+            @Override
+            protected void completeComposed(V result) throws Throwable {
+                completeDouble(function.fulfilled(AbstractPromise.this.completion().doubleValue()));
+            }
+        };
+        registerCallback((Continuation<V>)continuation);
+        return continuation;
     }
 
     <V_OUT> Promise<V_OUT> registerCallback(final ContinuationPromise<V, V_OUT> composedFuture) {
@@ -416,28 +499,390 @@ public abstract class AbstractPromise<V> implements Promise<V> {
         return composedFuture;
     }
 
-    private void registerCallback(final Continuation<V> callback) {
-        boolean invokeImmediately = true;
-        if (state == PromiseState.PENDING) {
-            synchronized (lock) {
-                if (state == PromiseState.PENDING) {
-                    invokeImmediately = false;
-                    callbacks.add(callback);
+    @SuppressWarnings("unchecked")
+    void registerCallback(final Continuation<V> callback) {
+        for (;;) {
+            Object current = state;
+            if (current instanceof Completion) {
+                Completion<V> completion = (Completion<V>)current;
+                invokeCallback(callback, completion.result, completion.exception);
+                return;
+            }
+            if (STATE.compareAndSet(this, current, append(current, callback))) {
+                return;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Completion<V> completion() {
+        Object current = state;
+        if (current instanceof Completion) {
+            return (Completion<V>)current;
+        }
+        return null;
+    }
+
+    private Completion<V> completionNow() throws ExecutionException {
+        Completion<V> completion = completion();
+        if (completion != null && completion.state == PromiseState.REJECTED) {
+            if (completion.exception instanceof CancellationException) {
+                throw (CancellationException)completion.exception;
+            }
+            throw new ExecutionException(completion.exception);
+        }
+        return completion;
+    }
+
+    private boolean transition(Completion<V> completion) {
+        for (;;) {
+            Object current = state;
+            if (current instanceof Completion) {
+                return false;
+            }
+            completion.continuations = current;
+            if (STATE.compareAndSet(this, current, completion)) {
+                return true;
+            }
+        }
+    }
+
+    private Object detachContinuations() {
+        Completion<V> completion = completion();
+        if (completion == null) {
+            return null;
+        }
+        Object continuations = completion.continuations;
+        completion.continuations = null;
+        return continuations;
+    }
+
+    private Completion<V> await(boolean timed, long nanos) throws InterruptedException {
+        long deadline = timed ? System.nanoTime() + nanos : 0L;
+        Waiter<V> waiter = null;
+        boolean queued = false;
+        for (;;) {
+            if (Thread.interrupted()) {
+                removeWaiter(waiter);
+                throw new InterruptedException();
+            }
+            Object current = state;
+            if (current instanceof Completion) {
+                return completion();
+            }
+            if (waiter == null) {
+                waiter = new Waiter<V>(Thread.currentThread());
+            }
+            else if (!queued) {
+                queued = STATE.compareAndSet(this, current, append(current, waiter));
+            }
+            else if (timed) {
+                nanos = deadline - System.nanoTime();
+                if (nanos <= 0L) {
+                    removeWaiter(waiter);
+                    return completion();
                 }
+                park(nanos);
+            }
+            else {
+                park(0L);
+            }
+        }
+    }
+
+    private void park(long nanos) throws InterruptedException {
+        if (CommonPool.isForkJoinWorker()) {
+            // allows the pool to compensate for the blocked worker
+            ForkJoinSupport.park(this, nanos);
+        }
+        else if (nanos > 0L) {
+            LockSupport.parkNanos(this, nanos);
+        }
+        else {
+            LockSupport.park(this);
+        }
+    }
+
+    private void removeWaiter(Waiter<V> waiter) {
+        if (waiter == null) {
+            return;
+        }
+        waiter.thread = null;
+        unregisterCallback(waiter);
+    }
+
+    /**
+     * Removes a continuation that no longer needs to be invoked from this pending promise so that it is not retained
+     * until the promise completes.
+     */
+    void unregisterCallback(Continuation<V> callback) {
+        for (;;) {
+            Object current = state;
+            if (current instanceof Completion) {
+                return;
+            }
+            Object removed = remove(current, callback);
+            if (removed == current || STATE.compareAndSet(this, current, removed)) {
+                return;
             }
         }
-        if (invokeImmediately) {
-            invokeCallback(callback, result, exception);
+    }
+
+    private V report(Completion<V> completion) throws ExecutionException {
+        if (completion.state == PromiseState.REJECTED) {
+            throw new ExecutionException(completion.exception);
         }
+        return completion.value();
     }
 
-    private void invokeCallbacks(Iterable<Continuation<V>> callbacks, V result, Throwable exception) {
-        for (Continuation<V> callback : callbacks) {
-            invokeCallback(callback, result, exception);
+    @SuppressWarnings("unchecked")
+    private void invokeCallbacks(Object continuations, V result, Throwable exception) {
+        if (continuations == null) {
+            return;
+        }
+        if (!(continuations instanceof Node)) {
+            if (continuations instanceof ContinuationPromise) {
+                invokeSuccessor((ContinuationPromise<V, ?>)continuations, result, exception);
+            }
+            else {
+                invokeCallback((Continuation<V>)continuations, result, exception);
+            }
+            return;
+        }
+        Object[] array = toArray(continuations);
+        // release any blocked threads before running the continuations
+        for (Object continuation : array) {
+            if (continuation instanceof Waiter) {
+                invokeCallback((Continuation<V>)continuation, result, exception);
+            }
+        }
+        for (Object continuation : array) {
+            if (!(continuation instanceof Waiter)) {
+                invokeCallback((Continuation<V>)continuation, result, exception);
+            }
         }
     }
 
     private void invokeCallback(final Continuation<V> callback, V result, Throwable exception) {
-        callback.completed(this, result, exception);
+        callback.completed(this, box(callback, result, exception), exception);
+    }
+
+    private void invokeSuccessor(final ContinuationPromise<V, ?> successor, V result, Throwable exception) {
+        successor.completedAsSuccessor(this, box(successor, result, exception), exception);
+    }
+
+    private V box(Object callback, V result, Throwable exception) {
+        if (result == null && exception == null && !(callback instanceof PrimitiveContinuation)) {
+            // primitive results are only boxed for continuations that consume the boxed value
+            Completion<V> completion = completion();
+            if (completion != null) {
+                return completion.value();
+            }
+        }
+        return result;
+    }
+
+    private static Object append(Object current, Object continuation) {
+        if (current == null) {
+            return continuation;
+        }
+        return new Node(continuation, current);
+    }
+
+    private static Object remove(Object current, Object continuation) {
+        int index = 0;
+        Object cursor = current;
+        while (cursor instanceof Node && ((Node)cursor).continuation != continuation) {
+            cursor = ((Node)cursor).next;
+            index += 1;
+        }
+        Object rest;
+        if (cursor instanceof Node) {
+            rest = ((Node)cursor).next;
+        }
+        else if (cursor == continuation) {
+            rest = null;
+        }
+        else {
+            return current;
+        }
+        // the nodes above the removed continuation are immutable so they are pushed again onto the rest of the stack
+        Object[] above = new Object[index];
+        cursor = current;
+        for (int i = 0; i < index; i++) {
+            above[i] = ((Node)cursor).continuation;
+            cursor = ((Node)cursor).next;
+        }
+        for (int i = index - 1; i >= 0; i--) {
+            rest = append(rest, above[i]);
+        }
+        return rest;
+    }
+
+    private static Object[] toArray(Object continuations) {
+        int count = 1;
+        for (Object cursor = continuations; cursor instanceof Node; cursor = ((Node)cursor).next) {
+            count += 1;
+        }
+        // the stack holds the most recently registered continuation on top so it is reversed into registration order
+        Object[] array = new Object[count];
+        Object cursor = continuations;
+        for (int i = count - 1; i > 0; i--) {
+            array[i] = ((Node)cursor).continuation;
+            cursor = ((Node)cursor).next;
+        }
+        array[0] = cursor;
+        return array;
+    }
+
+    /**
+     * A continuation pushed onto the stack of continuations of a pending promise, so that registering a continuation
+     * costs one allocation and one compare-and-set however many are registered.  The first continuation is stored
+     * without a node at the bottom of the stack.
+     */
+    private static final class Node {
+        final Object continuation;
+        final Object next;
+
+        Node(Object continuation, Object next) {
+            this.continuation = continuation;
+            this.next = next;
+        }
+    }
+
+    private static final class Waiter<V> implements Continuation<V>, PrimitiveContinuation {
+        volatile Thread thread;
+
+        Waiter(Thread thread) {
+            this.thread = thread;
+        }
+
+        @Override
+        public void completed(Promise<V> promise, V result, Throwable exception) {
+            Thread thread = this.thread;
+            if (thread != null) {
+                this.thread = null;
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    private static class Completion<V> {
+        final PromiseState state;
+        final V result;
+        final Throwable exception;
+        Object continuations;
+
+        Completion(PromiseState state, V result, Throwable exception) {
+            this.state = state;
+            this.result = result;
+            this.exception = exception;
+        }
+
+        V value() {
+            return result;
+        }
+
+        int intValue() {
+            return ((Number)result).intValue();
+        }
+
+        long longValue() {
+            return ((Number)result).longValue();
+        }
+
+        double doubleValue() {
+            return ((Number)result).doubleValue();
+        }
+    }
+
+    private static final class IntCompletion<V> extends Completion<V> {
+        private final int primitive;
+
+        IntCompletion(int primitive) {
+            super(PromiseState.FULFILLED, null, null);
+            this.primitive = primitive;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        V value() {
+            return (V)Integer.valueOf(primitive);
+        }
+
+        @Override
+        int intValue() {
+            return primitive;
+        }
+
+        @Override
+        long longValue() {
+            return primitive;
+        }
+
+        @Override
+        double doubleValue() {
+            return primitive;
+        }
+    }
+
+    private static final class LongCompletion<V> extends Completion<V> {
+        private final long primitive;
+
+        LongCompletion(long primitive) {
+            super(PromiseState.FULFILLED, null, null);
+            this.primitive = primitive;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        V value() {
+            return (V)Long.valueOf(primitive);
+        }
+
+        @Override
+        int intValue() {
+            return (int)primitive;
+        }
+
+        @Override
+        long longValue() {
+            return primitive;
+        }
+
+        @Override
+        double doubleValue() {
+            return primitive;
+        }
+    }
+
+    private static final class DoubleCompletion<V> extends Completion<V> {
+        private final double primitive;
+
+        DoubleCompletion(double primitive) {
+            super(PromiseState.FULFILLED, null, null);
+            this.primitive = primitive;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        V value() {
+            return (V)Double.valueOf(primitive);
+        }
+
+        @Override
+        int intValue() {
+            return (int)primitive;
+        }
+
+        @Override
+        long longValue() {
+            return (long)primitive;
+        }
+
+        @Override
+        double doubleValue() {
+            return primitive;
+        }
     }
 }
@@ -0,0 +1,98 @@
+package org.jpromise;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.jpromise.util.MessageUtil.mustNotBeNull;
+
+/**
+ * A delay which tracks a percentile of the most recently recorded latencies, such as the delay before a hedged attempt
+ * is started by {@link org.jpromise.Promises#hedge(java.util.concurrent.Callable, AdaptiveDelay, int)}.  The latencies
+ * are recorded into a fixed window without locking and the percentile is recalculated after every eighth of the
+ * window, until which the initial delay is used.  Only the latencies written so far are considered, so a slot that a
+ * concurrent recording has claimed but not yet written does not count as a latency of zero.
+ */
+public final class AdaptiveDelay {
+    private static final int DEFAULT_WINDOW_SIZE = 128;
+    private static final double DEFAULT_PERCENTILE = 0.95;
+    private static final long UNSET = -1L;
+
+    private final AtomicLongArray samples;
+    private final AtomicLong recorded = new AtomicLong();
+    private final double percentile;
+    private final int interval;
+    private volatile long delay;
+
+    /**
+     * Creates a new {@link org.jpromise.AdaptiveDelay} that tracks the 95th percentile of the last 128 latencies.
+     * @param initialDelay The delay to use until enough latencies have been recorded.
+     * @param timeUnit The unit of time for the {@code initialDelay} argument.
+     */
+    public AdaptiveDelay(long initialDelay, TimeUnit timeUnit) {
+        this(initialDelay, timeUnit, DEFAULT_WINDOW_SIZE, DEFAULT_PERCENTILE);
+    }
+
+    /**
+     * Creates a new {@link org.jpromise.AdaptiveDelay} that tracks the specified percentile of the most recent
+     * latencies.
+     * @param initialDelay The delay to use until enough latencies have been recorded.
+     * @param timeUnit The unit of time for the {@code initialDelay} argument.
+     * @param windowSize The number of most recent latencies from which the percentile is calculated.
+     * @param percentile The percentile to track, greater than zero and at most one.
+     */
+    public AdaptiveDelay(long initialDelay, TimeUnit timeUnit, int windowSize, double percentile) {
+        if (timeUnit == null) throw new IllegalArgumentException(mustNotBeNull("timeUnit"));
+        if (windowSize < 1) throw new IllegalArgumentException("The window size must be positive.");
+        if (!(percentile > 0.0 && percentile <= 1.0)) throw new IllegalArgumentException("The percentile must be greater than zero and at most one.");
+        this.samples = new AtomicLongArray(windowSize);
+        for (int i = 0; i < windowSize; i++) {
+            samples.set(i, UNSET);
+        }
+        this.percentile = percentile;
+        this.interval = Math.max(1, windowSize / 8);
+        this.delay = Math.max(timeUnit.toNanos(initialDelay), 0L);
+    }
+
+    /**
+     * Records an observed latency.
+     * @param latency The observed latency.
+     * @param timeUnit The unit of time for the {@code latency} argument.
+     */
+    public void record(long latency, TimeUnit timeUnit) {
+        if (timeUnit == null) throw new IllegalArgumentException(mustNotBeNull("timeUnit"));
+        long index = recorded.getAndIncrement();
+        samples.set((int)(index % samples.length()), Math.max(timeUnit.toNanos(latency), 0L));
+        if ((index + 1) % interval == 0) {
+            delay = calculate(Math.min(index + 1, samples.length()));
+        }
+    }
+
+    /**
+     * Returns the current delay.
+     * @param timeUnit The unit of time in which to return the delay.
+     * @return The current delay.
+     */
+    public long delay(TimeUnit timeUnit) {
+        if (timeUnit == null) throw new IllegalArgumentException(mustNotBeNull("timeUnit"));
+        return timeUnit.convert(delay, TimeUnit.NANOSECONDS);
+    }
+
+    private long calculate(long count) {
+        long[] sorted = new long[(int)count];
+        int written = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            long sample = samples.get(i);
+            if (sample != UNSET) {
+                sorted[written++] = sample;
+            }
+        }
+        if (written == 0) {
+            return delay;
+        }
+        Arrays.sort(sorted, 0, written);
+        int rank = (int)Math.ceil(percentile * written) - 1;
+        return sorted[Math.max(rank, 0)];
+    }
+}
@@ -0,0 +1,44 @@
+package org.jpromise;
+
+/**
+ * A {@link org.jpromise.BulkheadPromiseService} whose limit on the number of tasks in flight is adjusted by a
+ * {@link org.jpromise.ConcurrencyLimit} from the round-trip times of the completed tasks, measured from submitting the
+ * task to the decorated service until the promise that it returned completes.  A task that is rejected with a
+ * {@link java.util.concurrent.RejectedExecutionException} or a {@link java.util.concurrent.TimeoutException} is
+ * recorded as dropped and a cancelled task is not recorded.  While the limit is reached the submitted tasks are queued
+ * and dispatched as the limit allows.
+ */
+public class AdaptiveLimitPromiseService extends BulkheadPromiseService {
+    private final ConcurrencyLimit limit;
+
+    /**
+     * Creates a new {@link org.jpromise.AdaptiveLimitPromiseService} decorating the specified
+     * {@link org.jpromise.PromiseService} with an unbounded queue.
+     * @param service The {@link org.jpromise.PromiseService} to which the tasks are submitted.
+     * @param limit The {@link org.jpromise.ConcurrencyLimit} which calculates the number of tasks in flight.
+     */
+    public AdaptiveLimitPromiseService(PromiseService service, ConcurrencyLimit limit) {
+        this(service, limit, Integer.MAX_VALUE, OverflowPolicy.REJECT);
+    }
+
+    /**
+     * Creates a new {@link org.jpromise.AdaptiveLimitPromiseService} decorating the specified
+     * {@link org.jpromise.PromiseService}.
+     * @param service The {@link org.jpromise.PromiseService} to which the tasks are submitted.
+     * @param limit The {@link org.jpromise.ConcurrencyLimit} which calculates the number of tasks in flight.
+     * @param maxQueued The maximum number of tasks waiting for the limit to allow them to be submitted.
+     * @param overflowPolicy Specifies what happens to a task submitted while the queue is full.
+     */
+    public AdaptiveLimitPromiseService(PromiseService service, ConcurrencyLimit limit, int maxQueued, OverflowPolicy overflowPolicy) {
+        super(service, limit, maxQueued, overflowPolicy);
+        this.limit = limit;
+    }
+
+    /**
+     * Returns the current limit on the number of tasks in flight.
+     * @return The current limit.
+     */
+    public int limit() {
+        return limit.limit();
+    }
+}
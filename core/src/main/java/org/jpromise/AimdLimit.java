@@ -0,0 +1,57 @@
+package org.jpromise;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.jpromise.util.MessageUtil.mustNotBeNull;
+
+/**
+ * A {@link org.jpromise.ConcurrencyLimit} which increases additively and decreases multiplicatively, like the
+ * congestion avoidance of TCP.  The limit grows by one per round trip in which the tasks complete in time while at
+ * least half of the limit is in use, and is multiplied by the backoff ratio per round trip in which the tasks are
+ * dropped or their round-trip times exceed the timeout.
+ */
+public final class AimdLimit extends AbstractConcurrencyLimit {
+    private static final double DEFAULT_BACKOFF_RATIO = 0.9;
+
+    private final double backoffRatio;
+    private final long timeout;
+
+    /**
+     * Creates a new {@link org.jpromise.AimdLimit} with a backoff ratio of 0.9.
+     * @param initialLimit The limit before any task has completed.
+     * @param minLimit The lowest limit.
+     * @param maxLimit The highest limit.
+     * @param timeout The round-trip time beyond which a task is treated as dropped.
+     * @param timeUnit The unit of time for the {@code timeout} argument.
+     */
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, long timeout, TimeUnit timeUnit) {
+        this(initialLimit, minLimit, maxLimit, DEFAULT_BACKOFF_RATIO, timeout, timeUnit);
+    }
+
+    /**
+     * Creates a new {@link org.jpromise.AimdLimit}.
+     * @param initialLimit The limit before any task has completed.
+     * @param minLimit The lowest limit.
+     * @param maxLimit The highest limit.
+     * @param backoffRatio The ratio, greater than zero and less than one, by which the limit is multiplied when a task
+     *                     is dropped.
+     * @param timeout The round-trip time beyond which a task is treated as dropped.
+     * @param timeUnit The unit of time for the {@code timeout} argument.
+     */
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long timeout, TimeUnit timeUnit) {
+        super(initialLimit, minLimit, maxLimit);
+        if (timeUnit == null) throw new IllegalArgumentException(mustNotBeNull("timeUnit"));
+        if (!(backoffRatio > 0.0 && backoffRatio < 1.0)) throw new IllegalArgumentException("The backoff ratio must be greater than zero and less than one.");
+        if (timeout <= 0L) throw new IllegalArgumentException("The timeout must be positive.");
+        this.backoffRatio = backoffRatio;
+        this.timeout = timeUnit.toNanos(timeout);
+    }
+
+    @Override
+    double target(double current, long rtt, long minRtt, boolean dropped) {
+        if (dropped || rtt > timeout) {
+            return current * backoffRatio;
+        }
+        return current + 1;
+    }
+}
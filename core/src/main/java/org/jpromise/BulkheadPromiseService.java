@@ -0,0 +1,336 @@
+package org.jpromise;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import static org.jpromise.util.MessageUtil.mustNotBeNull;
+
+/**
+ * A {@link org.jpromise.PromiseService} that decorates another {@link org.jpromise.PromiseService} with a bulkhead
+ * which limits the number of tasks in flight.  A task submitted while the limit is reached is queued and a pending
+ * promise is returned without blocking the submitting thread; the queued tasks are submitted to the decorated service
+ * in order as the tasks in flight complete.  Once the queue is also full the {@link org.jpromise.OverflowPolicy}
+ * decides what happens to the submitted task.  A permit is released when the task in flight is completed, including
+ * when it is cancelled or rejected, and a queued task that is cancelled is removed from the queue.
+ */
+public class BulkheadPromiseService implements PromiseService {
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<BulkheadTask> RELEASED =
+            AtomicIntegerFieldUpdater.newUpdater(BulkheadTask.class, "released");
+
+    private final PromiseService service;
+    private final ConcurrencyLimit limit;
+    private final int maxQueued;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger draining = new AtomicInteger();
+    private final Queue<BulkheadTask<?>> queue = new ConcurrentLinkedQueue<BulkheadTask<?>>();
+
+    /**
+     * Creates a new {@link org.jpromise.BulkheadPromiseService} decorating the specified
+     * {@link org.jpromise.PromiseService}.
+     * @param service The {@link org.jpromise.PromiseService} to which the tasks are submitted.
+     * @param maxInFlight The maximum number of tasks in flight.
+     * @param maxQueued The maximum number of tasks waiting for a task in flight to complete.
+     * @param overflowPolicy Specifies what happens to a task submitted while the queue is full.
+     */
+    public BulkheadPromiseService(PromiseService service, int maxInFlight, int maxQueued, OverflowPolicy overflowPolicy) {
+        this(service, new FixedLimit(maxInFlight), maxQueued, overflowPolicy);
+    }
+
+    BulkheadPromiseService(PromiseService service, ConcurrencyLimit limit, int maxQueued, OverflowPolicy overflowPolicy) {
+        if (service == null) throw new NullPointerException(mustNotBeNull("service"));
+        if (limit == null) throw new NullPointerException(mustNotBeNull("limit"));
+        if (overflowPolicy == null) throw new NullPointerException(mustNotBeNull("overflowPolicy"));
+        if (maxQueued < 0) throw new IllegalArgumentException("The maximum number of queued tasks must not be negative.");
+        this.service = service;
+        this.limit = limit;
+        this.maxQueued = maxQueued;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Returns the number of tasks in flight.
+     * @return The number of tasks in flight.
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Returns the number of tasks waiting for a task in flight to complete.
+     * @return The number of queued tasks.
+     */
+    public int queueDepth() {
+        return queued.get();
+    }
+
+    /**
+     * Submits a value-returning task to the decorated service once a permit is available.  If the queue is full and
+     * the {@link org.jpromise.OverflowPolicy} is {@link org.jpromise.OverflowPolicy#CALLER_RUNS} the task is instead
+     * run synchronously within this call, on the submitting thread and outside of the in-flight limit, so a thread that
+     * must not block, such as a timer thread, should not submit to such a bulkhead.
+     * @param task The task to submit.
+     * @param <V> The type of the task's result.
+     * @return A promise that will be resolved when the task is completed.
+     */
+    @Override
+    public <V> Promise<V> submit(Callable<V> task) {
+        if (task == null) throw new NullPointerException(mustNotBeNull("task"));
+        return schedule(new BulkheadTask<V>(this, task));
+    }
+
+    /**
+     * Submits a task to the decorated service once a permit is available.  If the queue is full and the
+     * {@link org.jpromise.OverflowPolicy} is {@link org.jpromise.OverflowPolicy#CALLER_RUNS} the task is instead run
+     * synchronously within this call, on the submitting thread and outside of the in-flight limit.
+     * @param task The task to submit.
+     * @param result The result with which the returned promise is fulfilled when the task is completed.
+     * @param <V> The type of the result.
+     * @return A promise that will be resolved when the task is completed.
+     */
+    @Override
+    public <V> Promise<V> submit(Runnable task, V result) {
+        if (task == null) throw new NullPointerException(mustNotBeNull("task"));
+        return schedule(new BulkheadTask<V>(this, Executors.callable(task, result)));
+    }
+
+    /**
+     * Submits a task to the decorated service once a permit is available.  If the queue is full and the
+     * {@link org.jpromise.OverflowPolicy} is {@link org.jpromise.OverflowPolicy#CALLER_RUNS} the task is instead run
+     * synchronously within this call, on the submitting thread and outside of the in-flight limit.
+     * @param task The task to submit.
+     * @return A promise that will be resolved when the task is completed.
+     */
+    @Override
+    public Promise<Void> submit(Runnable task) {
+        return submit(task, null);
+    }
+
+    private <V> Promise<V> schedule(BulkheadTask<V> task) {
+        if (tryAcquire()) {
+            task.dispatch();
+            return task;
+        }
+        if (!enqueue(task)) {
+            return task;
+        }
+        // a task in flight may have completed between failing to acquire a permit and enqueuing
+        drain();
+        return task;
+    }
+
+    private boolean enqueue(BulkheadTask<?> task) {
+        for (;;) {
+            int current = queued.get();
+            if (current < maxQueued) {
+                if (queued.compareAndSet(current, current + 1)) {
+                    queue.offer(task);
+                    return true;
+                }
+                continue;
+            }
+            switch (overflowPolicy) {
+                case SHED_OLDEST:
+                    BulkheadTask<?> oldest = queue.poll();
+                    if (oldest == null) {
+                        if (maxQueued == 0) {
+                            task.reject();
+                            return false;
+                        }
+                        continue;
+                    }
+                    // the slot of the shed task is handed to the submitted task so the count is not changed
+                    oldest.reject();
+                    queue.offer(task);
+                    return true;
+                case CALLER_RUNS:
+                    task.runInline();
+                    return false;
+                default:
+                    task.reject();
+                    return false;
+            }
+        }
+    }
+
+    private boolean tryAcquire() {
+        for (;;) {
+            int current = inFlight.get();
+            if (current >= limit.limit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // the source of the round-trip times, which a simulation may replace with a virtual clock
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+    private void record(long dispatchedAt, Throwable exception) {
+        if (exception instanceof CancellationException) {
+            return;
+        }
+        boolean dropped = exception instanceof TimeoutException || exception instanceof RejectedExecutionException;
+        limit.record(nanoTime() - dispatchedAt, TimeUnit.NANOSECONDS, inFlight.get(), dropped);
+    }
+
+    private void release() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    /**
+     * Dispatches the queued tasks while permits are available.  Only one thread drains at a time and a request to drain
+     * while it does makes it loop again, so a decorated service that completes the tasks synchronously does not
+     * recurse through the queue.
+     */
+    private void drain() {
+        if (draining.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            while (!queue.isEmpty() && tryAcquire()) {
+                BulkheadTask<?> task = queue.poll();
+                if (task == null) {
+                    inFlight.decrementAndGet();
+                    continue;
+                }
+                queued.decrementAndGet();
+                if (task.isDone()) {
+                    inFlight.decrementAndGet();
+                    continue;
+                }
+                task.dispatch();
+            }
+            missed = draining.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void dequeued(BulkheadTask<?> task) {
+        if (queue.remove(task)) {
+            queued.decrementAndGet();
+        }
+    }
+
+    private static final class FixedLimit implements ConcurrencyLimit {
+        private final int limit;
+
+        FixedLimit(int limit) {
+            if (limit < 1) throw new IllegalArgumentException("The maximum number of tasks in flight must be positive.");
+            this.limit = limit;
+        }
+
+        @Override
+        public int limit() {
+            return limit;
+        }
+
+        @Override
+        public void record(long rtt, TimeUnit timeUnit, int inFlight, boolean dropped) { }
+    }
+
+    /**
+     * The promise returned for a submitted task, which mirrors the promise returned by the decorated service once the
+     * task is dispatched and releases its permit exactly once.
+     */
+    private static final class BulkheadTask<V> extends AbstractPromise<V> implements Continuation<V> {
+        private final BulkheadPromiseService bulkhead;
+        private final Callable<V> task;
+        private volatile Promise<V> dispatched;
+        private long dispatchedAt;
+        volatile int released;
+
+        BulkheadTask(BulkheadPromiseService bulkhead, Callable<V> task) {
+            this.bulkhead = bulkhead;
+            this.task = task;
+        }
+
+        void dispatch() {
+            Promise<V> promise;
+            dispatchedAt = bulkhead.nanoTime();
+            try {
+                promise = bulkhead.service.submit(task);
+            }
+            catch (Throwable exception) {
+                completeWithException(exception);
+                releasePermit();
+                return;
+            }
+            dispatched = promise;
+            if (isDone()) {
+                // cancelled while being dispatched
+                promise.cancel(true);
+            }
+            if (promise instanceof AbstractPromise) {
+                ((AbstractPromise<V>)promise).registerCallback(this);
+            }
+            else {
+                promise.whenCompleted(PromiseExecutors.CURRENT_THREAD, this);
+            }
+        }
+
+        void runInline() {
+            try {
+                complete(task.call());
+            }
+            catch (Throwable exception) {
+                completeWithException(exception);
+            }
+        }
+
+        void reject() {
+            completeWithException(new RejectedExecutionException("The bulkhead is full."));
+        }
+
+        @Override
+        public void completed(Promise<V> promise, V result, Throwable exception) {
+            if (exception != null) {
+                completeWithException(exception);
+            }
+            else {
+                complete(result);
+            }
+            if (RELEASED.get(this) == 0) {
+                bulkhead.record(dispatchedAt, exception);
+            }
+            releasePermit();
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (!super.cancel(mayInterruptIfRunning)) {
+                return false;
+            }
+            Promise<V> dispatched = this.dispatched;
+            if (dispatched != null) {
+                dispatched.cancel(mayInterruptIfRunning);
+                releasePermit();
+            }
+            else {
+                bulkhead.dequeued(this);
+            }
+            return true;
+        }
+
+        private void releasePermit() {
+            if (RELEASED.compareAndSet(this, 0, 1)) {
+                bulkhead.release();
+            }
+        }
+    }
+}
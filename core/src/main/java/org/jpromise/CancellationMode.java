@@ -0,0 +1,48 @@
+package org.jpromise;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Specifies whether the remaining promises passed to a {@link org.jpromise.PromiseManager} operation are cancelled
+ * once the outcome of the operation has been decided, such as after the first rejection of
+ * {@link org.jpromise.PromiseManager#whenAllFulfilled(CancellationMode, Iterable)} or the first completion of
+ * {@link org.jpromise.PromiseManager#whenAnyCompleted(CancellationMode, Iterable)}.
+ */
+public enum CancellationMode {
+    /**
+     * Specifies that the remaining promises are left to complete.
+     */
+    NONE,
+    /**
+     * Specifies that the remaining promises are cancelled without interrupting running operations.
+     */
+    CANCEL,
+    /**
+     * Specifies that the remaining promises are cancelled and that running operations may be interrupted.
+     */
+    INTERRUPT;
+
+    <V> Iterable<? extends Promise<V>> snapshot(Iterable<? extends Promise<V>> promises) {
+        if (this == NONE || promises == null) {
+            return promises;
+        }
+        List<Promise<V>> list = new ArrayList<Promise<V>>();
+        for (Promise<V> promise : promises) {
+            list.add(promise);
+        }
+        return list;
+    }
+
+    void cancel(Iterable<? extends Promise<?>> promises) {
+        if (this == NONE) {
+            return;
+        }
+        boolean mayInterruptIfRunning = this == INTERRUPT;
+        for (Promise<?> promise : promises) {
+            if (promise != null && !promise.isDone()) {
+                promise.cancel(mayInterruptIfRunning);
+            }
+        }
+    }
+}
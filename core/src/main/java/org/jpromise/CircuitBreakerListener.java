@@ -0,0 +1,27 @@
+package org.jpromise;
+
+/**
+ * Receives the events of a {@link org.jpromise.CircuitBreakerPromiseService}, such as to report them as metrics.  The
+ * methods are invoked on the thread that submitted or completed the task and should not block.
+ */
+public interface CircuitBreakerListener {
+    /**
+     * Invoked when the circuit breaker changes state.
+     * @param previous The previous state.
+     * @param current The new state.
+     */
+    void stateChanged(CircuitBreakerState previous, CircuitBreakerState current);
+
+    /**
+     * Invoked when the outcome of an executed task is recorded.
+     * @param failed Whether the task was rejected.
+     * @param failureRate The failure rate over the sliding window after recording the outcome.
+     */
+    void outcomeRecorded(boolean failed, double failureRate);
+
+    /**
+     * Invoked when a submitted task is rejected without being executed.
+     * @param state The state of the circuit breaker that rejected the task.
+     */
+    void callRejected(CircuitBreakerState state);
+}
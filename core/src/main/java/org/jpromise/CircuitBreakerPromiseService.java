@@ -0,0 +1,319 @@
+package org.jpromise;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.jpromise.util.MessageUtil.mustNotBeNull;
+
+/**
+ * A {@link org.jpromise.PromiseService} that decorates another {@link org.jpromise.PromiseService} with a circuit
+ * breaker.  The outcomes of the executed tasks are recorded into a sliding window of the most recent outcomes and once
+ * the window is full and the failure rate reaches the threshold the circuit opens.  While the circuit is open the
+ * submitted tasks are immediately rejected with a {@link java.util.concurrent.RejectedExecutionException} without
+ * being submitted to the decorated service.  Once the open duration has elapsed the circuit becomes half-open and
+ * admits a limited number of tasks as probes, closing the circuit if all of them are fulfilled or opening it again as
+ * soon as one of them is rejected.  Cancelled tasks are not recorded, and neither is the outcome of a task admitted
+ * before the circuit last changed state, so that a slow task of the closed circuit cannot reopen the circuit or use up
+ * the probes once it is half-open.  A task that the decorated service fails to accept by throwing is returned as a
+ * rejected promise and recorded as a failed outcome.
+ */
+public class CircuitBreakerPromiseService implements PromiseService {
+    private static final CircuitBreakerListener NO_LISTENER = new CircuitBreakerListener() {
+        @Override
+        public void stateChanged(CircuitBreakerState previous, CircuitBreakerState current) { }
+
+        @Override
+        public void outcomeRecorded(boolean failed, double failureRate) { }
+
+        @Override
+        public void callRejected(CircuitBreakerState state) { }
+    };
+
+    private final PromiseService service;
+    private final OutcomeWindow window;
+    private final double failureRateThreshold;
+    private final long openDuration;
+    private final int halfOpenProbes;
+    private final CircuitBreakerListener listener;
+    private final AtomicReference<Generation> generation = new AtomicReference<Generation>(new Generation(CircuitBreakerState.CLOSED, 0L, 0));
+
+    /**
+     * Creates a new {@link org.jpromise.CircuitBreakerPromiseService} decorating the specified
+     * {@link org.jpromise.PromiseService}.
+     * @param service The {@link org.jpromise.PromiseService} to which the tasks are submitted while the circuit is not
+     *                open.
+     * @param windowSize The number of most recent outcomes over which the failure rate is calculated.
+     * @param failureRateThreshold The failure rate, greater than zero and at most one, at which the circuit opens.
+     * @param openDuration The amount of time that the circuit stays open before admitting probes.
+     * @param timeUnit The unit of time for the {@code openDuration} argument.
+     * @param halfOpenProbes The number of tasks admitted while the circuit is half-open.
+     */
+    public CircuitBreakerPromiseService(PromiseService service, int windowSize, double failureRateThreshold, long openDuration, TimeUnit timeUnit, int halfOpenProbes) {
+        this(service, windowSize, failureRateThreshold, openDuration, timeUnit, halfOpenProbes, NO_LISTENER);
+    }
+
+    /**
+     * Creates a new {@link org.jpromise.CircuitBreakerPromiseService} decorating the specified
+     * {@link org.jpromise.PromiseService} which reports its events to the specified
+     * {@link org.jpromise.CircuitBreakerListener}.
+     * @param service The {@link org.jpromise.PromiseService} to which the tasks are submitted while the circuit is not
+     *                open.
+     * @param windowSize The number of most recent outcomes over which the failure rate is calculated.
+     * @param failureRateThreshold The failure rate, greater than zero and at most one, at which the circuit opens.
+     * @param openDuration The amount of time that the circuit stays open before admitting probes.
+     * @param timeUnit The unit of time for the {@code openDuration} argument.
+     * @param halfOpenProbes The number of tasks admitted while the circuit is half-open.
+     * @param listener The listener which receives the events of the circuit breaker.
+     */
+    public CircuitBreakerPromiseService(PromiseService service, int windowSize, double failureRateThreshold, long openDuration, TimeUnit timeUnit, int halfOpenProbes, CircuitBreakerListener listener) {
+        if (service == null) throw new NullPointerException(mustNotBeNull("service"));
+        if (timeUnit == null) throw new NullPointerException(mustNotBeNull("timeUnit"));
+        if (listener == null) throw new NullPointerException(mustNotBeNull("listener"));
+        if (windowSize < 1) throw new IllegalArgumentException("The window size must be positive.");
+        if (!(failureRateThreshold > 0.0 && failureRateThreshold <= 1.0)) throw new IllegalArgumentException("The failure rate threshold must be greater than zero and at most one.");
+        if (halfOpenProbes < 1) throw new IllegalArgumentException("The number of half-open probes must be positive.");
+        this.service = service;
+        this.window = new OutcomeWindow(windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDuration = Math.max(timeUnit.toNanos(openDuration), 0L);
+        this.halfOpenProbes = halfOpenProbes;
+        this.listener = listener;
+    }
+
+    /**
+     * Returns the current state of the circuit breaker.
+     * @return The current state.
+     */
+    public CircuitBreakerState state() {
+        return generation.get().state;
+    }
+
+    /**
+     * Returns the failure rate over the sliding window of the most recent outcomes.
+     * @return The failure rate between zero and one.
+     */
+    public double failureRate() {
+        return window.failureRate();
+    }
+
+    @Override
+    public <V> Promise<V> submit(Callable<V> task) {
+        if (task == null) throw new NullPointerException(mustNotBeNull("task"));
+        Generation admitted = admit();
+        if (admitted == null) {
+            return rejected();
+        }
+        Promise<V> promise;
+        try {
+            promise = service.submit(task);
+        }
+        catch (Throwable exception) {
+            // recorded as a failed outcome so that the probe taken by a task that could not be submitted is not lost
+            promise = Promises.rejected(exception);
+        }
+        return record(promise, admitted);
+    }
+
+    @Override
+    public <V> Promise<V> submit(Runnable task, V result) {
+        if (task == null) throw new NullPointerException(mustNotBeNull("task"));
+        Generation admitted = admit();
+        if (admitted == null) {
+            return rejected();
+        }
+        Promise<V> promise;
+        try {
+            promise = service.submit(task, result);
+        }
+        catch (Throwable exception) {
+            promise = Promises.rejected(exception);
+        }
+        return record(promise, admitted);
+    }
+
+    @Override
+    public Promise<Void> submit(Runnable task) {
+        return submit(task, null);
+    }
+
+    /**
+     * Returns the generation in which the task is admitted, or {@code null} if it is rejected.
+     */
+    private Generation admit() {
+        for (;;) {
+            Generation current = generation.get();
+            switch (current.state) {
+                case CLOSED:
+                    return current;
+                case OPEN:
+                    if (System.nanoTime() - current.openedAt < openDuration) {
+                        listener.callRejected(current.state);
+                        return null;
+                    }
+                    transition(current, new Generation(CircuitBreakerState.HALF_OPEN, 0L, halfOpenProbes));
+                    break;
+                case HALF_OPEN:
+                    int available = current.probesAvailable.get();
+                    if (available <= 0) {
+                        listener.callRejected(current.state);
+                        return null;
+                    }
+                    if (current.probesAvailable.compareAndSet(available, available - 1)) {
+                        return current;
+                    }
+                    break;
+            }
+        }
+    }
+
+    private <V> Promise<V> rejected() {
+        return Promises.rejected(new RejectedExecutionException("The circuit breaker is open."));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V> Promise<V> record(Promise<V> promise, Generation admitted) {
+        if (promise instanceof AbstractPromise) {
+            ((AbstractPromise<Object>)promise).registerCallback(admitted);
+        }
+        else {
+            ((Promise<Object>)promise).whenCompleted(PromiseExecutors.CURRENT_THREAD, admitted);
+        }
+        return promise;
+    }
+
+    private void callCompleted(Generation admitted, Throwable exception) {
+        if (exception instanceof CancellationException || generation.get() != admitted) {
+            return;
+        }
+        boolean failed = exception != null;
+        window.record(failed);
+        double failureRate = window.failureRate();
+        listener.outcomeRecorded(failed, failureRate);
+        if (failed && window.isFull() && failureRate >= failureRateThreshold) {
+            open(admitted);
+        }
+    }
+
+    private void probeCompleted(Generation admitted, Throwable exception) {
+        if (exception instanceof CancellationException) {
+            admitted.probesAvailable.incrementAndGet();
+            return;
+        }
+        if (generation.get() != admitted) {
+            return;
+        }
+        boolean failed = exception != null;
+        listener.outcomeRecorded(failed, window.failureRate());
+        if (failed) {
+            open(admitted);
+        }
+        else if (admitted.probesFulfilled.incrementAndGet() >= halfOpenProbes) {
+            // nothing is recorded into the window while the circuit is half-open, so resetting it before the
+            // transition does not lose any outcome of the closed circuit
+            window.reset();
+            transition(admitted, new Generation(CircuitBreakerState.CLOSED, 0L, 0));
+        }
+    }
+
+    private void open(Generation expected) {
+        transition(expected, new Generation(CircuitBreakerState.OPEN, System.nanoTime(), 0));
+    }
+
+    private void transition(Generation expected, Generation updated) {
+        if (generation.compareAndSet(expected, updated)) {
+            listener.stateChanged(expected.state, updated.state);
+        }
+    }
+
+    /**
+     * A state that the circuit has entered, which is replaced by a new generation whenever the circuit changes state.
+     * The generation in which a task was admitted is the continuation registered on it, so an outcome is only recorded
+     * if the circuit has not changed state since.
+     */
+    private final class Generation implements Continuation<Object> {
+        final CircuitBreakerState state;
+        final long openedAt;
+        final AtomicInteger probesAvailable;
+        final AtomicInteger probesFulfilled = new AtomicInteger();
+
+        Generation(CircuitBreakerState state, long openedAt, int probes) {
+            this.state = state;
+            this.openedAt = openedAt;
+            this.probesAvailable = new AtomicInteger(probes);
+        }
+
+        @Override
+        public void completed(Promise<Object> promise, Object result, Throwable exception) {
+            if (state == CircuitBreakerState.HALF_OPEN) {
+                probeCompleted(this, exception);
+            }
+            else {
+                callCompleted(this, exception);
+            }
+        }
+    }
+
+    /**
+     * Records the most recent outcomes into a ring without locking.  Each record replaces the oldest slot and adjusts
+     * the counts by the outcome it replaced, so the counts always agree with the slots once the writers are done.
+     */
+    private static final class OutcomeWindow {
+        private static final int EMPTY = 0;
+        private static final int SUCCESS = 1;
+        private static final int FAILURE = 2;
+
+        private final AtomicIntegerArray outcomes;
+        private final AtomicLong index = new AtomicLong();
+        private final AtomicInteger recorded = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        OutcomeWindow(int size) {
+            this.outcomes = new AtomicIntegerArray(size);
+        }
+
+        void record(boolean failed) {
+            int slot = (int)(index.getAndIncrement() % outcomes.length());
+            replace(slot, failed ? FAILURE : SUCCESS);
+        }
+
+        void reset() {
+            for (int slot = 0; slot < outcomes.length(); slot++) {
+                replace(slot, EMPTY);
+            }
+        }
+
+        private void replace(int slot, int outcome) {
+            int previous = outcomes.getAndSet(slot, outcome);
+            if (previous == EMPTY && outcome != EMPTY) {
+                recorded.incrementAndGet();
+            }
+            else if (previous != EMPTY && outcome == EMPTY) {
+                recorded.decrementAndGet();
+            }
+            if (previous == FAILURE) {
+                failures.decrementAndGet();
+            }
+            if (outcome == FAILURE) {
+                failures.incrementAndGet();
+            }
+        }
+
+        boolean isFull() {
+            return recorded.get() >= outcomes.length();
+        }
+
+        double failureRate() {
+            int recorded = this.recorded.get();
+            if (recorded <= 0) {
+                return 0.0;
+            }
+            return Math.min(1.0, Math.max(0.0, (double)failures.get() / recorded));
+        }
+    }
+}
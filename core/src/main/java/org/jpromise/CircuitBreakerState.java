@@ -0,0 +1,19 @@
+package org.jpromise;
+
+/**
+ * Indicates the current state of a {@link org.jpromise.CircuitBreakerPromiseService}.
+ */
+public enum CircuitBreakerState {
+    /**
+     * Specifies that the submitted tasks are executed and their outcomes are recorded.
+     */
+    CLOSED,
+    /**
+     * Specifies that the submitted tasks are rejected immediately without being executed.
+     */
+    OPEN,
+    /**
+     * Specifies that a limited number of submitted tasks are executed as probes to decide whether to close the circuit.
+     */
+    HALF_OPEN
+}
@@ -0,0 +1,57 @@
+package org.jpromise;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Locale.ENGLISH;
+
+/**
+ * Creates the bounded pool backing {@link org.jpromise.PromiseExecutors#COMMON_POOL}.  A work-stealing
+ * {@link java.util.concurrent.ForkJoinPool} is used when the runtime provides one, otherwise a fixed-size
+ * {@link java.util.concurrent.ThreadPoolExecutor}.
+ */
+final class CommonPool {
+    private CommonPool() {
+        throw new IllegalStateException();
+    }
+
+    private static final boolean FORK_JOIN_AVAILABLE = isForkJoinAvailable();
+
+    static Executor create() {
+        int parallelism = Integer.getInteger(PromiseExecutors.COMMON_POOL_PARALLELISM_KEY,
+                Runtime.getRuntime().availableProcessors());
+        parallelism = Math.max(parallelism, 1);
+        String queue = System.getProperty(PromiseExecutors.COMMON_POOL_QUEUE_KEY, PromiseExecutors.FIFO_QUEUE_KEY);
+        boolean asyncMode = !PromiseExecutors.LIFO_QUEUE_KEY.equals(queue.toLowerCase(ENGLISH));
+        if (FORK_JOIN_AVAILABLE) {
+            return ForkJoinSupport.newPool(parallelism, asyncMode, "jpromise-common-pool-");
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            private final AtomicInteger counter = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "jpromise-common-pool-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    static boolean isForkJoinWorker() {
+        return FORK_JOIN_AVAILABLE && ForkJoinSupport.isWorkerThread();
+    }
+
+    private static boolean isForkJoinAvailable() {
+        try {
+            Class.forName("java.util.concurrent.ForkJoinPool");
+            return true;
+        }
+        catch (Throwable ignored) {
+            return false;
+        }
+    }
+}
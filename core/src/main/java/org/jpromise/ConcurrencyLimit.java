@@ -0,0 +1,28 @@
+package org.jpromise;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calculates the number of tasks that an {@link org.jpromise.AdaptiveLimitPromiseService} allows in flight from the
+ * round-trip times of the tasks that it has completed.  Implementations are called concurrently from the threads that
+ * complete the tasks and must be thread-safe.
+ * @see org.jpromise.AimdLimit
+ * @see org.jpromise.VegasLimit
+ * @see org.jpromise.GradientLimit
+ */
+public interface ConcurrencyLimit {
+    /**
+     * Returns the current limit.
+     * @return The maximum number of tasks in flight.
+     */
+    int limit();
+
+    /**
+     * Records the outcome of a completed task.
+     * @param rtt The time from submitting the task to the decorated service until it completed.
+     * @param timeUnit The unit of time for the {@code rtt} argument.
+     * @param inFlight The number of tasks in flight when the task completed, including the task itself.
+     * @param dropped Whether the task was rejected or timed out, which signals that the limit has been exceeded.
+     */
+    void record(long rtt, TimeUnit timeUnit, int inFlight, boolean dropped);
+}
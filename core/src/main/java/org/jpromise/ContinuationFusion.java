@@ -0,0 +1,111 @@
+package org.jpromise;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+
+/**
+ * Tracks the {@link java.util.concurrent.Executor} whose task is running on the current thread and the promise that
+ * the running stage completes, so that the only continuation of that promise can be run within the same task instead
+ * of being dispatched through the executor again when it targets the same executor.  Fused continuations are queued
+ * and drained iteratively once the current stage returns so that the stack depth of the task remains constant
+ * regardless of the length of the chain.  Any other continuation, such as a sibling registered on the same promise or
+ * a dependent of another promise completed by the stage, is dispatched normally so that it may run in parallel and a
+ * stage may block on it.
+ * <p>
+ * A synchronous executor such as {@link org.jpromise.PromiseExecutors#CURRENT_THREAD} runs a dispatched continuation
+ * within the call that completed its promise, which nests another frame.  Beyond a fixed nesting depth the
+ * continuation is instead queued on the outermost frame of that executor, trampolining the stack, at the cost of
+ * running after the call that completed its promise returns.
+ */
+final class ContinuationFusion {
+    private ContinuationFusion() {
+        throw new IllegalStateException();
+    }
+
+    private static final int MAX_INLINE_DEPTH = 32;
+
+    interface Stage {
+        /**
+         * The promise that the stage completes.
+         */
+        Object promise();
+
+        void invoke();
+    }
+
+    private static final ThreadLocal<Frame> FRAME = new ThreadLocal<Frame>();
+
+    private static final class Frame {
+        final Executor executor;
+        final Frame previous;
+        final int depth;
+        Object owner;
+        ArrayDeque<Stage> queue;
+
+        Frame(Executor executor, Frame previous) {
+            this.executor = executor;
+            this.previous = previous;
+            this.depth = previous != null ? previous.depth + 1 : 1;
+        }
+
+        void offer(Stage stage) {
+            if (queue == null) {
+                queue = new ArrayDeque<Stage>();
+            }
+            queue.offer(stage);
+        }
+    }
+
+    /**
+     * Queues the stage to run within a task of the specified executor running on the current thread, either because
+     * it is the only continuation of the promise completed by the running stage or because the synchronous frames on
+     * the current thread are nested too deeply.
+     * @param completed The promise whose only continuation is the stage, or {@code null} if it has others.
+     * @return {@code true} if the stage was queued; otherwise, {@code false} and the stage must be dispatched.
+     */
+    static boolean fuse(Executor executor, Object completed, Stage stage) {
+        Frame frame = FRAME.get();
+        if (frame == null) {
+            return false;
+        }
+        if (completed != null && frame.owner == completed && frame.executor == executor) {
+            frame.offer(stage);
+            return true;
+        }
+        if (frame.depth < MAX_INLINE_DEPTH) {
+            return false;
+        }
+        // preferring the outermost frame so that alternating executors do not nest frames
+        Frame outermost = null;
+        for (Frame current = frame; current != null; current = current.previous) {
+            if (current.executor == executor) {
+                outermost = current;
+            }
+        }
+        if (outermost == null) {
+            return false;
+        }
+        outermost.offer(stage);
+        return true;
+    }
+
+    /**
+     * Runs the stage as a task of the specified executor followed by any stages fused into it.
+     */
+    static void run(Executor executor, Stage stage) {
+        Frame previous = FRAME.get();
+        Frame frame = new Frame(executor, previous);
+        FRAME.set(frame);
+        try {
+            do {
+                frame.owner = stage.promise();
+                stage.invoke();
+            }
+            while (frame.queue != null && (stage = frame.queue.poll()) != null);
+        }
+        finally {
+            // restoring null rather than removing keeps the thread's map entry so the next task does not allocate one
+            FRAME.set(previous);
+        }
+    }
+}
@@ -9,9 +9,9 @@ import java.util.concurrent.Future;
 abstract class ContinuationPromise<V_IN, V_OUT> extends AbstractPromise<V_OUT> implements Continuation<V_IN> {
     private final Executor executor;
     private final PromiseContinuationListener callback;
-    private Promise<V_OUT> composed;
-    private Thread callbackThread;
-    private boolean cancelled;
+    private volatile Promise<V_OUT> composed;
+    private volatile Thread callbackThread;
+    private volatile boolean cancelled;
 
     protected ContinuationPromise(Promise<V_IN> promise, Executor executor) {
         this.executor = executor;
@@ -19,42 +19,57 @@ abstract class ContinuationPromise<V_IN, V_OUT> extends AbstractPromise<V_OUT> i
     }
 
     @Override
-    public final void completed(final Promise<V_IN> promise, final V_IN result, final Throwable exception) {
+    public final void completed(Promise<V_IN> promise, V_IN result, Throwable exception) {
+        dispatch(promise, result, exception, false);
+    }
+
+    /**
+     * Invoked instead of {@link #completed} when this is the only continuation of the completed promise, which allows
+     * it to be fused into the stage that completed the promise.
+     */
+    final void completedAsSuccessor(Promise<V_IN> promise, V_IN result, Throwable exception) {
+        dispatch(promise, result, exception, true);
+    }
+
+    private void dispatch(Promise<V_IN> promise, V_IN result, Throwable exception, boolean successor) {
         if (cancelled) {
             return;
         }
+        Stage stage = new Stage(promise, result, exception);
+        if (ContinuationFusion.fuse(executor, successor ? promise : null, stage)) {
+            return;
+        }
         try {
-            executor.execute(new Runnable() {
-                @Override
-                public void run() {
-                    if (cancelled) {
-                        return;
-                    }
-                    PromiseContinuationCompletion completion = callback.invokingContinuation(promise, ContinuationPromise.this, result, exception);
-                    try {
-                        callbackThread = Thread.currentThread();
-                        switch (promise.state()) {
-                            case FULFILLED:
-                                completeComposed(result);
-                                break;
-                            case REJECTED:
-                                completeComposedWithException(exception);
-                                break;
-                        }
-                    }
-                    catch (Throwable thrown) {
-                        completeWithException(thrown);
-                    }
-                    finally {
-                        completion.completed(promise, ContinuationPromise.this, result, exception);
-                        callbackThread = null;
-                    }
-                }
-            });
+            executor.execute(stage);
+        }
+        catch (Throwable thrown) {
+            completeWithException(thrown);
+        }
+    }
+
+    private void invoke(Promise<V_IN> promise, V_IN result, Throwable exception) {
+        if (cancelled) {
+            return;
+        }
+        PromiseContinuationCompletion completion = callback.invokingContinuation(promise, this, result, exception);
+        try {
+            callbackThread = Thread.currentThread();
+            switch (promise.state()) {
+                case FULFILLED:
+                    completeComposed(result);
+                    break;
+                case REJECTED:
+                    completeComposedWithException(exception);
+                    break;
+            }
         }
         catch (Throwable thrown) {
             completeWithException(thrown);
         }
+        finally {
+            completion.completed(promise, this, result, exception);
+            callbackThread = null;
+        }
     }
 
     @Override
@@ -112,7 +127,13 @@ abstract class ContinuationPromise<V_IN, V_OUT> extends AbstractPromise<V_OUT> i
             }
         }
         else {
+            // published before re-checking cancelled so that a racing cancel either sees the composed promise or
+            // is seen here
             composed = promise;
+            if (cancelled) {
+                promise.cancel(false);
+                return;
+            }
             promise.whenCompleted(this.executor, new OnCompleted<V_OUT>() {
                 @Override
                 public void completed(Promise<V_OUT> promise, V_OUT result, Throwable exception) throws Throwable {
@@ -131,4 +152,31 @@ abstract class ContinuationPromise<V_IN, V_OUT> extends AbstractPromise<V_OUT> i
             });
         }
     }
+
+    private final class Stage implements Runnable, ContinuationFusion.Stage {
+        private final Promise<V_IN> promise;
+        private final V_IN result;
+        private final Throwable exception;
+
+        Stage(Promise<V_IN> promise, V_IN result, Throwable exception) {
+            this.promise = promise;
+            this.result = result;
+            this.exception = exception;
+        }
+
+        @Override
+        public void run() {
+            ContinuationFusion.run(executor, this);
+        }
+
+        @Override
+        public Object promise() {
+            return ContinuationPromise.this;
+        }
+
+        @Override
+        public void invoke() {
+            ContinuationPromise.this.invoke(promise, result, exception);
+        }
+    }
 }
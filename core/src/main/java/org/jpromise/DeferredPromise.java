@@ -1,7 +1,7 @@
 package org.jpromise;
 
 class DeferredPromise<V> implements Deferred<V> {
-    private final AbstractPromise<V> promise = new AbstractPromise<V>() { };
+    private final DeferredAbstractPromise<V> promise = new DeferredAbstractPromise<V>();
 
     @Override
     public boolean fulfill(V result) {
@@ -17,4 +17,6 @@ class DeferredPromise<V> implements Deferred<V> {
     public Promise<V> promise() {
         return promise;
     }
-}
\ No newline at end of file
+
+    static class DeferredAbstractPromise<V> extends AbstractPromise<V> { }
+}
@@ -0,0 +1,27 @@
+package org.jpromise;
+
+import org.jpromise.functions.OnFulfilledDoubleFunction;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+abstract class DoubleContinuationPromise<V_IN> extends ContinuationPromise<V_IN, Double> implements DoublePromise, PrimitiveContinuation {
+    protected DoubleContinuationPromise(Promise<V_IN> promise, Executor executor) {
+        super(promise, executor);
+    }
+
+    @Override
+    public double getNow(double defaultValue) throws ExecutionException {
+        return getNowDouble(defaultValue);
+    }
+
+    @Override
+    public DoublePromise thenApplyDouble(OnFulfilledDoubleFunction function) {
+        return thenApplyDouble(PromiseExecutors.getContextExecutor(), function);
+    }
+
+    @Override
+    public DoublePromise thenApplyDouble(Executor executor, OnFulfilledDoubleFunction function) {
+        return applyDouble(executor, function);
+    }
+}
@@ -0,0 +1,21 @@
+package org.jpromise;
+
+/**
+ * Represents the deferred primitive {@code double} result of an operation through which an
+ * {@link org.jpromise.DoublePromise} is completed.
+ */
+public interface DoubleDeferred extends Deferred<Double> {
+    /**
+     * Fulfills the deferred operation with the specified result.
+     * @param result The result of the deferred operation.
+     * @return {@code true} if the deferred operation was fulfilled; otherwise, {@code false}.
+     */
+    boolean fulfill(double result);
+
+    /**
+     * Returns the {@link org.jpromise.DoublePromise} associated with this deferred operation.
+     * @return The promise associated with this deferred operation.
+     */
+    @Override
+    DoublePromise promise();
+}
@@ -0,0 +1,50 @@
+package org.jpromise;
+
+import org.jpromise.functions.OnFulfilledDoubleFunction;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+import static org.jpromise.util.MessageUtil.mustNotBeNull;
+
+class DoubleDeferredPromise implements DoubleDeferred {
+    private final DeferredDoublePromise promise = new DeferredDoublePromise();
+
+    @Override
+    public boolean fulfill(double result) {
+        return promise.completeDouble(result);
+    }
+
+    @Override
+    public boolean fulfill(Double result) {
+        if (result == null) throw new IllegalArgumentException(mustNotBeNull("result"));
+        return promise.completeDouble(result);
+    }
+
+    @Override
+    public boolean reject(Throwable exception) {
+        return promise.completeWithException(exception);
+    }
+
+    @Override
+    public DoublePromise promise() {
+        return promise;
+    }
+
+    static class DeferredDoublePromise extends AbstractPromise<Double> implements DoublePromise {
+        @Override
+        public double getNow(double defaultValue) throws ExecutionException {
+            return getNowDouble(defaultValue);
+        }
+
+        @Override
+        public DoublePromise thenApplyDouble(OnFulfilledDoubleFunction function) {
+            return thenApplyDouble(PromiseExecutors.getContextExecutor(), function);
+        }
+
+        @Override
+        public DoublePromise thenApplyDouble(Executor executor, OnFulfilledDoubleFunction function) {
+            return applyDouble(executor, function);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.jpromise;
+
+import org.jpromise.functions.OnFulfilledDoubleFunction;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link org.jpromise.Promise} of a primitive {@code double} result.  The result is stored and passed to the
+ * primitive operations without boxing, and is only boxed when consumed through the {@link org.jpromise.Promise}
+ * methods.
+ */
+public interface DoublePromise extends Promise<Double> {
+    /**
+     * Returns the result of the promise if it has fulfilled successfully or throws an exception if the promise
+     * has been rejected.  If the promise is not yet completed immediately returns the {@code defaultValue}.
+     * @param defaultValue The value to return if the promise is not completed.
+     * @return The result of the promise if it has fulfilled successfully.
+     * @throws ExecutionException The promise has rejected.
+     * @throws CancellationException The promise has been cancelled.
+     */
+    double getNow(double defaultValue) throws ExecutionException, CancellationException;
+
+    /**
+     * Registers an operation that is to be performed when the promise is successfully fulfilled that transforms the
+     * result synchronously into another {@code double} value.
+     * @param function The operation that is performed when the promise is successfully fulfilled accepting the result
+     *                 value and transforming the result into a different value synchronously.
+     * @return A new promise that will be fulfilled when the operation has completed transforming the result.
+     */
+    DoublePromise thenApplyDouble(OnFulfilledDoubleFunction function);
+
+    /**
+     * Registers an operation that is to be performed when the promise is successfully fulfilled that transforms the
+     * result synchronously into another {@code double} value using the specified {@link java.util.concurrent.Executor}.
+     * @param executor The executor that will be used to execute the operation.
+     * @param function The operation that is performed when the promise is successfully fulfilled accepting the result
+     *                 value and transforming the result into a different value synchronously.
+     * @return A new promise that will be fulfilled when the operation has completed transforming the result.
+     */
+    DoublePromise thenApplyDouble(Executor executor, OnFulfilledDoubleFunction function);
+}
@@ -29,6 +29,12 @@ public class ExecutorResolver {
         else if (lowerValue.equals(PromiseExecutors.NEW_THREAD_KEY)) {
             return PromiseExecutors.NEW_THREAD;
         }
+        else if (lowerValue.equals(PromiseExecutors.VIRTUAL_THREAD_KEY)) {
+            return PromiseExecutors.VIRTUAL_THREAD;
+        }
+        else if (lowerValue.equals(PromiseExecutors.FUTURE_POLLER_KEY)) {
+            return FuturePoller.shared();
+        }
         Executor executor = null;
         try {
             executor = resolveByName(settingValue);
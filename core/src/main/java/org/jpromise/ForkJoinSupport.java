@@ -0,0 +1,59 @@
+package org.jpromise;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Isolates the references to {@link java.util.concurrent.ForkJoinPool} so that the rest of the library can still be
+ * loaded on runtimes that do not provide it.  Must only be used after {@link org.jpromise.CommonPool} has verified
+ * that the class is available.
+ */
+final class ForkJoinSupport {
+    private ForkJoinSupport() {
+        throw new IllegalStateException();
+    }
+
+    static Executor newPool(int parallelism, boolean asyncMode, final String prefix) {
+        ForkJoinPool.ForkJoinWorkerThreadFactory factory = new ForkJoinPool.ForkJoinWorkerThreadFactory() {
+            @Override
+            public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName(prefix + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+        return new ForkJoinPool(parallelism, factory, null, asyncMode);
+    }
+
+    static boolean isWorkerThread() {
+        return Thread.currentThread() instanceof ForkJoinWorkerThread;
+    }
+
+    static void park(final Promise<?> promise, final long nanos) throws InterruptedException {
+        ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+            private boolean parked;
+
+            @Override
+            public boolean block() {
+                if (!parked) {
+                    parked = true;
+                    if (nanos > 0L) {
+                        LockSupport.parkNanos(promise, nanos);
+                    }
+                    else {
+                        LockSupport.park(promise);
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public boolean isReleasable() {
+                return parked || promise.isDone();
+            }
+        });
+    }
+}
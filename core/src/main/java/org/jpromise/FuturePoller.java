@@ -0,0 +1,172 @@
+package org.jpromise;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.jpromise.util.MessageUtil.mustNotBeNull;
+
+/**
+ * An {@link java.util.concurrent.Executor} for bridging {@link java.util.concurrent.Future} instances into promises
+ * without dedicating a thread to each pending future.  When used as the executor of
+ * {@link org.jpromise.Promises#fromFuture(java.util.concurrent.Executor, java.util.concurrent.Future)} the future is
+ * watched by one of a small number of poller threads which check for completion with an adaptive backoff.  Any other
+ * command executed by this executor runs on a bounded pool of blocking threads.
+ */
+public class FuturePoller implements Executor {
+    /**
+     * The property key used to specify the number of poller threads of the shared future poller.
+     */
+    public final static String POLLER_THREADS_KEY = "org.jpromise.future_poller_threads";
+    /**
+     * The property key used to specify the maximum number of blocking threads of the shared future poller.
+     */
+    public final static String BLOCKING_THREADS_KEY = "org.jpromise.future_poller_blocking_threads";
+
+    private final static int DEFAULT_POLLER_THREADS = 1;
+    private final static int DEFAULT_BLOCKING_THREADS = Runtime.getRuntime().availableProcessors();
+    private final static long MIN_BACKOFF = TimeUnit.MILLISECONDS.toNanos(1);
+    private final static long MAX_BACKOFF = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final Poller[] pollers;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ThreadPoolExecutor blocking;
+
+    /**
+     * Returns the future poller shared by all promises, which is created and started lazily.
+     * @return The shared future poller.
+     */
+    public static FuturePoller shared() {
+        return SharedPoller.INSTANCE;
+    }
+
+    /**
+     * Creates a new {@link org.jpromise.FuturePoller}.
+     * @param pollerThreads The number of threads which poll the pending futures.
+     * @param blockingThreads The maximum number of threads used to execute blocking commands.
+     */
+    public FuturePoller(int pollerThreads, int blockingThreads) {
+        pollers = new Poller[Math.max(pollerThreads, 1)];
+        for (int i = 0; i < pollers.length; i++) {
+            pollers[i] = new Poller(i);
+        }
+        int threads = Math.max(blockingThreads, 1);
+        blocking = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            private final AtomicInteger counter = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "jpromise-future-blocking-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        blocking.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Executes the command on the bounded pool of blocking threads.
+     * @param command The command to execute.
+     */
+    @Override
+    public void execute(Runnable command) {
+        if (command != null) {
+            blocking.execute(command);
+        }
+    }
+
+    void poll(FuturePromise<?> promise) {
+        if (promise == null) throw new IllegalArgumentException(mustNotBeNull("promise"));
+        int index = (next.getAndIncrement() & Integer.MAX_VALUE) % pollers.length;
+        pollers[index].add(promise);
+    }
+
+    private static class Entry {
+        final FuturePromise<?> promise;
+        long backoff = MIN_BACKOFF;
+        long nextPoll;
+
+        Entry(FuturePromise<?> promise, long now) {
+            this.promise = promise;
+            this.nextPoll = now + backoff;
+        }
+    }
+
+    private static class Poller implements Runnable {
+        private final int index;
+        private final Queue<FuturePromise<?>> incoming = new ConcurrentLinkedQueue<FuturePromise<?>>();
+        private final List<Entry> entries = new ArrayList<Entry>();
+        private final AtomicBoolean started = new AtomicBoolean();
+        private volatile Thread thread;
+        private volatile boolean sleeping;
+
+        Poller(int index) {
+            this.index = index;
+        }
+
+        void add(FuturePromise<?> promise) {
+            incoming.offer(promise);
+            if (!started.get() && started.compareAndSet(false, true)) {
+                Thread thread = new Thread(this, "jpromise-future-poller-" + index);
+                thread.setDaemon(true);
+                this.thread = thread;
+                thread.start();
+            }
+            else if (sleeping) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public void run() {
+            for (;;) {
+                long now = System.nanoTime();
+                FuturePromise<?> promise;
+                while ((promise = incoming.poll()) != null) {
+                    entries.add(new Entry(promise, now));
+                }
+                if (entries.isEmpty()) {
+                    sleeping = true;
+                    if (incoming.isEmpty()) {
+                        LockSupport.park(this);
+                    }
+                    sleeping = false;
+                    continue;
+                }
+                long wait = MAX_BACKOFF;
+                for (int i = entries.size() - 1; i >= 0; i--) {
+                    Entry entry = entries.get(i);
+                    if (now - entry.nextPoll >= 0L) {
+                        if (entry.promise.poll(now)) {
+                            int last = entries.size() - 1;
+                            entries.set(i, entries.get(last));
+                            entries.remove(last);
+                            continue;
+                        }
+                        entry.backoff = Math.min(entry.backoff << 1, MAX_BACKOFF);
+                        entry.nextPoll = entry.promise.nextPoll(now + entry.backoff);
+                    }
+                    wait = Math.min(wait, entry.nextPoll - now);
+                }
+                if (wait > 0L) {
+                    sleeping = true;
+                    if (incoming.isEmpty()) {
+                        LockSupport.parkNanos(this, wait);
+                    }
+                    sleeping = false;
+                }
+            }
+        }
+    }
+
+    private static class SharedPoller {
+        private final static FuturePoller INSTANCE = new FuturePoller(
+                Integer.getInteger(POLLER_THREADS_KEY, DEFAULT_POLLER_THREADS),
+                Integer.getInteger(BLOCKING_THREADS_KEY, DEFAULT_BLOCKING_THREADS));
+    }
+}
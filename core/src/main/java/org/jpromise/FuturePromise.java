@@ -6,11 +6,13 @@ class FuturePromise<V> extends AbstractPromise<V> {
     private final Future<V> future;
     private final Long timeout;
     private final TimeUnit timeUnit;
+    private final long deadline;
 
     FuturePromise(Executor executor, Future<V> future) {
         this.future = future;
         this.timeout = null;
         this.timeUnit = null;
+        this.deadline = 0L;
         start(executor);
     }
 
@@ -18,6 +20,7 @@ class FuturePromise<V> extends AbstractPromise<V> {
         this.future = future;
         this.timeout = timeout;
         this.timeUnit = timeUnit;
+        this.deadline = System.nanoTime() + timeUnit.toNanos(timeout);
         start(executor);
     }
 
@@ -26,6 +29,9 @@ class FuturePromise<V> extends AbstractPromise<V> {
         if (future.isDone()) {
             runnable.run();
         }
+        else if (executor instanceof FuturePoller) {
+            ((FuturePoller)executor).poll(this);
+        }
         else {
             executor.execute(runnable);
         }
@@ -37,6 +43,28 @@ class FuturePromise<V> extends AbstractPromise<V> {
                 && completeWithException(new CancellationException());
     }
 
+    boolean poll(long now) {
+        if (isDone()) {
+            return true;
+        }
+        if (future.isDone()) {
+            new FuturePromiseRunnable().run();
+            return true;
+        }
+        if (timeout != null && now - deadline >= 0L) {
+            completeWithException(new TimeoutException());
+            return true;
+        }
+        return false;
+    }
+
+    long nextPoll(long nextPoll) {
+        if (timeout != null && deadline - nextPoll < 0L) {
+            return deadline;
+        }
+        return nextPoll;
+    }
+
     private class FuturePromiseRunnable implements Runnable {
         @Override
         public void run() {
@@ -0,0 +1,51 @@
+package org.jpromise;
+
+/**
+ * A {@link org.jpromise.ConcurrencyLimit} which scales the limit by the gradient between the lowest round-trip time
+ * observed and the round-trip time of each task, between one half and one, and adds a headroom of queued tasks so
+ * that the limit can grow while the round-trip time does not increase.  Per round trip the limit is smoothed towards
+ * the new estimate, and it is halved when the tasks are dropped.
+ */
+public final class GradientLimit extends AbstractConcurrencyLimit {
+    private static final double DEFAULT_SMOOTHING = 0.2;
+    private static final int DEFAULT_QUEUE_SIZE = 4;
+
+    private final double smoothing;
+    private final int queueSize;
+
+    /**
+     * Creates a new {@link org.jpromise.GradientLimit} with a smoothing of 0.2 and a headroom of four queued tasks.
+     * @param initialLimit The limit before any task has completed.
+     * @param minLimit The lowest limit.
+     * @param maxLimit The highest limit.
+     */
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit) {
+        this(initialLimit, minLimit, maxLimit, DEFAULT_SMOOTHING, DEFAULT_QUEUE_SIZE);
+    }
+
+    /**
+     * Creates a new {@link org.jpromise.GradientLimit}.
+     * @param initialLimit The limit before any task has completed.
+     * @param minLimit The lowest limit.
+     * @param maxLimit The highest limit.
+     * @param smoothing The weight, greater than zero and at most one, of each new estimate of the limit.
+     * @param queueSize The number of queued tasks added to each new estimate of the limit.
+     */
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit, double smoothing, int queueSize) {
+        super(initialLimit, minLimit, maxLimit);
+        if (!(smoothing > 0.0 && smoothing <= 1.0)) throw new IllegalArgumentException("The smoothing must be greater than zero and at most one.");
+        if (queueSize < 0) throw new IllegalArgumentException("The queue size must not be negative.");
+        this.smoothing = smoothing;
+        this.queueSize = queueSize;
+    }
+
+    @Override
+    double target(double current, long rtt, long minRtt, boolean dropped) {
+        if (dropped) {
+            return current / 2;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, (double)minRtt / rtt));
+        double estimate = current * gradient + queueSize;
+        return current * (1.0 - smoothing) + estimate * smoothing;
+    }
+}
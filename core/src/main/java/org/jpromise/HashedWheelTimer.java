@@ -0,0 +1,370 @@
+package org.jpromise;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.jpromise.util.MessageUtil.mustNotBeNull;
+
+/**
+ * A timer which executes delayed tasks on a single daemon thread using a hashed wheel of buckets.  Scheduling and
+ * cancelling a task are constant time operations and a cancelled task is released from the wheel on the next tick.
+ * The thread is only started when the first task is scheduled and parks while there are no scheduled tasks.
+ * Tasks are executed on the timer thread and should be short-lived.  A timer that is no longer needed should be
+ * stopped with {@link #stop()}, except for the {@link #shared()} timer which lives as long as the application.
+ */
+public class HashedWheelTimer {
+    /**
+     * The property key used to specify the duration of a tick of the shared timer in milliseconds.
+     */
+    public final static String TICK_DURATION_KEY = "org.jpromise.timer_tick_duration";
+    /**
+     * The property key used to specify the number of buckets in the wheel of the shared timer.
+     */
+    public final static String WHEEL_SIZE_KEY = "org.jpromise.timer_wheel_size";
+
+    private final static long DEFAULT_TICK_DURATION = 10L;
+    private final static int DEFAULT_WHEEL_SIZE = 512;
+
+    private final static int STATE_INIT = 0;
+    private final static int STATE_STARTED = 1;
+    private final static int STATE_STOPPED = 2;
+
+    private final long tickDuration;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startTime = System.nanoTime();
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<Timeout>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<Timeout>();
+    private final AtomicInteger state = new AtomicInteger(STATE_INIT);
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final Set<Timeout> unexpired = new HashSet<Timeout>();
+    private volatile Thread thread;
+
+    /**
+     * Returns the timer shared by all promise operations, which is created and started lazily.
+     * @return The shared timer.
+     */
+    public static HashedWheelTimer shared() {
+        return SharedTimer.INSTANCE;
+    }
+
+    /**
+     * Creates a new {@link org.jpromise.HashedWheelTimer}.
+     * @param tickDuration The duration between ticks of the wheel.
+     * @param timeUnit The unit of time for the {@code tickDuration} argument.
+     * @param wheelSize The number of buckets in the wheel which will be rounded up to the next power of two.
+     */
+    public HashedWheelTimer(long tickDuration, TimeUnit timeUnit, int wheelSize) {
+        if (timeUnit == null) throw new IllegalArgumentException(mustNotBeNull("timeUnit"));
+        this.tickDuration = Math.max(timeUnit.toNanos(tickDuration), TimeUnit.MILLISECONDS.toNanos(1));
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            this.wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Schedules the specified task to be executed after the specified delay.
+     * @param task The task to execute.
+     * @param delay The amount of time to wait before executing the task.
+     * @param timeUnit The unit of time for the {@code delay} argument.
+     * @return A {@link org.jpromise.HashedWheelTimer.Timeout} which can be used to cancel the task.
+     * @throws java.lang.IllegalStateException The timer has been stopped.
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit timeUnit) {
+        if (task == null) throw new IllegalArgumentException(mustNotBeNull("task"));
+        if (timeUnit == null) throw new IllegalArgumentException(mustNotBeNull("timeUnit"));
+        start();
+        if (state.get() == STATE_STOPPED) throw new IllegalStateException("The timer has been stopped.");
+        long deadline = System.nanoTime() - startTime + Math.max(timeUnit.toNanos(delay), 0L);
+        Timeout timeout = new Timeout(this, task, deadline);
+        pending.offer(timeout);
+        if (outstanding.getAndIncrement() == 0) {
+            LockSupport.unpark(thread);
+        }
+        return timeout;
+    }
+
+    /**
+     * Returns the number of scheduled tasks that have not yet been executed or cancelled.
+     * @return The number of outstanding tasks.
+     */
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * Stops the timer thread and returns the scheduled tasks that have not yet been executed or cancelled, none of
+     * which will be executed by this timer.  Scheduling a task after the timer has been stopped is an error.
+     * @return The tasks that were not executed.
+     * @throws java.lang.IllegalStateException The timer is the {@link #shared()} timer or this method was called from
+     * a task executed by the timer.
+     */
+    public Set<Timeout> stop() {
+        if (this == shared()) throw new IllegalStateException("The shared timer cannot be stopped.");
+        if (Thread.currentThread() == thread) throw new IllegalStateException("The timer cannot be stopped by one of its own tasks.");
+        if (state.getAndSet(STATE_STOPPED) != STATE_STARTED) {
+            return Collections.emptySet();
+        }
+        Thread thread;
+        while ((thread = this.thread) == null) {
+            Thread.yield();
+        }
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(100L);
+            }
+            catch (InterruptedException exception) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        // a task scheduled while the worker was stopping is still pending
+        collectPending();
+        return Collections.unmodifiableSet(unexpired);
+    }
+
+    private void collectPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.state == Timeout.STATE_INIT) {
+                unexpired.add(timeout);
+            }
+        }
+    }
+
+    private void start() {
+        if (state.get() == STATE_INIT && state.compareAndSet(STATE_INIT, STATE_STARTED)) {
+            Thread thread = new Thread(new Worker(), "jpromise-timer");
+            thread.setDaemon(true);
+            this.thread = thread;
+            thread.start();
+        }
+    }
+
+    private void cancelled(Timeout timeout) {
+        outstanding.decrementAndGet();
+        cancelled.offer(timeout);
+    }
+
+    private long elapsed() {
+        return System.nanoTime() - startTime;
+    }
+
+    private class Worker implements Runnable {
+        private long tick;
+
+        @Override
+        public void run() {
+            tick = elapsed() / tickDuration;
+            while (state.get() == STATE_STARTED) {
+                removeCancelled();
+                if (outstanding.get() == 0) {
+                    transferPending();
+                    LockSupport.park(HashedWheelTimer.this);
+                    tick = elapsed() / tickDuration;
+                    continue;
+                }
+                if (!waitForNextTick()) {
+                    break;
+                }
+                removeCancelled();
+                transferPending();
+                wheel[(int)(tick & mask)].expire();
+                tick++;
+            }
+            removeCancelled();
+            for (Bucket bucket : wheel) {
+                bucket.clear(unexpired);
+            }
+            collectPending();
+        }
+
+        private boolean waitForNextTick() {
+            long deadline = (tick + 1) * tickDuration;
+            for (;;) {
+                if (state.get() != STATE_STARTED) {
+                    return false;
+                }
+                long remaining = deadline - elapsed();
+                if (remaining <= 0L) {
+                    return true;
+                }
+                LockSupport.parkNanos(HashedWheelTimer.this, remaining);
+            }
+        }
+
+        private void removeCancelled() {
+            Timeout timeout;
+            while ((timeout = cancelled.poll()) != null) {
+                if (timeout.bucket != null) {
+                    timeout.bucket.remove(timeout);
+                }
+            }
+        }
+
+        private void transferPending() {
+            Timeout timeout;
+            while ((timeout = pending.poll()) != null) {
+                if (timeout.state != Timeout.STATE_INIT) {
+                    continue;
+                }
+                long calculated = Math.max(timeout.deadline / tickDuration, tick);
+                timeout.remainingRounds = (calculated - tick) / wheel.length;
+                wheel[(int)(calculated & mask)].add(timeout);
+            }
+        }
+    }
+
+    private static class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            }
+            else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        void clear(Set<Timeout> unexpired) {
+            Timeout timeout;
+            while ((timeout = head) != null) {
+                remove(timeout);
+                if (timeout.state == Timeout.STATE_INIT) {
+                    unexpired.add(timeout);
+                }
+            }
+        }
+
+        void expire() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0L) {
+                    remove(timeout);
+                    timeout.expire();
+                }
+                else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+    }
+
+    /**
+     * Represents a task scheduled on a {@link org.jpromise.HashedWheelTimer}.
+     */
+    public static class Timeout {
+        private final static int STATE_INIT = 0;
+        private final static int STATE_CANCELLED = 1;
+        private final static int STATE_EXPIRED = 2;
+
+        private final static AtomicIntegerFieldUpdater<Timeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final HashedWheelTimer timer;
+        private final long deadline;
+        private volatile Runnable task;
+        private volatile int state = STATE_INIT;
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the scheduled task if it has not already been executed.
+         * @return {@code true} if the task was cancelled; otherwise, {@code false}.
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, STATE_INIT, STATE_CANCELLED)) {
+                return false;
+            }
+            task = null;
+            timer.cancelled(this);
+            return true;
+        }
+
+        /**
+         * Gets whether the scheduled task has been cancelled.
+         * @return {@code true} if the task was cancelled; otherwise, {@code false}.
+         */
+        public boolean isCancelled() {
+            return state == STATE_CANCELLED;
+        }
+
+        /**
+         * Gets whether the scheduled task has been executed.
+         * @return {@code true} if the task has been executed; otherwise, {@code false}.
+         */
+        public boolean isExpired() {
+            return state == STATE_EXPIRED;
+        }
+
+        private void expire() {
+            if (!STATE.compareAndSet(this, STATE_INIT, STATE_EXPIRED)) {
+                return;
+            }
+            timer.outstanding.decrementAndGet();
+            Runnable task = this.task;
+            this.task = null;
+            try {
+                task.run();
+            }
+            catch (Throwable ignored) { }
+        }
+    }
+
+    private static class SharedTimer {
+        private final static HashedWheelTimer INSTANCE = new HashedWheelTimer(
+                Long.getLong(TICK_DURATION_KEY, DEFAULT_TICK_DURATION), TimeUnit.MILLISECONDS,
+                Integer.getInteger(WHEEL_SIZE_KEY, DEFAULT_WHEEL_SIZE));
+    }
+}
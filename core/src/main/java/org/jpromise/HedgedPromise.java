@@ -0,0 +1,150 @@
+package org.jpromise;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A promise that starts another attempt of an operation whenever the previous attempt has not completed within the
+ * hedge delay, up to a maximum number of attempts.  It is fulfilled by the first attempt to be fulfilled and rejected
+ * only once every attempt has been rejected, like {@link org.jpromise.PromiseManager#whenAnyFulfilled(Iterable)}.  An
+ * attempt that is rejected while no other attempt is outstanding submits the next attempt to the executor
+ * immediately.  The hedges are scheduled on the shared {@link org.jpromise.HashedWheelTimer}, which only submits each
+ * hedged attempt to the executor so that the operation never runs on the timer thread, and once the promise is completed the outstanding
+ * attempts are cancelled.  The latency of every attempt that completes is recorded to the adaptive delay, including an
+ * attempt that is cancelled once the promise is completed, whose latency is at least the time until it was cancelled.
+ */
+final class HedgedPromise<V> extends AbstractPromise<V> implements Runnable {
+    private final Executor executor;
+    private final Callable<? extends Future<V>> operation;
+    private final long hedgeDelay;
+    private final AdaptiveDelay adaptiveDelay;
+    private final int maxAttempts;
+    private final AtomicInteger started = new AtomicInteger();
+    private final AtomicInteger rejected = new AtomicInteger();
+    private final Queue<Promise<V>> attempts = new ConcurrentLinkedQueue<Promise<V>>();
+    private volatile HashedWheelTimer.Timeout scheduled;
+    private final Runnable dispatch = new Runnable() {
+        @Override
+        public void run() {
+            try {
+                executor.execute(HedgedPromise.this);
+            }
+            catch (Throwable exception) {
+                completeWithException(exception);
+            }
+        }
+    };
+
+    HedgedPromise(Executor executor, Callable<? extends Future<V>> operation, long hedgeDelay, AdaptiveDelay adaptiveDelay, int maxAttempts) {
+        this.executor = executor;
+        this.operation = operation;
+        this.hedgeDelay = hedgeDelay;
+        this.adaptiveDelay = adaptiveDelay;
+        this.maxAttempts = maxAttempts;
+    }
+
+    Promise<V> start() {
+        attempt();
+        return this;
+    }
+
+    @Override
+    public void run() {
+        attempt();
+    }
+
+    private void attempt() {
+        int attempt;
+        do {
+            if (isDone()) {
+                return;
+            }
+            attempt = started.get();
+            if (attempt >= maxAttempts) {
+                return;
+            }
+        } while (!started.compareAndSet(attempt, attempt + 1));
+
+        final long start = System.nanoTime();
+        Promise<V> promise;
+        try {
+            Future<V> future = operation.call();
+            promise = future != null ? Promises.fromFuture(future) : Promises.<V>fulfilled(null);
+        }
+        catch (Throwable exception) {
+            promise = Promises.rejected(exception);
+        }
+        attempts.add(promise);
+        HashedWheelTimer.Timeout previous = scheduled;
+        if (previous != null) {
+            previous.cancel();
+        }
+        if (attempt + 1 < maxAttempts) {
+            long delay = adaptiveDelay != null ? adaptiveDelay.delay(TimeUnit.NANOSECONDS) : hedgeDelay;
+            scheduled = HashedWheelTimer.shared().schedule(dispatch, delay, TimeUnit.NANOSECONDS);
+        }
+        if (isDone()) {
+            cancelAttempts();
+            return;
+        }
+        Continuation<V> continuation = new Continuation<V>() {
+            @Override
+            public void completed(Promise<V> promise, V result, Throwable exception) {
+                if (adaptiveDelay != null) {
+                    adaptiveDelay.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+                if (exception == null) {
+                    complete(result);
+                }
+                else {
+                    attemptRejected(exception);
+                }
+            }
+        };
+        if (promise instanceof AbstractPromise) {
+            ((AbstractPromise<V>)promise).registerCallback(continuation);
+        }
+        else {
+            promise.whenCompleted(PromiseExecutors.CURRENT_THREAD, continuation);
+        }
+    }
+
+    private void attemptRejected(Throwable exception) {
+        if (isDone()) {
+            return;
+        }
+        int count = rejected.incrementAndGet();
+        if (count >= maxAttempts) {
+            completeWithException(exception);
+        }
+        else if (count >= started.get()) {
+            // started on the executor rather than on the thread that completed the rejected attempt, which may be the
+            // shared timer or future poller
+            dispatch.run();
+        }
+    }
+
+    @Override
+    protected void onCompleted(PromiseState state, V result, Throwable exception) {
+        super.onCompleted(state, result, exception);
+        cancelAttempts();
+    }
+
+    private void cancelAttempts() {
+        HashedWheelTimer.Timeout scheduled = this.scheduled;
+        if (scheduled != null) {
+            scheduled.cancel();
+        }
+        Promise<V> attempt;
+        while ((attempt = attempts.poll()) != null) {
+            if (!attempt.isDone()) {
+                attempt.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.jpromise;
+
+import org.jpromise.functions.OnFulfilledIntFunction;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+abstract class IntContinuationPromise<V_IN> extends ContinuationPromise<V_IN, Integer> implements IntPromise, PrimitiveContinuation {
+    protected IntContinuationPromise(Promise<V_IN> promise, Executor executor) {
+        super(promise, executor);
+    }
+
+    @Override
+    public int getNow(int defaultValue) throws ExecutionException {
+        return getNowInt(defaultValue);
+    }
+
+    @Override
+    public IntPromise thenApplyInt(OnFulfilledIntFunction function) {
+        return thenApplyInt(PromiseExecutors.getContextExecutor(), function);
+    }
+
+    @Override
+    public IntPromise thenApplyInt(Executor executor, OnFulfilledIntFunction function) {
+        return applyInt(executor, function);
+    }
+}
@@ -0,0 +1,21 @@
+package org.jpromise;
+
+/**
+ * Represents the deferred primitive {@code int} result of an operation through which an
+ * {@link org.jpromise.IntPromise} is completed.
+ */
+public interface IntDeferred extends Deferred<Integer> {
+    /**
+     * Fulfills the deferred operation with the specified result.
+     * @param result The result of the deferred operation.
+     * @return {@code true} if the deferred operation was fulfilled; otherwise, {@code false}.
+     */
+    boolean fulfill(int result);
+
+    /**
+     * Returns the {@link org.jpromise.IntPromise} associated with this deferred operation.
+     * @return The promise associated with this deferred operation.
+     */
+    @Override
+    IntPromise promise();
+}
@@ -0,0 +1,50 @@
+package org.jpromise;
+
+import org.jpromise.functions.OnFulfilledIntFunction;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+import static org.jpromise.util.MessageUtil.mustNotBeNull;
+
+class IntDeferredPromise implements IntDeferred {
+    private final DeferredIntPromise promise = new DeferredIntPromise();
+
+    @Override
+    public boolean fulfill(int result) {
+        return promise.completeInt(result);
+    }
+
+    @Override
+    public boolean fulfill(Integer result) {
+        if (result == null) throw new IllegalArgumentException(mustNotBeNull("result"));
+        return promise.completeInt(result);
+    }
+
+    @Override
+    public boolean reject(Throwable exception) {
+        return promise.completeWithException(exception);
+    }
+
+    @Override
+    public IntPromise promise() {
+        return promise;
+    }
+
+    static class DeferredIntPromise extends AbstractPromise<Integer> implements IntPromise {
+        @Override
+        public int getNow(int defaultValue) throws ExecutionException {
+            return getNowInt(defaultValue);
+        }
+
+        @Override
+        public IntPromise thenApplyInt(OnFulfilledIntFunction function) {
+            return thenApplyInt(PromiseExecutors.getContextExecutor(), function);
+        }
+
+        @Override
+        public IntPromise thenApplyInt(Executor executor, OnFulfilledIntFunction function) {
+            return applyInt(executor, function);
+        }
+    }
+}
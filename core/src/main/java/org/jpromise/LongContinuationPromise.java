@@ -0,0 +1,27 @@
+package org.jpromise;
+
+import org.jpromise.functions.OnFulfilledLongFunction;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+abstract class LongContinuationPromise<V_IN> extends ContinuationPromise<V_IN, Long> implements LongPromise, PrimitiveContinuation {
+    protected LongContinuationPromise(Promise<V_IN> promise, Executor executor) {
+        super(promise, executor);
+    }
+
+    @Override
+    public long getNow(long defaultValue) throws ExecutionException {
+        return getNowLong(defaultValue);
+    }
+
+    @Override
+    public LongPromise thenApplyLong(OnFulfilledLongFunction function) {
+        return thenApplyLong(PromiseExecutors.getContextExecutor(), function);
+    }
+
+    @Override
+    public LongPromise thenApplyLong(Executor executor, OnFulfilledLongFunction function) {
+        return applyLong(executor, function);
+    }
+}
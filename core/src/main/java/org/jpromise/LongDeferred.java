@@ -0,0 +1,21 @@
+package org.jpromise;
+
+/**
+ * Represents the deferred primitive {@code long} result of an operation through which an
+ * {@link org.jpromise.LongPromise} is completed.
+ */
+public interface LongDeferred extends Deferred<Long> {
+    /**
+     * Fulfills the deferred operation with the specified result.
+     * @param result The result of the deferred operation.
+     * @return {@code true} if the deferred operation was fulfilled; otherwise, {@code false}.
+     */
+    boolean fulfill(long result);
+
+    /**
+     * Returns the {@link org.jpromise.LongPromise} associated with this deferred operation.
+     * @return The promise associated with this deferred operation.
+     */
+    @Override
+    LongPromise promise();
+}
@@ -0,0 +1,50 @@
+package org.jpromise;
+
+import org.jpromise.functions.OnFulfilledLongFunction;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+import static org.jpromise.util.MessageUtil.mustNotBeNull;
+
+class LongDeferredPromise implements LongDeferred {
+    private final DeferredLongPromise promise = new DeferredLongPromise();
+
+    @Override
+    public boolean fulfill(long result) {
+        return promise.completeLong(result);
+    }
+
+    @Override
+    public boolean fulfill(Long result) {
+        if (result == null) throw new IllegalArgumentException(mustNotBeNull("result"));
+        return promise.completeLong(result);
+    }
+
+    @Override
+    public boolean reject(Throwable exception) {
+        return promise.completeWithException(exception);
+    }
+
+    @Override
+    public LongPromise promise() {
+        return promise;
+    }
+
+    static class DeferredLongPromise extends AbstractPromise<Long> implements LongPromise {
+        @Override
+        public long getNow(long defaultValue) throws ExecutionException {
+            return getNowLong(defaultValue);
+        }
+
+        @Override
+        public LongPromise thenApplyLong(OnFulfilledLongFunction function) {
+            return thenApplyLong(PromiseExecutors.getContextExecutor(), function);
+        }
+
+        @Override
+        public LongPromise thenApplyLong(Executor executor, OnFulfilledLongFunction function) {
+            return applyLong(executor, function);
+        }
+    }
+}
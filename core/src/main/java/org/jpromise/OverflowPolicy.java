@@ -0,0 +1,22 @@
+package org.jpromise;
+
+/**
+ * Specifies what a {@link org.jpromise.BulkheadPromiseService} does with a submitted task when both its in-flight
+ * tasks and its queue are full.
+ */
+public enum OverflowPolicy {
+    /**
+     * Specifies that the submitted task is rejected with a {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    REJECT,
+    /**
+     * Specifies that the oldest queued task is rejected with a {@link java.util.concurrent.RejectedExecutionException}
+     * to make room for the submitted task.
+     */
+    SHED_OLDEST,
+    /**
+     * Specifies that the submitted task is executed synchronously on the thread submitting it, outside of the
+     * in-flight limit, which slows down the submitting thread.  The task neither takes nor releases a permit.
+     */
+    CALLER_RUNS
+}
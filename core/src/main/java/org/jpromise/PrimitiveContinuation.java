@@ -0,0 +1,8 @@
+package org.jpromise;
+
+/**
+ * Marks a {@link org.jpromise.Continuation} which reads a primitive result directly from the completed promise so
+ * that the result does not need to be boxed in order to invoke it.
+ */
+interface PrimitiveContinuation {
+}
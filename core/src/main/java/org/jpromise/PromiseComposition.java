@@ -1,8 +1,5 @@
 package org.jpromise;
 
-import java.util.*;
-import java.util.concurrent.CopyOnWriteArraySet;
-
 import static org.jpromise.util.MessageUtil.mustNotBeNull;
 
 public class PromiseComposition {
@@ -10,83 +7,116 @@ public class PromiseComposition {
         throw new IllegalStateException();
     }
 
-    private static final Set<PromiseCompositionListener> listeners = new CopyOnWriteArraySet<PromiseCompositionListener>();
-    private static final CompositePromiseCompositionListener composite = new CompositePromiseCompositionListener(listeners);
+    private static final PromiseCompositionListener[] EMPTY = new PromiseCompositionListener[0];
+    private static final Object lock = new Object();
+    private static volatile PromiseCompositionListener[] listeners = EMPTY;
 
     public static boolean register(PromiseCompositionListener listener) {
         if (listener == null) throw new IllegalArgumentException(mustNotBeNull("listener"));
-        return listeners.add(listener);
+        synchronized (lock) {
+            PromiseCompositionListener[] current = listeners;
+            for (PromiseCompositionListener registered : current) {
+                if (registered.equals(listener)) {
+                    return false;
+                }
+            }
+            PromiseCompositionListener[] updated = new PromiseCompositionListener[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, current.length);
+            updated[current.length] = listener;
+            listeners = updated;
+            return true;
+        }
     }
 
     public static void clear() {
-        listeners.clear();
+        synchronized (lock) {
+            listeners = EMPTY;
+        }
     }
 
     static PromiseContinuationListener composingContinuation(Promise<?> source, Promise<?> target) {
-        return composite.composingContinuation(source, target);
+        PromiseCompositionListener[] listeners = PromiseComposition.listeners;
+        if (listeners.length == 0) {
+            return NoOp.INSTANCE;
+        }
+        PromiseContinuationListener[] callbacks = null;
+        int count = 0;
+        for (PromiseCompositionListener listener : listeners) {
+            try {
+                PromiseContinuationListener callback = listener.composingContinuation(source, target);
+                if (callback != null) {
+                    if (callbacks == null) {
+                        callbacks = new PromiseContinuationListener[listeners.length];
+                    }
+                    callbacks[count++] = callback;
+                }
+            }
+            catch (Throwable ignored) { }
+        }
+        if (count == 0) {
+            return NoOp.INSTANCE;
+        }
+        return new CompositePromiseContinuationListener(callbacks, count);
     }
 
-    private static class CompositePromiseCompositionListener implements PromiseCompositionListener {
-        private final Set<PromiseCompositionListener> listeners;
+    private static class NoOp implements PromiseContinuationListener, PromiseContinuationCompletion {
+        static final NoOp INSTANCE = new NoOp();
 
-        public CompositePromiseCompositionListener(Set<PromiseCompositionListener> listeners) {
-            this.listeners = listeners;
+        @Override
+        public PromiseContinuationCompletion invokingContinuation(Promise<?> source, Promise<?> target, Object result, Throwable exception) {
+            return this;
         }
 
         @Override
-        public PromiseContinuationListener composingContinuation(Promise<?> source, Promise<?> target) {
-            Map<PromiseCompositionListener, PromiseContinuationListener> callbacks = new HashMap<PromiseCompositionListener, PromiseContinuationListener>(listeners.size());
-            for (PromiseCompositionListener listener : listeners) {
-                try {
-                    PromiseContinuationListener callback = listener.composingContinuation(source, target);
-                    if (callback != null) {
-                        callbacks.put(listener, callback);
-                    }
-                }
-                catch (Throwable ignored) { }
-            }
-            return new CompositePromiseContinuationListener(callbacks);
-        }
+        public void completed(Promise<?> source, Promise<?> target, Object result, Throwable exception) { }
     }
 
     private static class CompositePromiseContinuationListener implements PromiseContinuationListener {
-        private final Map<PromiseCompositionListener, PromiseContinuationListener> callbacks;
+        private final PromiseContinuationListener[] callbacks;
+        private final int count;
 
-        public CompositePromiseContinuationListener(Map<PromiseCompositionListener, PromiseContinuationListener> callbacks) {
+        public CompositePromiseContinuationListener(PromiseContinuationListener[] callbacks, int count) {
             this.callbacks = callbacks;
+            this.count = count;
         }
 
         @Override
         public PromiseContinuationCompletion invokingContinuation(Promise<?> source, Promise<?> target, Object result, Throwable exception) {
-            Map<PromiseCompositionListener, PromiseContinuationCompletion> completions = new HashMap<PromiseCompositionListener, PromiseContinuationCompletion>(callbacks.size());
-            for (Map.Entry<PromiseCompositionListener, PromiseContinuationListener> entry : callbacks.entrySet()) {
-                PromiseCompositionListener listener = entry.getKey();
-                PromiseContinuationListener callback = entry.getValue();
+            PromiseContinuationCompletion[] completions = null;
+            int completed = 0;
+            for (int i = 0; i < count; i++) {
                 try {
-                    PromiseContinuationCompletion completion = callback.invokingContinuation(source, target, result, exception);
+                    PromiseContinuationCompletion completion = callbacks[i].invokingContinuation(source, target, result, exception);
                     if (completion != null) {
-                        completions.put(listener, completion);
+                        if (completions == null) {
+                            completions = new PromiseContinuationCompletion[count];
+                        }
+                        completions[completed++] = completion;
                     }
                 }
                 catch (Throwable ignored) { }
             }
-            return new CompositePromiseContinuationCompletion(completions);
+            if (completed == 0) {
+                return NoOp.INSTANCE;
+            }
+            return new CompositePromiseContinuationCompletion(completions, completed);
         }
     }
 
     private static class CompositePromiseContinuationCompletion implements PromiseContinuationCompletion {
-        private final Map<PromiseCompositionListener, PromiseContinuationCompletion> completions;
+        private final PromiseContinuationCompletion[] completions;
+        private final int count;
 
-        public CompositePromiseContinuationCompletion(Map<PromiseCompositionListener, PromiseContinuationCompletion> completions) {
+        public CompositePromiseContinuationCompletion(PromiseContinuationCompletion[] completions, int count) {
             this.completions = completions;
+            this.count = count;
         }
 
         @Override
         public void completed(Promise<?> source, Promise<?> target, Object result, Throwable exception) {
-            for (Map.Entry<PromiseCompositionListener, PromiseContinuationCompletion> entry : completions.entrySet()) {
-                PromiseContinuationCompletion completion = entry.getValue();
+            for (int i = 0; i < count; i++) {
                 try {
-                    completion.completed(source, target, result, exception);
+                    completions[i].completed(source, target, result, exception);
                 }
                 catch (Throwable ignore) { }
             }
@@ -1,7 +1,6 @@
 package org.jpromise;
 
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 
 /**
  * The factory of {@link java.util.concurrent.Executor} instances which are used to execute when promises are
@@ -34,7 +33,9 @@ public enum PromiseExecutors implements Executor {
         }
     },
     /**
-     * An {@link java.util.concurrent.Executor} which schedules the operation to be executed on a common thread pool.
+     * An {@link java.util.concurrent.Executor} which schedules the operation to be executed on a common bounded
+     * thread pool.  The pool is a work-stealing {@link java.util.concurrent.ForkJoinPool} when the runtime provides
+     * one, otherwise a fixed-size thread pool.
      */
     COMMON_POOL {
         @Override
@@ -43,6 +44,19 @@ public enum PromiseExecutors implements Executor {
                 pool.execute(command);
             }
         }
+    },
+    /**
+     * An {@link java.util.concurrent.Executor} which executes the operation immediately using a new virtual thread.
+     * If the runtime does not support virtual threads the operation is executed using a new daemon thread as with
+     * {@link org.jpromise.PromiseExecutors#NEW_THREAD}.
+     */
+    VIRTUAL_THREAD {
+        @Override
+        public void execute(Runnable command) {
+            if (command != null) {
+                VirtualThreads.execute(command);
+            }
+        }
     };
     /**
      * The property key used to specify the default {@link java.util.concurrent.Executor} for promise continuations.
@@ -57,6 +71,17 @@ public enum PromiseExecutors implements Executor {
      * {@link java.util.concurrent.Future} instance to wait for completion.
      */
     public final static String DEFAULT_FUTURE_EXECUTOR_KEY = "org.jpromise.future_executor";
+    /**
+     * The property key used to specify the number of threads of the {@link org.jpromise.PromiseExecutors#COMMON_POOL}.
+     * Defaults to the number of available processors.
+     */
+    public final static String COMMON_POOL_PARALLELISM_KEY = "org.jpromise.common_pool_parallelism";
+    /**
+     * The property key used to specify the order in which the {@link org.jpromise.PromiseExecutors#COMMON_POOL}
+     * executes locally queued operations, either {@link org.jpromise.PromiseExecutors#FIFO_QUEUE_KEY} or
+     * {@link org.jpromise.PromiseExecutors#LIFO_QUEUE_KEY}.  Defaults to first-in-first-out.
+     */
+    public final static String COMMON_POOL_QUEUE_KEY = "org.jpromise.common_pool_queue";
     /**
      * The property key used to specify that the default {@link java.util.concurrent.Executor} is the
      * {@link org.jpromise.PromiseExecutors#COMMON_POOL}.
@@ -72,6 +97,26 @@ public enum PromiseExecutors implements Executor {
      * {@link org.jpromise.PromiseExecutors#NEW_THREAD}.
      */
     public final static String NEW_THREAD_KEY = "new_thread";
+    /**
+     * The property key used to specify that the default {@link java.util.concurrent.Executor} is the
+     * {@link org.jpromise.PromiseExecutors#VIRTUAL_THREAD}.
+     */
+    public final static String VIRTUAL_THREAD_KEY = "virtual_thread";
+    /**
+     * The property value used to specify that the {@link org.jpromise.PromiseExecutors#COMMON_POOL} executes
+     * locally queued operations in first-in-first-out order.
+     */
+    public final static String FIFO_QUEUE_KEY = "fifo";
+    /**
+     * The property value used to specify that the {@link org.jpromise.PromiseExecutors#COMMON_POOL} executes
+     * locally queued operations in last-in-first-out order.
+     */
+    public final static String LIFO_QUEUE_KEY = "lifo";
+    /**
+     * The property key used to specify that the default {@link java.util.concurrent.Executor} is the shared
+     * {@link org.jpromise.FuturePoller} which watches pending futures without blocking a thread for each of them.
+     */
+    public final static String FUTURE_POLLER_KEY = "future_poller";
 
     /**
      * Returns the default {@link java.util.concurrent.Executor} used when scheduling a composed promise continuation.
@@ -94,9 +139,18 @@ public enum PromiseExecutors implements Executor {
         DEFAULT_FUTURE_EXECUTOR = ExecutorResolver.resolveBySetting(DEFAULT_FUTURE_EXECUTOR_KEY, NEW_THREAD);
     }
 
-    private final static Executor pool = Executors.newCachedThreadPool();
+    private final static Executor pool = CommonPool.create();
     private final static ThreadLocal<Executor> contextExecutor = new ThreadLocal<Executor>();
 
+    /**
+     * Gets whether the runtime supports virtual threads, otherwise the
+     * {@link org.jpromise.PromiseExecutors#VIRTUAL_THREAD} executor falls back to using new daemon threads.
+     * @return {@code true} if virtual threads are supported; otherwise, {@code false}.
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VirtualThreads.isAvailable();
+    }
+
     /**
      * Gets the {@link java.util.concurrent.Executor} associated with the current thread.  If no specific instance
      * has been assigned by calling {@link org.jpromise.PromiseExecutors#setContextExecutor(java.util.concurrent.Executor)}
@@ -3,12 +3,17 @@ package org.jpromise;
 import org.jpromise.functions.OnCompleted;
 import org.jpromise.functions.OnFulfilled;
 
+import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.jpromise.util.MessageUtil.mustNotBeNull;
 
@@ -20,20 +25,6 @@ public class PromiseManager {
         throw new IllegalStateException();
     }
 
-    private static <V> void whenCompleted(Promise<V> promise, Executor executor, OnCompleted<V> action, final Deferred<Void> deferred, final AtomicInteger counter) {
-        if (action != null) {
-            promise = promise.whenCompleted(executor, action);
-        }
-        promise.whenCompleted(new OnCompleted<V>() {
-            @Override
-            public void completed(Promise<V> promise, V result, Throwable exception) throws Throwable {
-                if (counter.decrementAndGet() <= 0) {
-                    deferred.fulfill(null);
-                }
-            }
-        });
-    }
-
     /**
      * Returns a {@link org.jpromise.Promise} representing the completion of all of the specified promises.  Any of
      * the specified promises that are rejected are counted towards the completed promises.
@@ -93,25 +84,20 @@ public class PromiseManager {
             return Promises.fulfilled(null);
         }
 
-        final Deferred<Void> deferred = Promises.defer();
-        final AtomicInteger counter = new AtomicInteger();
-
-        counter.incrementAndGet();
-        for (final Promise<V> promise : promises) {
+        CompletionCounter counter = new CompletionCounter();
+        for (Promise<V> promise : promises) {
             if (promise == null) {
                 continue;
             }
-            counter.incrementAndGet();
-            whenCompleted(promise, executor, action, deferred, counter);
-        }
-        if (counter.decrementAndGet() <= 0) {
-            deferred.fulfill(null);
+            if (action != null) {
+                promise = promise.whenCompleted(executor, action);
+            }
+            counter.add(promise);
         }
-
-        return deferred.promise();
+        return counter.arrive();
     }
 
-    private static <V> void whenFulfilled(Promise<V> promise, Executor executor, OnFulfilled<? super V> action, final Deferred<Void> deferred, final AtomicInteger counter, final AtomicBoolean done) {
+    private static <V> void whenFulfilled(Promise<V> promise, Executor executor, OnFulfilled<? super V> action, final Deferred<Void> deferred, final AtomicInteger counter, final AtomicBoolean done, final Iterable<? extends Promise<V>> promises, final CancellationMode mode) {
         if (action != null) {
             promise = promise.then(executor, action);
         }
@@ -121,6 +107,7 @@ public class PromiseManager {
                 if (promise.isRejected()) {
                     if (done.compareAndSet(false, true)) {
                         deferred.reject(exception);
+                        mode.cancel(promises);
                     }
                 }
                 else {
@@ -153,7 +140,36 @@ public class PromiseManager {
      */
     @SuppressWarnings("unchecked")
     public static Promise<Void> whenAllFulfilled(Iterable<? extends Promise<?>> promises) {
-        return whenAllFulfilledImpl((Iterable) promises, null, null);
+        return whenAllFulfilledImpl((Iterable) promises, null, null, CancellationMode.NONE);
+    }
+
+    /**
+     * Returns a {@link org.jpromise.Promise} representing the successful resolution of the specified promises.  If any
+     * of the specified promises is rejected then the returned promise immediately rejects with the same exception and
+     * the remaining promises are cancelled as specified by the {@link org.jpromise.CancellationMode}.
+     * @param mode Specifies whether the remaining promises are cancelled after the first rejection.
+     * @param promises The array of promises.
+     * @return A new {@link org.jpromise.Promise} that represents the resolution of all of the specified {@code promises}.
+     */
+    public static Promise<Void> whenAllFulfilled(CancellationMode mode, Promise<?>... promises) {
+        if (promises == null || promises.length == 0) {
+            return Promises.fulfilled(null);
+        }
+        return whenAllFulfilled(mode, Arrays.asList(promises));
+    }
+
+    /**
+     * Returns a {@link org.jpromise.Promise} representing the successful resolution of the specified promises.  If any
+     * of the specified promises is rejected then the returned promise immediately rejects with the same exception and
+     * the remaining promises are cancelled as specified by the {@link org.jpromise.CancellationMode}.
+     * @param mode Specifies whether the remaining promises are cancelled after the first rejection.
+     * @param promises The collection of promises.
+     * @return A new {@link org.jpromise.Promise} that represents the resolution of all of the specified {@code promises}.
+     */
+    @SuppressWarnings("unchecked")
+    public static Promise<Void> whenAllFulfilled(CancellationMode mode, Iterable<? extends Promise<?>> promises) {
+        if (mode == null) throw new IllegalArgumentException(mustNotBeNull("mode"));
+        return whenAllFulfilledImpl((Iterable) promises, null, null, mode);
     }
 
     /**
@@ -168,7 +184,7 @@ public class PromiseManager {
      */
     public static <V> Promise<Void> whenAllFulfilled(Iterable<? extends Promise<V>> promises, OnFulfilled<? super V> action) {
         if (action == null) throw new IllegalArgumentException(mustNotBeNull("action"));
-        return whenAllFulfilledImpl(promises, PromiseExecutors.getContextExecutor(), action);
+        return whenAllFulfilledImpl(promises, PromiseExecutors.getContextExecutor(), action, CancellationMode.NONE);
     }
     /**
      * Returns a {@link org.jpromise.Promise} representing the successful resolution of the specified promises after
@@ -184,13 +200,14 @@ public class PromiseManager {
     public static <V> Promise<Void> whenAllFulfilled(Iterable<? extends Promise<V>> promises, Executor executor, OnFulfilled<? super V> action) {
         if (action == null) throw new IllegalArgumentException(mustNotBeNull("action"));
         if (executor == null) throw new IllegalArgumentException(mustNotBeNull("executor"));
-        return whenAllFulfilledImpl(promises, executor, action);
+        return whenAllFulfilledImpl(promises, executor, action, CancellationMode.NONE);
     }
 
-    private static <V> Promise<Void> whenAllFulfilledImpl(Iterable<? extends Promise<V>> promises, Executor executor, OnFulfilled<? super V> action) {
+    private static <V> Promise<Void> whenAllFulfilledImpl(Iterable<? extends Promise<V>> promises, Executor executor, OnFulfilled<? super V> action, CancellationMode mode) {
         if (promises == null) {
             return Promises.fulfilled(null);
         }
+        promises = mode.snapshot(promises);
 
         final Deferred<Void> deferred = Promises.defer();
         final AtomicInteger counter = new AtomicInteger();
@@ -202,7 +219,7 @@ public class PromiseManager {
                 continue;
             }
             counter.incrementAndGet();
-            whenFulfilled(promise, executor, action, deferred, counter, done);
+            whenFulfilled(promise, executor, action, deferred, counter, done, promises, mode);
         }
         if (counter.decrementAndGet() <= 0 && done.compareAndSet(false, true)) {
             deferred.fulfill(null);
@@ -211,6 +228,203 @@ public class PromiseManager {
         return deferred.promise();
     }
 
+    /**
+     * Returns a {@link org.jpromise.Promise} which is fulfilled with the results of the specified promises in the order
+     * in which they were specified.  If any of the specified promises is rejected then the returned promise immediately
+     * rejects with the same exception.  A {@code null} promise contributes a {@code null} result.
+     * @param promises The array of promises.
+     * @param <V> The result type of the promises.
+     * @return A new {@link org.jpromise.Promise} that is fulfilled with the results of the specified {@code promises}.
+     */
+    public static <V> Promise<List<V>> allOf(Promise<? extends V>[] promises) {
+        if (promises == null) {
+            return allOf((Iterable<Promise<V>>)null);
+        }
+        return allOf(Arrays.asList(promises));
+    }
+
+    /**
+     * Returns a {@link org.jpromise.Promise} which is fulfilled with the results of the specified promises in the order
+     * in which they were specified.  If any of the specified promises is rejected then the returned promise immediately
+     * rejects with the same exception.  A {@code null} promise contributes a {@code null} result.
+     * @param promises The collection of promises.
+     * @param <V> The result type of the promises.
+     * @return A new {@link org.jpromise.Promise} that is fulfilled with the results of the specified {@code promises}.
+     */
+    public static <V> Promise<List<V>> allOf(Iterable<? extends Promise<? extends V>> promises) {
+        return allOfImpl(promises, null, CancellationMode.NONE);
+    }
+
+    /**
+     * Returns a {@link org.jpromise.Promise} which is fulfilled with the results of the specified promises in the order
+     * in which they were specified.  If any of the specified promises is rejected then the returned promise immediately
+     * rejects with the same exception and the remaining promises are cancelled as specified by the
+     * {@link org.jpromise.CancellationMode}.  A {@code null} promise contributes a {@code null} result.
+     * @param mode Specifies whether the remaining promises are cancelled after the first rejection.
+     * @param promises The collection of promises.
+     * @param <V> The result type of the promises.
+     * @return A new {@link org.jpromise.Promise} that is fulfilled with the results of the specified {@code promises}.
+     */
+    public static <V> Promise<List<V>> allOf(CancellationMode mode, Iterable<? extends Promise<? extends V>> promises) {
+        if (mode == null) throw new IllegalArgumentException(mustNotBeNull("mode"));
+        return allOfImpl(promises, null, mode);
+    }
+
+    /**
+     * Returns a {@link org.jpromise.Promise} which is fulfilled with an array of the results of the specified promises
+     * in the order in which they were specified.  If any of the specified promises is rejected then the returned
+     * promise immediately rejects with the same exception.  A {@code null} promise contributes a {@code null} result.
+     * @param promises The array of promises.
+     * @param componentType The component type of the array of results.
+     * @param <V> The result type of the promises.
+     * @return A new {@link org.jpromise.Promise} that is fulfilled with the results of the specified {@code promises}.
+     */
+    public static <V> Promise<V[]> allOf(Promise<? extends V>[] promises, Class<V> componentType) {
+        if (promises == null) {
+            return allOf((Iterable<Promise<V>>)null, componentType);
+        }
+        return allOf(Arrays.asList(promises), componentType);
+    }
+
+    /**
+     * Returns a {@link org.jpromise.Promise} which is fulfilled with an array of the results of the specified promises
+     * in the order in which they were specified.  If any of the specified promises is rejected then the returned
+     * promise immediately rejects with the same exception.  A {@code null} promise contributes a {@code null} result.
+     * @param promises The collection of promises.
+     * @param componentType The component type of the array of results.
+     * @param <V> The result type of the promises.
+     * @return A new {@link org.jpromise.Promise} that is fulfilled with the results of the specified {@code promises}.
+     */
+    public static <V> Promise<V[]> allOf(Iterable<? extends Promise<? extends V>> promises, Class<V> componentType) {
+        if (componentType == null) throw new IllegalArgumentException(mustNotBeNull("componentType"));
+        return allOfImpl(promises, componentType, CancellationMode.NONE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> Promise<R> allOfImpl(Iterable<? extends Promise<?>> promises, Class<?> componentType, CancellationMode mode) {
+        return (Promise<R>)new ResultCollector(toCollection(promises, mode), componentType, mode).collect();
+    }
+
+    private static Collection<? extends Promise<?>> toCollection(Iterable<? extends Promise<?>> promises, CancellationMode mode) {
+        if (promises == null) {
+            return Collections.<Promise<?>>emptyList();
+        }
+        if (mode == CancellationMode.NONE && promises instanceof Collection) {
+            return (Collection<? extends Promise<?>>)promises;
+        }
+        List<Promise<?>> list = new ArrayList<Promise<?>>();
+        for (Promise<?> promise : promises) {
+            list.add(promise);
+        }
+        return list;
+    }
+
+    /**
+     * Returns a {@link org.jpromise.Promise} which is fulfilled with the results of the first {@code count} of the
+     * specified promises to be fulfilled, in the order in which they were fulfilled.  Once so many of the promises are
+     * rejected that {@code count} of them can no longer be fulfilled the returned promise is rejected with the exception
+     * of that last rejection.  {@code null} promises are ignored.
+     * @param count The number of promises that must be fulfilled.
+     * @param promises The array of promises.
+     * @param <V> The result type of the promises.
+     * @return A new {@link org.jpromise.Promise} that is fulfilled with the results of the first {@code count}
+     * fulfilled {@code promises}.
+     */
+    public static <V> Promise<List<V>> whenNFulfilled(int count, Promise<? extends V>[] promises) {
+        if (promises == null) {
+            return whenNFulfilled(count, (Iterable<Promise<V>>)null);
+        }
+        return whenNFulfilled(count, Arrays.asList(promises));
+    }
+
+    /**
+     * Returns a {@link org.jpromise.Promise} which is fulfilled with the results of the first {@code count} of the
+     * specified promises to be fulfilled, in the order in which they were fulfilled.  Once so many of the promises are
+     * rejected that {@code count} of them can no longer be fulfilled the returned promise is rejected with the exception
+     * of that last rejection.  {@code null} promises are ignored.
+     * @param count The number of promises that must be fulfilled.
+     * @param promises The collection of promises.
+     * @param <V> The result type of the promises.
+     * @return A new {@link org.jpromise.Promise} that is fulfilled with the results of the first {@code count}
+     * fulfilled {@code promises}.
+     */
+    public static <V> Promise<List<V>> whenNFulfilled(int count, Iterable<? extends Promise<? extends V>> promises) {
+        return whenNFulfilled(CancellationMode.NONE, count, promises);
+    }
+
+    /**
+     * Returns a {@link org.jpromise.Promise} which is fulfilled with the results of the first {@code count} of the
+     * specified promises to be fulfilled, in the order in which they were fulfilled.  Once so many of the promises are
+     * rejected that {@code count} of them can no longer be fulfilled the returned promise is rejected with the exception
+     * of that last rejection.  Once the outcome is decided the remaining promises are cancelled as specified by the
+     * {@link org.jpromise.CancellationMode}.  {@code null} promises are ignored.
+     * @param mode Specifies whether the remaining promises are cancelled once the outcome is decided.
+     * @param count The number of promises that must be fulfilled.
+     * @param promises The collection of promises.
+     * @param <V> The result type of the promises.
+     * @return A new {@link org.jpromise.Promise} that is fulfilled with the results of the first {@code count}
+     * fulfilled {@code promises}.
+     * @throws java.lang.IllegalArgumentException If {@code count} is negative or greater than the number of promises.
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> Promise<List<V>> whenNFulfilled(CancellationMode mode, int count, Iterable<? extends Promise<? extends V>> promises) {
+        if (mode == null) throw new IllegalArgumentException(mustNotBeNull("mode"));
+        Collection<? extends Promise<?>> inputs = toCollection(promises, mode);
+        return (Promise<List<V>>)(Promise)new QuorumCollector(count, QuorumCollector.size(inputs), inputs, mode).collect();
+    }
+
+    /**
+     * Returns a {@link org.jpromise.Promise} which is fulfilled with the results of the first majority of the specified
+     * promises to be fulfilled, in the order in which they were fulfilled.  Once half or more of the promises are
+     * rejected the returned promise is rejected with the exception of that last rejection.  {@code null} promises are
+     * ignored.
+     * @param promises The array of promises.
+     * @param <V> The result type of the promises.
+     * @return A new {@link org.jpromise.Promise} that is fulfilled with the results of the first majority of the
+     * fulfilled {@code promises}.
+     */
+    public static <V> Promise<List<V>> whenMajorityFulfilled(Promise<? extends V>[] promises) {
+        if (promises == null) {
+            return whenMajorityFulfilled((Iterable<Promise<V>>)null);
+        }
+        return whenMajorityFulfilled(Arrays.asList(promises));
+    }
+
+    /**
+     * Returns a {@link org.jpromise.Promise} which is fulfilled with the results of the first majority of the specified
+     * promises to be fulfilled, in the order in which they were fulfilled.  Once half or more of the promises are
+     * rejected the returned promise is rejected with the exception of that last rejection.  {@code null} promises are
+     * ignored.
+     * @param promises The collection of promises.
+     * @param <V> The result type of the promises.
+     * @return A new {@link org.jpromise.Promise} that is fulfilled with the results of the first majority of the
+     * fulfilled {@code promises}.
+     */
+    public static <V> Promise<List<V>> whenMajorityFulfilled(Iterable<? extends Promise<? extends V>> promises) {
+        return whenMajorityFulfilled(CancellationMode.NONE, promises);
+    }
+
+    /**
+     * Returns a {@link org.jpromise.Promise} which is fulfilled with the results of the first majority of the specified
+     * promises to be fulfilled, in the order in which they were fulfilled.  Once half or more of the promises are
+     * rejected the returned promise is rejected with the exception of that last rejection.  Once the outcome is decided
+     * the remaining promises are cancelled as specified by the {@link org.jpromise.CancellationMode}.  {@code null}
+     * promises are ignored.
+     * @param mode Specifies whether the remaining promises are cancelled once the outcome is decided.
+     * @param promises The collection of promises.
+     * @param <V> The result type of the promises.
+     * @return A new {@link org.jpromise.Promise} that is fulfilled with the results of the first majority of the
+     * fulfilled {@code promises}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> Promise<List<V>> whenMajorityFulfilled(CancellationMode mode, Iterable<? extends Promise<? extends V>> promises) {
+        if (mode == null) throw new IllegalArgumentException(mustNotBeNull("mode"));
+        Collection<? extends Promise<?>> inputs = toCollection(promises, mode);
+        int size = QuorumCollector.size(inputs);
+        int count = size == 0 ? 0 : size / 2 + 1;
+        return (Promise<List<V>>)(Promise)new QuorumCollector(count, size, inputs, mode).collect();
+    }
+
     /**
      * Returns a new {@link org.jpromise.Promise} which is completed propagating the result or rejection of the first
      * of the specified promises that are completed.
@@ -307,13 +521,52 @@ public class PromiseManager {
      * {@code promises}.
      */
     public static <V> Promise<V> whenAnyCompleted(Iterable<? extends Promise<V>> promises) {
+        return whenAnyCompletedImpl(promises, CancellationMode.NONE);
+    }
+
+    /**
+     * Returns a new {@link org.jpromise.Promise} which is completed propagating the result or rejection of the first
+     * of the specified promises that are completed.  The remaining promises are then cancelled as specified by the
+     * {@link org.jpromise.CancellationMode}.
+     * @param mode Specifies whether the remaining promises are cancelled after the first completion.
+     * @param promises The array of promises.
+     * @param <V> The result type of the promises.
+     * @return A {@link org.jpromise.Promise} which will propagate the completion of the first of the completed
+     * {@code promises}.
+     */
+    public static <V> Promise<V> whenAnyCompleted(CancellationMode mode, Promise<V>... promises) {
+        if (mode == null) throw new IllegalArgumentException(mustNotBeNull("mode"));
+        if (promises == null || promises.length == 0) {
+            Deferred<V> deferred = Promises.defer();
+            return deferred.promise();
+        }
+        return whenAnyCompletedImpl(Arrays.asList(promises), mode);
+    }
+
+    /**
+     * Returns a new {@link org.jpromise.Promise} which is completed propagating the result or rejection of the first
+     * of the specified promises that are completed.  The remaining promises are then cancelled as specified by the
+     * {@link org.jpromise.CancellationMode}.
+     * @param mode Specifies whether the remaining promises are cancelled after the first completion.
+     * @param promises The collection of promises.
+     * @param <V> The result type of the promises.
+     * @return A {@link org.jpromise.Promise} which will propagate the completion of the first of the completed
+     * {@code promises}.
+     */
+    public static <V> Promise<V> whenAnyCompleted(CancellationMode mode, Iterable<? extends Promise<V>> promises) {
+        if (mode == null) throw new IllegalArgumentException(mustNotBeNull("mode"));
+        return whenAnyCompletedImpl(promises, mode);
+    }
+
+    private static <V> Promise<V> whenAnyCompletedImpl(Iterable<? extends Promise<V>> promises, final CancellationMode mode) {
         final Deferred<V> deferred = Promises.defer();
         if (promises == null) {
             return deferred.promise();
         }
 
+        final Iterable<? extends Promise<V>> inputs = mode.snapshot(promises);
         final AtomicBoolean done = new AtomicBoolean();
-        for (Promise<V> promise : promises) {
+        for (Promise<V> promise : inputs) {
             if (promise == null) {
                 continue;
             }
@@ -329,6 +582,7 @@ public class PromiseManager {
                                 deferred.reject(exception);
                                 break;
                         }
+                        mode.cancel(inputs);
                     }
                 }
             });
@@ -434,13 +688,52 @@ public class PromiseManager {
      * {@code promises}.
      */
     public static <V> Promise<V> whenAnyFulfilled(Iterable<? extends Promise<V>> promises) {
+        return whenAnyFulfilledImpl(promises, CancellationMode.NONE);
+    }
+
+    /**
+     * Returns a new {@link org.jpromise.Promise} which is completed with the result of the first fulfilled promise.  The
+     * remaining promises are then cancelled as specified by the {@link org.jpromise.CancellationMode}.  If none of the
+     * specified promises fulfill successfully then the returned promise will never be completed.
+     * @param mode Specifies whether the remaining promises are cancelled after the first fulfillment.
+     * @param promises The array of promises.
+     * @param <V> The result type of the promises.
+     * @return A {@link org.jpromise.Promise} which will propagate the fulfilled result of the first of the fulfilled
+     * {@code promises}.
+     */
+    public static <V> Promise<V> whenAnyFulfilled(CancellationMode mode, Promise<V>... promises) {
+        if (mode == null) throw new IllegalArgumentException(mustNotBeNull("mode"));
+        if (promises == null || promises.length == 0) {
+            Deferred<V> deferred = Promises.defer();
+            return deferred.promise();
+        }
+        return whenAnyFulfilledImpl(Arrays.asList(promises), mode);
+    }
+
+    /**
+     * Returns a new {@link org.jpromise.Promise} which is completed with the result of the first fulfilled promise.  The
+     * remaining promises are then cancelled as specified by the {@link org.jpromise.CancellationMode}.  If none of the
+     * specified promises fulfill successfully then the returned promise will never be completed.
+     * @param mode Specifies whether the remaining promises are cancelled after the first fulfillment.
+     * @param promises The collection of promises.
+     * @param <V> The result type of the promises.
+     * @return A {@link org.jpromise.Promise} which will propagate the fulfilled result of the first of the fulfilled
+     * {@code promises}.
+     */
+    public static <V> Promise<V> whenAnyFulfilled(CancellationMode mode, Iterable<? extends Promise<V>> promises) {
+        if (mode == null) throw new IllegalArgumentException(mustNotBeNull("mode"));
+        return whenAnyFulfilledImpl(promises, mode);
+    }
+
+    private static <V> Promise<V> whenAnyFulfilledImpl(Iterable<? extends Promise<V>> promises, final CancellationMode mode) {
         final Deferred<V> deferred = Promises.defer();
         if (promises == null) {
             return deferred.promise();
         }
 
+        final Iterable<? extends Promise<V>> inputs = mode.snapshot(promises);
         final AtomicBoolean done = new AtomicBoolean();
-        for (Promise<V> promise : promises) {
+        for (Promise<V> promise : inputs) {
             if (promise == null) {
                 continue;
             }
@@ -449,6 +742,7 @@ public class PromiseManager {
                 public void completed(Promise<V> promise, V result, Throwable exception) throws Throwable {
                     if (promise.isFulfilled() && done.compareAndSet(false, true)) {
                         deferred.fulfill(result);
+                        mode.cancel(inputs);
                     }
                 }
             });
@@ -456,4 +750,492 @@ public class PromiseManager {
 
         return deferred.promise();
     }
+
+    /**
+     * Returns a new {@link org.jpromise.LongPromise} which is fulfilled with the sum of the results of the specified
+     * promises without boxing the results.  If any of the specified promises is rejected then the returned promise
+     * immediately rejects with the same exception.  If no promises are specified the returned promise is fulfilled with zero.
+     * @param promises The array of promises.
+     * @return A new {@link org.jpromise.LongPromise} that represents the sum of the specified {@code promises}.
+     */
+    public static LongPromise sumLong(LongPromise... promises) {
+        if (promises == null) {
+            return sumLong((Iterable<LongPromise>)null);
+        }
+        return sumLong(Arrays.asList(promises));
+    }
+
+    /**
+     * Returns a new {@link org.jpromise.LongPromise} which is fulfilled with the sum of the results of the specified
+     * promises without boxing the results.  If any of the specified promises is rejected then the returned promise
+     * immediately rejects with the same exception.  If no promises are specified the returned promise is fulfilled with zero.
+     * @param promises The collection of promises.
+     * @return A new {@link org.jpromise.LongPromise} that represents the sum of the specified {@code promises}.
+     */
+    public static LongPromise sumLong(Iterable<? extends LongPromise> promises) {
+        return new LongAggregation(false).aggregate(promises);
+    }
+
+    /**
+     * Returns a new {@link org.jpromise.LongPromise} which is fulfilled with the maximum of the results of the specified
+     * promises without boxing the results.  If any of the specified promises is rejected then the returned promise
+     * immediately rejects with the same exception.  If no promises are specified the returned promise is rejected with a {@link java.util.NoSuchElementException}.
+     * @param promises The array of promises.
+     * @return A new {@link org.jpromise.LongPromise} that represents the maximum of the specified {@code promises}.
+     */
+    public static LongPromise maxLong(LongPromise... promises) {
+        if (promises == null) {
+            return maxLong((Iterable<LongPromise>)null);
+        }
+        return maxLong(Arrays.asList(promises));
+    }
+
+    /**
+     * Returns a new {@link org.jpromise.LongPromise} which is fulfilled with the maximum of the results of the specified
+     * promises without boxing the results.  If any of the specified promises is rejected then the returned promise
+     * immediately rejects with the same exception.  If no promises are specified the returned promise is rejected with a {@link java.util.NoSuchElementException}.
+     * @param promises The collection of promises.
+     * @return A new {@link org.jpromise.LongPromise} that represents the maximum of the specified {@code promises}.
+     */
+    public static LongPromise maxLong(Iterable<? extends LongPromise> promises) {
+        return new LongAggregation(true).aggregate(promises);
+    }
+
+    /**
+     * Returns a new {@link org.jpromise.DoublePromise} which is fulfilled with the sum of the results of the specified
+     * promises without boxing the results.  If any of the specified promises is rejected then the returned promise
+     * immediately rejects with the same exception.  If no promises are specified the returned promise is fulfilled with zero.
+     * @param promises The array of promises.
+     * @return A new {@link org.jpromise.DoublePromise} that represents the sum of the specified {@code promises}.
+     */
+    public static DoublePromise sumDouble(DoublePromise... promises) {
+        if (promises == null) {
+            return sumDouble((Iterable<DoublePromise>)null);
+        }
+        return sumDouble(Arrays.asList(promises));
+    }
+
+    /**
+     * Returns a new {@link org.jpromise.DoublePromise} which is fulfilled with the sum of the results of the specified
+     * promises without boxing the results.  If any of the specified promises is rejected then the returned promise
+     * immediately rejects with the same exception.  If no promises are specified the returned promise is fulfilled with zero.
+     * @param promises The collection of promises.
+     * @return A new {@link org.jpromise.DoublePromise} that represents the sum of the specified {@code promises}.
+     */
+    public static DoublePromise sumDouble(Iterable<? extends DoublePromise> promises) {
+        return new DoubleAggregation(false).aggregate(promises);
+    }
+
+    /**
+     * Returns a new {@link org.jpromise.DoublePromise} which is fulfilled with the maximum of the results of the specified
+     * promises without boxing the results.  If any of the specified promises is rejected then the returned promise
+     * immediately rejects with the same exception.  If no promises are specified the returned promise is rejected with a {@link java.util.NoSuchElementException}.
+     * @param promises The array of promises.
+     * @return A new {@link org.jpromise.DoublePromise} that represents the maximum of the specified {@code promises}.
+     */
+    public static DoublePromise maxDouble(DoublePromise... promises) {
+        if (promises == null) {
+            return maxDouble((Iterable<DoublePromise>)null);
+        }
+        return maxDouble(Arrays.asList(promises));
+    }
+
+    /**
+     * Returns a new {@link org.jpromise.DoublePromise} which is fulfilled with the maximum of the results of the specified
+     * promises without boxing the results.  If any of the specified promises is rejected then the returned promise
+     * immediately rejects with the same exception.  If no promises are specified the returned promise is rejected with a {@link java.util.NoSuchElementException}.
+     * @param promises The collection of promises.
+     * @return A new {@link org.jpromise.DoublePromise} that represents the maximum of the specified {@code promises}.
+     */
+    public static DoublePromise maxDouble(Iterable<? extends DoublePromise> promises) {
+        return new DoubleAggregation(true).aggregate(promises);
+    }
+
+    private static final class LongAggregation implements Continuation<Long>, PrimitiveContinuation {
+        private final boolean max;
+        private final LongDeferred deferred = Promises.deferLong();
+        private final AtomicInteger remaining = new AtomicInteger(1);
+        private final AtomicLong value;
+        private volatile boolean any;
+
+        LongAggregation(boolean max) {
+            this.max = max;
+            this.value = new AtomicLong(max ? Long.MIN_VALUE : 0L);
+        }
+
+        @SuppressWarnings("unchecked")
+        LongPromise aggregate(Iterable<? extends LongPromise> promises) {
+            if (promises != null) {
+                for (LongPromise promise : promises) {
+                    if (promise == null) {
+                        continue;
+                    }
+                    remaining.incrementAndGet();
+                    if (promise instanceof AbstractPromise) {
+                        ((AbstractPromise<Long>)promise).registerCallback(this);
+                    }
+                    else {
+                        promise.whenCompleted(PromiseExecutors.CURRENT_THREAD, new OnCompleted<Long>() {
+                            @Override
+                            public void completed(Promise<Long> promise, Long result, Throwable exception) throws Throwable {
+                                if (exception != null) {
+                                    deferred.reject(exception);
+                                }
+                                else if (result == null) {
+                                    // unboxing would throw from the callback and leave the aggregate pending forever
+                                    deferred.reject(new NullPointerException("The promise was fulfilled with null."));
+                                }
+                                else {
+                                    accumulate(result);
+                                }
+                            }
+                        });
+                    }
+                }
+            }
+            arrive();
+            return deferred.promise();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void completed(Promise<Long> promise, Long result, Throwable exception) {
+            if (exception != null) {
+                deferred.reject(exception);
+                return;
+            }
+            try {
+                accumulate(((AbstractPromise<Long>)promise).getNowLong(0L));
+            }
+            catch (Throwable thrown) {
+                deferred.reject(thrown);
+            }
+        }
+
+        private void accumulate(long result) {
+            any = true;
+            if (!max) {
+                value.addAndGet(result);
+            }
+            else {
+                for (;;) {
+                    long current = value.get();
+                    if (result <= current || value.compareAndSet(current, result)) {
+                        break;
+                    }
+                }
+            }
+            arrive();
+        }
+
+        private void arrive() {
+            if (remaining.decrementAndGet() == 0) {
+                if (max && !any) {
+                    deferred.reject(new NoSuchElementException());
+                }
+                else {
+                    deferred.fulfill(value.get());
+                }
+            }
+        }
+    }
+
+    private static final class DoubleAggregation implements Continuation<Double>, PrimitiveContinuation {
+        private final boolean max;
+        private final DoubleDeferred deferred = Promises.deferDouble();
+        private final AtomicInteger remaining = new AtomicInteger(1);
+        private final AtomicLong bits;
+        private volatile boolean any;
+
+        DoubleAggregation(boolean max) {
+            this.max = max;
+            this.bits = new AtomicLong(Double.doubleToRawLongBits(max ? Double.NEGATIVE_INFINITY : 0.0));
+        }
+
+        @SuppressWarnings("unchecked")
+        DoublePromise aggregate(Iterable<? extends DoublePromise> promises) {
+            if (promises != null) {
+                for (DoublePromise promise : promises) {
+                    if (promise == null) {
+                        continue;
+                    }
+                    remaining.incrementAndGet();
+                    if (promise instanceof AbstractPromise) {
+                        ((AbstractPromise<Double>)promise).registerCallback(this);
+                    }
+                    else {
+                        promise.whenCompleted(PromiseExecutors.CURRENT_THREAD, new OnCompleted<Double>() {
+                            @Override
+                            public void completed(Promise<Double> promise, Double result, Throwable exception) throws Throwable {
+                                if (exception != null) {
+                                    deferred.reject(exception);
+                                }
+                                else if (result == null) {
+                                    // unboxing would throw from the callback and leave the aggregate pending forever
+                                    deferred.reject(new NullPointerException("The promise was fulfilled with null."));
+                                }
+                                else {
+                                    accumulate(result);
+                                }
+                            }
+                        });
+                    }
+                }
+            }
+            arrive();
+            return deferred.promise();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void completed(Promise<Double> promise, Double result, Throwable exception) {
+            if (exception != null) {
+                deferred.reject(exception);
+                return;
+            }
+            try {
+                accumulate(((AbstractPromise<Double>)promise).getNowDouble(0.0));
+            }
+            catch (Throwable thrown) {
+                deferred.reject(thrown);
+            }
+        }
+
+        private void accumulate(double result) {
+            any = true;
+            for (;;) {
+                long current = bits.get();
+                double currentValue = Double.longBitsToDouble(current);
+                double updated = max ? Math.max(currentValue, result) : currentValue + result;
+                if (bits.compareAndSet(current, Double.doubleToRawLongBits(updated))) {
+                    break;
+                }
+            }
+            arrive();
+        }
+
+        private void arrive() {
+            if (remaining.decrementAndGet() == 0) {
+                if (max && !any) {
+                    deferred.reject(new NoSuchElementException());
+                }
+                else {
+                    deferred.fulfill(Double.longBitsToDouble(bits.get()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts down the completion of the promises with a single continuation shared by all of them instead of composing
+     * a new promise onto each one.
+     */
+    private static final class CompletionCounter implements Continuation<Object>, PrimitiveContinuation {
+        private final Deferred<Void> deferred = Promises.defer();
+        private final AtomicInteger remaining = new AtomicInteger(1);
+
+        @SuppressWarnings("unchecked")
+        void add(Promise<?> promise) {
+            remaining.incrementAndGet();
+            if (promise instanceof AbstractPromise) {
+                ((AbstractPromise<Object>)promise).registerCallback(this);
+            }
+            else {
+                ((Promise<Object>)promise).whenCompleted(PromiseExecutors.CURRENT_THREAD, this);
+            }
+        }
+
+        Promise<Void> arrive() {
+            if (remaining.decrementAndGet() == 0) {
+                deferred.fulfill(null);
+            }
+            return deferred.promise();
+        }
+
+        @Override
+        public void completed(Promise<Object> promise, Object result, Throwable exception) {
+            arrive();
+        }
+    }
+
+    /**
+     * Writes the result of each promise into its slot of a preallocated array as it arrives and counts down with a
+     * single counter, so each promise is only given a small {@link Slot} carrying its index instead of a composed
+     * promise.
+     */
+    private static final class ResultCollector {
+        private final Deferred<Object> deferred = Promises.defer();
+        private final Collection<? extends Promise<?>> promises;
+        private final Object[] results;
+        private final boolean array;
+        private final CancellationMode mode;
+        private final AtomicInteger remaining;
+
+        ResultCollector(Collection<? extends Promise<?>> promises, Class<?> componentType, CancellationMode mode) {
+            int size = promises.size();
+            this.promises = promises;
+            this.array = componentType != null;
+            this.results = array ? (Object[])Array.newInstance(componentType, size) : new Object[size];
+            this.mode = mode;
+            this.remaining = new AtomicInteger(size + 1);
+        }
+
+        @SuppressWarnings("unchecked")
+        Promise<Object> collect() {
+            int index = 0;
+            int registered = 0;
+            for (Promise<?> promise : promises) {
+                if (index == results.length) {
+                    break;
+                }
+                if (promise != null) {
+                    Slot slot = new Slot(this, index);
+                    if (promise instanceof AbstractPromise) {
+                        ((AbstractPromise<Object>)promise).registerCallback(slot);
+                    }
+                    else {
+                        ((Promise<Object>)promise).whenCompleted(PromiseExecutors.CURRENT_THREAD, slot);
+                    }
+                    registered += 1;
+                }
+                index += 1;
+            }
+            arrive(results.length - registered + 1);
+            return deferred.promise();
+        }
+
+        void set(int index, Object result, Throwable exception) {
+            if (exception != null) {
+                if (deferred.reject(exception)) {
+                    mode.cancel(promises);
+                }
+                return;
+            }
+            results[index] = result;
+            arrive(1);
+        }
+
+        private void arrive(int count) {
+            if (remaining.addAndGet(-count) == 0) {
+                deferred.fulfill(array ? results : Arrays.asList(results));
+            }
+        }
+    }
+
+    private static final class Slot implements Continuation<Object> {
+        private final ResultCollector collector;
+        private final int index;
+
+        Slot(ResultCollector collector, int index) {
+            this.collector = collector;
+            this.index = index;
+        }
+
+        @Override
+        public void completed(Promise<Object> promise, Object result, Throwable exception) {
+            collector.set(index, result, exception);
+        }
+    }
+
+    /**
+     * Collects the first results of a quorum of promises with a single continuation shared by all of them.  One packed
+     * counter holds the number of result slots claimed, the number of results published into their slots and the
+     * number of rejections, so the outcome is decided without locking.
+     */
+    private static final class QuorumCollector implements Continuation<Object> {
+        private static final int BITS = 21;
+        private static final long MASK = (1L << BITS) - 1L;
+        private static final int CLAIMED_SHIFT = BITS;
+        private static final int PUBLISHED_SHIFT = BITS * 2;
+        private static final long REJECTED_UNIT = 1L;
+        private static final long CLAIMED_UNIT = 1L << CLAIMED_SHIFT;
+        private static final long PUBLISHED_UNIT = 1L << PUBLISHED_SHIFT;
+
+        private final Deferred<Object> deferred = Promises.defer();
+        private final AtomicLong state = new AtomicLong();
+        private final Collection<? extends Promise<?>> promises;
+        private final Object[] results;
+        private final CancellationMode mode;
+        private final int tolerated;
+
+        static int size(Collection<? extends Promise<?>> promises) {
+            int size = 0;
+            for (Promise<?> promise : promises) {
+                if (promise != null) {
+                    size += 1;
+                }
+            }
+            return size;
+        }
+
+        QuorumCollector(int count, int size, Collection<? extends Promise<?>> promises, CancellationMode mode) {
+            if (count < 0 || count > size) {
+                throw new IllegalArgumentException(String.format("The count %d must be between 0 and the number of promises %d.", count, size));
+            }
+            if (size > MASK) {
+                throw new IllegalArgumentException(String.format("The number of promises %d must not exceed %d.", size, MASK));
+            }
+            this.promises = promises;
+            this.results = new Object[count];
+            this.mode = mode;
+            this.tolerated = size - count;
+        }
+
+        @SuppressWarnings("unchecked")
+        Promise<Object> collect() {
+            if (results.length == 0) {
+                deferred.fulfill(Arrays.asList(results));
+                return deferred.promise();
+            }
+            for (Promise<?> promise : promises) {
+                if (promise == null) {
+                    continue;
+                }
+                if (deferred.promise().isDone()) {
+                    break;
+                }
+                if (promise instanceof AbstractPromise) {
+                    ((AbstractPromise<Object>)promise).registerCallback(this);
+                }
+                else {
+                    ((Promise<Object>)promise).whenCompleted(PromiseExecutors.CURRENT_THREAD, this);
+                }
+            }
+            return deferred.promise();
+        }
+
+        @Override
+        public void completed(Promise<Object> promise, Object result, Throwable exception) {
+            if (exception != null) {
+                long current = state.addAndGet(REJECTED_UNIT);
+                if ((current & MASK) == tolerated + 1) {
+                    decide(false, exception);
+                }
+                return;
+            }
+            int index;
+            for (;;) {
+                long current = state.get();
+                index = (int)((current >>> CLAIMED_SHIFT) & MASK);
+                if (index >= results.length) {
+                    return;
+                }
+                if (state.compareAndSet(current, current + CLAIMED_UNIT)) {
+                    break;
+                }
+            }
+            results[index] = result;
+            long current = state.addAndGet(PUBLISHED_UNIT);
+            if (((current >>> PUBLISHED_SHIFT) & MASK) == results.length) {
+                decide(true, null);
+            }
+        }
+
+        private void decide(boolean fulfilled, Throwable exception) {
+            boolean decided = fulfilled ? deferred.fulfill(Arrays.asList(results)) : deferred.reject(exception);
+            if (decided) {
+                mode.cancel(promises);
+            }
+        }
+    }
 }
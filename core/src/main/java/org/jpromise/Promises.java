@@ -1,6 +1,6 @@
 package org.jpromise;
 
-import org.jpromise.functions.OnFulfilled;
+import org.jpromise.functions.*;
 
 import java.util.concurrent.Callable;
 import java.util.concurrent.Executor;
@@ -17,6 +17,30 @@ public class Promises {
         throw new IllegalStateException();
     }
 
+    private static final OnFulfilledIntFunction INT_IDENTITY = new OnFulfilledIntFunction() {
+        @Override
+        public int fulfilled(int result) {
+            return result;
+        }
+    };
+    private static final OnFulfilledLongFunction LONG_IDENTITY = new OnFulfilledLongFunction() {
+        @Override
+        public long fulfilled(long result) {
+            return result;
+        }
+    };
+    private static final OnFulfilledDoubleFunction DOUBLE_IDENTITY = new OnFulfilledDoubleFunction() {
+        @Override
+        public double fulfilled(double result) {
+            return result;
+        }
+    };
+
+    @SuppressWarnings("unchecked")
+    private static void propagate(Promise<? extends Number> promise, OnCompleted<Number> action) {
+        ((Promise<Number>)promise).whenCompleted(PromiseExecutors.CURRENT_THREAD, action);
+    }
+
     /**
      * Creates a new {@link org.jpromise.Deferred} operation that can be used to generate a {@link org.jpromise.Promise}
      * that is eventually completed.
@@ -38,6 +62,166 @@ public class Promises {
         return new DeferredPromise<V>();
     }
 
+    /**
+     * Creates a new {@link org.jpromise.IntDeferred} operation that can be used to generate an
+     * {@link org.jpromise.IntPromise} that is eventually completed with a primitive {@code int} result.
+     * @return The deferred operation.
+     */
+    public static IntDeferred deferInt() {
+        return new IntDeferredPromise();
+    }
+
+    /**
+     * Returns a new {@link org.jpromise.IntPromise} that is already fulfilled with the specified result.
+     * @param result The result of the returned promise.
+     * @return A fulfilled promise.
+     */
+    public static IntPromise fulfilledInt(int result) {
+        IntDeferred deferred = deferInt();
+        deferred.fulfill(result);
+        return deferred.promise();
+    }
+
+    /**
+     * Returns an {@link org.jpromise.IntPromise} which is completed with the result of the specified promise
+     * converted to a primitive {@code int}.  If the specified promise is already an {@link org.jpromise.IntPromise}
+     * it is returned as is.
+     * @param promise The promise to convert.
+     * @return The {@link org.jpromise.IntPromise} representing the result of the specified {@code promise}.
+     */
+    public static IntPromise toIntPromise(Promise<? extends Number> promise) {
+        if (promise == null) throw new IllegalArgumentException(mustNotBeNull("promise"));
+        if (promise instanceof IntPromise) {
+            return (IntPromise)promise;
+        }
+        if (promise instanceof AbstractPromise) {
+            return ((AbstractPromise<?>)promise).applyInt(PromiseExecutors.CURRENT_THREAD, INT_IDENTITY);
+        }
+        final IntDeferred deferred = deferInt();
+        propagate(promise, new OnCompleted<Number>() {
+            @Override
+            public void completed(Promise<Number> promise, Number result, Throwable exception) throws Throwable {
+                if (exception != null) {
+                    deferred.reject(exception);
+                }
+                else if (result == null) {
+                    // unboxing would throw from the callback and leave the returned promise pending forever
+                    deferred.reject(new NullPointerException("The promise was fulfilled with null."));
+                }
+                else {
+                    deferred.fulfill(result.intValue());
+                }
+            }
+        });
+        return deferred.promise();
+    }
+
+    /**
+     * Creates a new {@link org.jpromise.LongDeferred} operation that can be used to generate a
+     * {@link org.jpromise.LongPromise} that is eventually completed with a primitive {@code long} result.
+     * @return The deferred operation.
+     */
+    public static LongDeferred deferLong() {
+        return new LongDeferredPromise();
+    }
+
+    /**
+     * Returns a new {@link org.jpromise.LongPromise} that is already fulfilled with the specified result.
+     * @param result The result of the returned promise.
+     * @return A fulfilled promise.
+     */
+    public static LongPromise fulfilledLong(long result) {
+        LongDeferred deferred = deferLong();
+        deferred.fulfill(result);
+        return deferred.promise();
+    }
+
+    /**
+     * Returns a {@link org.jpromise.LongPromise} which is completed with the result of the specified promise
+     * converted to a primitive {@code long}.  If the specified promise is already a {@link org.jpromise.LongPromise}
+     * it is returned as is.
+     * @param promise The promise to convert.
+     * @return The {@link org.jpromise.LongPromise} representing the result of the specified {@code promise}.
+     */
+    public static LongPromise toLongPromise(Promise<? extends Number> promise) {
+        if (promise == null) throw new IllegalArgumentException(mustNotBeNull("promise"));
+        if (promise instanceof LongPromise) {
+            return (LongPromise)promise;
+        }
+        if (promise instanceof AbstractPromise) {
+            return ((AbstractPromise<?>)promise).applyLong(PromiseExecutors.CURRENT_THREAD, LONG_IDENTITY);
+        }
+        final LongDeferred deferred = deferLong();
+        propagate(promise, new OnCompleted<Number>() {
+            @Override
+            public void completed(Promise<Number> promise, Number result, Throwable exception) throws Throwable {
+                if (exception != null) {
+                    deferred.reject(exception);
+                }
+                else if (result == null) {
+                    deferred.reject(new NullPointerException("The promise was fulfilled with null."));
+                }
+                else {
+                    deferred.fulfill(result.longValue());
+                }
+            }
+        });
+        return deferred.promise();
+    }
+
+    /**
+     * Creates a new {@link org.jpromise.DoubleDeferred} operation that can be used to generate a
+     * {@link org.jpromise.DoublePromise} that is eventually completed with a primitive {@code double} result.
+     * @return The deferred operation.
+     */
+    public static DoubleDeferred deferDouble() {
+        return new DoubleDeferredPromise();
+    }
+
+    /**
+     * Returns a new {@link org.jpromise.DoublePromise} that is already fulfilled with the specified result.
+     * @param result The result of the returned promise.
+     * @return A fulfilled promise.
+     */
+    public static DoublePromise fulfilledDouble(double result) {
+        DoubleDeferred deferred = deferDouble();
+        deferred.fulfill(result);
+        return deferred.promise();
+    }
+
+    /**
+     * Returns a {@link org.jpromise.DoublePromise} which is completed with the result of the specified promise
+     * converted to a primitive {@code double}.  If the specified promise is already a {@link org.jpromise.DoublePromise}
+     * it is returned as is.
+     * @param promise The promise to convert.
+     * @return The {@link org.jpromise.DoublePromise} representing the result of the specified {@code promise}.
+     */
+    public static DoublePromise toDoublePromise(Promise<? extends Number> promise) {
+        if (promise == null) throw new IllegalArgumentException(mustNotBeNull("promise"));
+        if (promise instanceof DoublePromise) {
+            return (DoublePromise)promise;
+        }
+        if (promise instanceof AbstractPromise) {
+            return ((AbstractPromise<?>)promise).applyDouble(PromiseExecutors.CURRENT_THREAD, DOUBLE_IDENTITY);
+        }
+        final DoubleDeferred deferred = deferDouble();
+        propagate(promise, new OnCompleted<Number>() {
+            @Override
+            public void completed(Promise<Number> promise, Number result, Throwable exception) throws Throwable {
+                if (exception != null) {
+                    deferred.reject(exception);
+                }
+                else if (result == null) {
+                    deferred.reject(new NullPointerException("The promise was fulfilled with null."));
+                }
+                else {
+                    deferred.fulfill(result.doubleValue());
+                }
+            }
+        });
+        return deferred.promise();
+    }
+
     /**
      * Returns a new {@link org.jpromise.Promise} that is already fulfilled.
      * @return A fulfilled promise.
@@ -93,6 +277,171 @@ public class Promises {
         return new TimerPromise(timeout, timeUnit);
     }
 
+    /**
+     * Returns a promise that is completed with the result of the specified promise or is rejected with a
+     * {@link java.util.concurrent.TimeoutException} if the specified promise does not complete within the specified
+     * timeout.  The timeout is tracked on a shared timer without blocking a thread and the specified promise is not
+     * cancelled.
+     * @param promise The promise to wait for.
+     * @param timeout The maximum amount of time to wait for the promise to complete.
+     * @param timeUnit The unit of time for the {@code timeout} argument.
+     * @param <V> The result type of the promise.
+     * @return A new promise that will be completed with the result of the promise or rejected on timeout.
+     */
+    public static <V> Promise<V> orTimeout(Promise<V> promise, long timeout, TimeUnit timeUnit) {
+        if (promise == null) throw new IllegalArgumentException(mustNotBeNull("promise"));
+        if (timeUnit == null) throw new IllegalArgumentException(mustNotBeNull("timeUnit"));
+        if (promise.isDone()) {
+            return promise;
+        }
+        return TimeoutPromise.orTimeout(promise, timeout, timeUnit);
+    }
+
+    /**
+     * Returns a promise that is completed with the result of the specified promise or is fulfilled with the specified
+     * value if the specified promise does not complete within the specified timeout.  The timeout is tracked on a
+     * shared timer without blocking a thread and the specified promise is not cancelled.
+     * @param promise The promise to wait for.
+     * @param value The value with which to fulfill the returned promise if the timeout elapses.
+     * @param timeout The maximum amount of time to wait for the promise to complete.
+     * @param timeUnit The unit of time for the {@code timeout} argument.
+     * @param <V> The result type of the promise.
+     * @return A new promise that will be completed with the result of the promise or the specified {@code value}.
+     */
+    public static <V> Promise<V> completeOnTimeout(Promise<V> promise, V value, long timeout, TimeUnit timeUnit) {
+        if (promise == null) throw new IllegalArgumentException(mustNotBeNull("promise"));
+        if (timeUnit == null) throw new IllegalArgumentException(mustNotBeNull("timeUnit"));
+        if (promise.isDone()) {
+            return promise;
+        }
+        return TimeoutPromise.completeOnTimeout(promise, value, timeout, timeUnit);
+    }
+
+    /**
+     * Returns a new {@link org.jpromise.Promise} for an operation that is hedged by starting another attempt whenever
+     * the previous attempt has not completed within the hedge delay, up to the specified number of attempts.  The
+     * promise is fulfilled by the first attempt to be fulfilled, after which the outstanding attempts are cancelled,
+     * and it is rejected once every attempt has been rejected.  An attempt that is rejected while no other attempt is
+     * outstanding starts the next attempt immediately.  Cancelling the promise cancels the outstanding attempts.
+     * @param attempt The operation that starts an attempt and returns a {@link java.util.concurrent.Future}
+     *                representing it.
+     * @param hedgeDelay The amount of time to wait for an attempt before starting the next attempt.
+     * @param timeUnit The unit of time for the {@code hedgeDelay} argument.
+     * @param maxAttempts The maximum number of attempts to start.
+     * @param <V> The result type of the operation.
+     * @return A promise representing the first attempt of the operation to be fulfilled.
+     */
+    public static <V> Promise<V> hedge(Callable<? extends Future<V>> attempt, long hedgeDelay, TimeUnit timeUnit, int maxAttempts) {
+        return hedge(PromiseExecutors.DEFAULT_CREATION_EXECUTOR, attempt, hedgeDelay, timeUnit, maxAttempts);
+    }
+
+    /**
+     * Returns a new {@link org.jpromise.Promise} for an operation that is hedged by starting another attempt whenever
+     * the previous attempt has not completed within the hedge delay, up to the specified number of attempts.  The first
+     * attempt is started by the calling thread and every other attempt is started on the specified
+     * {@link java.util.concurrent.Executor}.  The promise is fulfilled by the first attempt to be fulfilled, after
+     * which the outstanding attempts are cancelled, and it is rejected once every attempt has been rejected.  An
+     * attempt that is rejected while no other attempt is outstanding starts the next attempt immediately.  Cancelling
+     * the promise cancels the outstanding attempts.
+     * @param executor The {@link java.util.concurrent.Executor} on which to start the hedged attempts.
+     * @param attempt The operation that starts an attempt and returns a {@link java.util.concurrent.Future}
+     *                representing it.
+     * @param hedgeDelay The amount of time to wait for an attempt before starting the next attempt.
+     * @param timeUnit The unit of time for the {@code hedgeDelay} argument.
+     * @param maxAttempts The maximum number of attempts to start.
+     * @param <V> The result type of the operation.
+     * @return A promise representing the first attempt of the operation to be fulfilled.
+     */
+    public static <V> Promise<V> hedge(Executor executor, Callable<? extends Future<V>> attempt, long hedgeDelay, TimeUnit timeUnit, int maxAttempts) {
+        if (executor == null) throw new IllegalArgumentException(mustNotBeNull("executor"));
+        if (attempt == null) throw new IllegalArgumentException(mustNotBeNull("attempt"));
+        if (timeUnit == null) throw new IllegalArgumentException(mustNotBeNull("timeUnit"));
+        if (maxAttempts < 1) throw new IllegalArgumentException("The maximum number of attempts must be positive.");
+        return new HedgedPromise<V>(executor, attempt, Math.max(timeUnit.toNanos(hedgeDelay), 0L), null, maxAttempts).start();
+    }
+
+    /**
+     * Returns a new {@link org.jpromise.Promise} for an operation that is hedged by starting another attempt whenever
+     * the previous attempt has not completed within the current delay of the specified {@link org.jpromise.AdaptiveDelay},
+     * up to the specified number of attempts.  The latency of each attempt that completes is recorded to the
+     * {@code hedgeDelay}, so sharing it between the calls to the same operation tracks a percentile of its latency.
+     * The promise is fulfilled by the first attempt to be fulfilled, after which the outstanding attempts are cancelled,
+     * and it is rejected once every attempt has been rejected.  Cancelling the promise cancels the outstanding attempts.
+     * @param attempt The operation that starts an attempt and returns a {@link java.util.concurrent.Future}
+     *                representing it.
+     * @param hedgeDelay The adaptive delay to wait for an attempt before starting the next attempt.
+     * @param maxAttempts The maximum number of attempts to start.
+     * @param <V> The result type of the operation.
+     * @return A promise representing the first attempt of the operation to be fulfilled.
+     */
+    public static <V> Promise<V> hedge(Callable<? extends Future<V>> attempt, AdaptiveDelay hedgeDelay, int maxAttempts) {
+        return hedge(PromiseExecutors.DEFAULT_CREATION_EXECUTOR, attempt, hedgeDelay, maxAttempts);
+    }
+
+    /**
+     * Returns a new {@link org.jpromise.Promise} for an operation that is hedged by starting another attempt whenever
+     * the previous attempt has not completed within the current delay of the specified {@link org.jpromise.AdaptiveDelay},
+     * up to the specified number of attempts.  The first attempt is started by the calling thread and every other
+     * attempt is started on the specified {@link java.util.concurrent.Executor}.  The latency of each attempt that
+     * completes is recorded to the {@code hedgeDelay}, so sharing it between the calls to the same operation tracks a
+     * percentile of its latency.  The promise is fulfilled by the first attempt to be fulfilled, after which the
+     * outstanding attempts are cancelled, and it is rejected once every attempt has been rejected.  Cancelling the
+     * promise cancels the outstanding attempts.
+     * @param executor The {@link java.util.concurrent.Executor} on which to start the hedged attempts.
+     * @param attempt The operation that starts an attempt and returns a {@link java.util.concurrent.Future}
+     *                representing it.
+     * @param hedgeDelay The adaptive delay to wait for an attempt before starting the next attempt.
+     * @param maxAttempts The maximum number of attempts to start.
+     * @param <V> The result type of the operation.
+     * @return A promise representing the first attempt of the operation to be fulfilled.
+     */
+    public static <V> Promise<V> hedge(Executor executor, Callable<? extends Future<V>> attempt, AdaptiveDelay hedgeDelay, int maxAttempts) {
+        if (executor == null) throw new IllegalArgumentException(mustNotBeNull("executor"));
+        if (attempt == null) throw new IllegalArgumentException(mustNotBeNull("attempt"));
+        if (hedgeDelay == null) throw new IllegalArgumentException(mustNotBeNull("hedgeDelay"));
+        if (maxAttempts < 1) throw new IllegalArgumentException("The maximum number of attempts must be positive.");
+        return new HedgedPromise<V>(executor, attempt, 0L, hedgeDelay, maxAttempts).start();
+    }
+
+    /**
+     * Returns a new {@link org.jpromise.Promise} for an operation that is attempted again after each rejected attempt
+     * as specified by the {@link org.jpromise.RetryPolicy}.  The retries are scheduled on the shared timer and started
+     * on the default creation executor.  The promise is fulfilled by the first attempt to be fulfilled and rejected with
+     * the exception of the last attempt once the policy does not retry it, or with a
+     * {@link java.util.concurrent.TimeoutException} once the deadline of the policy has passed or the next retry would
+     * not start before it.  Cancelling the promise cancels the attempt in flight.
+     * @param attempt The operation that starts an attempt and returns a {@link java.util.concurrent.Future}
+     *                representing it.
+     * @param policy The policy which specifies when and how often the operation is retried.
+     * @param <V> The result type of the operation.
+     * @return A promise representing the first attempt of the operation to be fulfilled.
+     */
+    public static <V> Promise<V> retry(Callable<? extends Future<V>> attempt, RetryPolicy policy) {
+        return retry(PromiseExecutors.DEFAULT_CREATION_EXECUTOR, attempt, policy);
+    }
+
+    /**
+     * Returns a new {@link org.jpromise.Promise} for an operation that is attempted again after each rejected attempt
+     * as specified by the {@link org.jpromise.RetryPolicy}.  The first attempt is started by the calling thread and the
+     * retries are scheduled on the shared timer and started on the specified {@link java.util.concurrent.Executor}.
+     * The promise is fulfilled by the first attempt to be fulfilled and rejected with the exception of the last attempt
+     * once the policy does not retry it, or with a {@link java.util.concurrent.TimeoutException} once the deadline of
+     * the policy has passed or the next retry would not start before it.  Cancelling the promise cancels the attempt in
+     * flight.
+     * @param executor The {@link java.util.concurrent.Executor} on which to start the retries.
+     * @param attempt The operation that starts an attempt and returns a {@link java.util.concurrent.Future}
+     *                representing it.
+     * @param policy The policy which specifies when and how often the operation is retried.
+     * @param <V> The result type of the operation.
+     * @return A promise representing the first attempt of the operation to be fulfilled.
+     */
+    public static <V> Promise<V> retry(Executor executor, Callable<? extends Future<V>> attempt, RetryPolicy policy) {
+        if (executor == null) throw new IllegalArgumentException(mustNotBeNull("executor"));
+        if (attempt == null) throw new IllegalArgumentException(mustNotBeNull("attempt"));
+        if (policy == null) throw new IllegalArgumentException(mustNotBeNull("policy"));
+        return new RetryPromise<V>(executor, attempt, policy).start();
+    }
+
     /**
      * Creates a promise representing the completion of the specified {@link java.util.concurrent.Future} instance.
      * @param future The {@link java.util.concurrent.Future} instance to be converted into a {@link org.jpromise.Promise}.
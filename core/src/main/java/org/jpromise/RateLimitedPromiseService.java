@@ -0,0 +1,229 @@
+package org.jpromise;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.jpromise.util.MessageUtil.mustNotBeNull;
+
+/**
+ * A {@link org.jpromise.PromiseService} that decorates another {@link org.jpromise.PromiseService} with a token bucket
+ * which limits the rate at which tasks are submitted to it.  The bucket holds up to the burst size of permits and is
+ * refilled at the configured rate.  A task that finds enough permits in the bucket is submitted immediately, otherwise
+ * the permits are reserved from the refill and the task is scheduled on the shared
+ * {@link org.jpromise.HashedWheelTimer} for the moment that they become available, so that no thread waits for them.
+ * The bucket is a single theoretical arrival time which each acquisition advances with one compare-and-set, so a
+ * batch of permits costs the same as a single permit.  The permits reserved for a task that is cancelled before it is
+ * submitted are not returned to the bucket.
+ */
+public class RateLimitedPromiseService implements PromiseService {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final PromiseService service;
+    private final HashedWheelTimer timer;
+    private final double interval;
+    private final long tolerance;
+    // the time at which the permits acquired so far have all been refilled, which starts in the past so that the
+    // bucket starts full
+    private final AtomicLong arrival = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Creates a new {@link org.jpromise.RateLimitedPromiseService} decorating the specified
+     * {@link org.jpromise.PromiseService} with a burst size of one second of permits.
+     * @param service The {@link org.jpromise.PromiseService} to which the tasks are submitted.
+     * @param permitsPerSecond The rate at which the permits are refilled.
+     */
+    public RateLimitedPromiseService(PromiseService service, double permitsPerSecond) {
+        this(service, permitsPerSecond, (int)Math.max(1.0, Math.min(permitsPerSecond, Integer.MAX_VALUE)));
+    }
+
+    /**
+     * Creates a new {@link org.jpromise.RateLimitedPromiseService} decorating the specified
+     * {@link org.jpromise.PromiseService}.
+     * @param service The {@link org.jpromise.PromiseService} to which the tasks are submitted.
+     * @param permitsPerSecond The rate at which the permits are refilled.
+     * @param burst The maximum number of permits that the bucket holds.
+     */
+    public RateLimitedPromiseService(PromiseService service, double permitsPerSecond, int burst) {
+        this(service, HashedWheelTimer.shared(), permitsPerSecond, burst);
+    }
+
+    RateLimitedPromiseService(PromiseService service, HashedWheelTimer timer, double permitsPerSecond, int burst) {
+        if (service == null) throw new NullPointerException(mustNotBeNull("service"));
+        if (timer == null) throw new NullPointerException(mustNotBeNull("timer"));
+        if (!(permitsPerSecond > 0.0 && permitsPerSecond <= NANOS_PER_SECOND)) throw new IllegalArgumentException("The rate must be positive and at most one permit per nanosecond.");
+        if (burst < 1) throw new IllegalArgumentException("The burst size must be positive.");
+        this.service = service;
+        this.timer = timer;
+        this.interval = NANOS_PER_SECOND / permitsPerSecond;
+        this.tolerance = cost(burst);
+    }
+
+    /**
+     * Acquires the specified number of permits if they are available without waiting.
+     * @param permits The number of permits to acquire.
+     * @return {@code true} if the permits were acquired; otherwise, {@code false}.
+     */
+    public boolean tryAcquire(int permits) {
+        if (permits < 1) throw new IllegalArgumentException("The number of permits must be positive.");
+        long cost = cost(permits);
+        for (;;) {
+            long now = nanoTime();
+            long current = arrival.get();
+            long updated = Math.max(current, now) + cost;
+            if (updated - now > tolerance) {
+                return false;
+            }
+            if (arrival.compareAndSet(current, updated)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Reserves the specified number of permits and returns a promise that is fulfilled once they are available.
+     * @param permits The number of permits to acquire.
+     * @return A promise that is fulfilled once the permits are available.
+     */
+    public Promise<Void> acquire(int permits) {
+        long delay = reserve(permits);
+        if (delay <= 0L) {
+            return Promises.fulfilled();
+        }
+        return new TimerPromise(timer, delay, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public <V> Promise<V> submit(Callable<V> task) {
+        return submit(task, 1);
+    }
+
+    /**
+     * Submits a value-returning task to the decorated service once the specified number of permits are available.
+     * @param task The task to submit.
+     * @param permits The number of permits that the task consumes.
+     * @param <V> The type of the task's result.
+     * @return A promise that will be resolved when the task is completed.
+     */
+    public <V> Promise<V> submit(Callable<V> task, int permits) {
+        if (task == null) throw new NullPointerException(mustNotBeNull("task"));
+        long delay = reserve(permits);
+        if (delay <= 0L) {
+            return service.submit(task);
+        }
+        ScheduledTask<V> scheduled = new ScheduledTask<V>(service, task);
+        scheduled.schedule(timer, delay);
+        return scheduled;
+    }
+
+    @Override
+    public <V> Promise<V> submit(Runnable task, V result) {
+        if (task == null) throw new NullPointerException(mustNotBeNull("task"));
+        return submit(Executors.callable(task, result), 1);
+    }
+
+    @Override
+    public Promise<Void> submit(Runnable task) {
+        return submit(task, null);
+    }
+
+    // the source of the refill times, which a simulation may replace with a virtual clock
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Acquires the specified number of permits from the bucket, or from its refill if the bucket does not hold enough,
+     * and returns the number of nanoseconds until they are available.
+     */
+    private long reserve(int permits) {
+        if (permits < 1) throw new IllegalArgumentException("The number of permits must be positive.");
+        long cost = cost(permits);
+        for (;;) {
+            long now = nanoTime();
+            long current = arrival.get();
+            long updated = Math.max(current, now) + cost;
+            if (arrival.compareAndSet(current, updated)) {
+                return updated - now - tolerance;
+            }
+        }
+    }
+
+    private long cost(int permits) {
+        // rounded up so that the rate is never exceeded
+        return (long)Math.ceil(permits * interval);
+    }
+
+    /**
+     * The promise returned for a task waiting for its permits, which submits the task to the decorated service from
+     * the timer and mirrors the promise that it returns.
+     */
+    private static final class ScheduledTask<V> extends AbstractPromise<V> implements Continuation<V>, Runnable {
+        private final PromiseService service;
+        private final Callable<V> task;
+        private volatile HashedWheelTimer.Timeout timeout;
+        private volatile Promise<V> submitted;
+
+        ScheduledTask(PromiseService service, Callable<V> task) {
+            this.service = service;
+            this.task = task;
+        }
+
+        void schedule(HashedWheelTimer timer, long delay) {
+            timeout = timer.schedule(this, delay, TimeUnit.NANOSECONDS);
+            if (isDone()) {
+                timeout.cancel();
+            }
+        }
+
+        @Override
+        public void run() {
+            if (isDone()) {
+                return;
+            }
+            Promise<V> promise;
+            try {
+                promise = service.submit(task);
+            }
+            catch (Throwable exception) {
+                completeWithException(exception);
+                return;
+            }
+            submitted = promise;
+            if (isDone()) {
+                promise.cancel(true);
+                return;
+            }
+            if (promise instanceof AbstractPromise) {
+                ((AbstractPromise<V>)promise).registerCallback(this);
+            }
+            else {
+                promise.whenCompleted(PromiseExecutors.CURRENT_THREAD, this);
+            }
+        }
+
+        @Override
+        public void completed(Promise<V> promise, V result, Throwable exception) {
+            if (exception != null) {
+                completeWithException(exception);
+            }
+            else {
+                complete(result);
+            }
+        }
+
+        @Override
+        protected void onCompleted(PromiseState state, V result, Throwable exception) {
+            super.onCompleted(state, result, exception);
+            HashedWheelTimer.Timeout timeout = this.timeout;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+            Promise<V> submitted = this.submitted;
+            if (submitted != null && !submitted.isDone()) {
+                submitted.cancel(true);
+            }
+        }
+    }
+}
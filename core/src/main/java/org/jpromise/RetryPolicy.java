@@ -0,0 +1,180 @@
+package org.jpromise;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.jpromise.util.MessageUtil.mustNotBeNull;
+
+/**
+ * Specifies how the operation passed to
+ * {@link org.jpromise.Promises#retry(java.util.concurrent.Callable, RetryPolicy)} is retried.  An attempt that is
+ * rejected is retried after an exponentially increasing delay, optionally reduced by a random jitter, as long as the
+ * maximum number of attempts has not been reached, the retry would start before the deadline and the exception is an
+ * instance of one of the exception classes to retry on and none of the exception classes to abort on.  The policy is
+ * immutable and each of the {@code with} methods returns a modified copy.
+ */
+public final class RetryPolicy {
+    private static final Random RANDOM = new Random();
+
+    /**
+     * The delay returned by {@link #retryDelay(int, Throwable, long)} when the operation would be retried but the retry
+     * would not start before the deadline.
+     */
+    static final long PAST_DEADLINE = -2L;
+
+    private final int maxAttempts;
+    private final long initialDelay;
+    private final long maxDelay;
+    private final double multiplier;
+    private final double jitter;
+    private final long deadline;
+    private final List<Class<? extends Throwable>> retryOn;
+    private final List<Class<? extends Throwable>> abortOn;
+
+    /**
+     * Creates a new {@link org.jpromise.RetryPolicy} with the specified maximum number of attempts, including the first,
+     * which retries on any exception after a delay starting at 100 milliseconds and doubling up to 10 seconds without
+     * jitter or a deadline.
+     * @param maxAttempts The maximum number of attempts.
+     */
+    public RetryPolicy(int maxAttempts) {
+        this(maxAttempts, TimeUnit.MILLISECONDS.toNanos(100L), TimeUnit.SECONDS.toNanos(10L), 2.0, 0.0, 0L,
+                Collections.<Class<? extends Throwable>>emptyList(), Collections.<Class<? extends Throwable>>emptyList());
+        if (maxAttempts < 1) throw new IllegalArgumentException("The maximum number of attempts must be positive.");
+    }
+
+    private RetryPolicy(int maxAttempts, long initialDelay, long maxDelay, double multiplier, double jitter, long deadline,
+                        List<Class<? extends Throwable>> retryOn, List<Class<? extends Throwable>> abortOn) {
+        this.maxAttempts = maxAttempts;
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+        this.deadline = deadline;
+        this.retryOn = retryOn;
+        this.abortOn = abortOn;
+    }
+
+    /**
+     * Returns a copy of this policy with the specified delay before the first retry and maximum delay between retries.
+     * @param initialDelay The delay before the first retry.
+     * @param maxDelay The maximum delay between retries.
+     * @param timeUnit The unit of time for the {@code initialDelay} and {@code maxDelay} arguments.
+     * @return The modified policy.
+     */
+    public RetryPolicy withBackoff(long initialDelay, long maxDelay, TimeUnit timeUnit) {
+        if (timeUnit == null) throw new IllegalArgumentException(mustNotBeNull("timeUnit"));
+        if (initialDelay < 0L || maxDelay < initialDelay) throw new IllegalArgumentException("The delays must not be negative and the maximum delay must not be less than the initial delay.");
+        return new RetryPolicy(maxAttempts, timeUnit.toNanos(initialDelay), timeUnit.toNanos(maxDelay), multiplier, jitter, deadline, retryOn, abortOn);
+    }
+
+    /**
+     * Returns a copy of this policy with the specified factor by which the delay increases after each retry.
+     * @param multiplier The factor by which the delay increases, at least one.
+     * @return The modified policy.
+     */
+    public RetryPolicy withMultiplier(double multiplier) {
+        if (!(multiplier >= 1.0)) throw new IllegalArgumentException("The multiplier must be at least one.");
+        return new RetryPolicy(maxAttempts, initialDelay, maxDelay, multiplier, jitter, deadline, retryOn, abortOn);
+    }
+
+    /**
+     * Returns a copy of this policy with the specified jitter, the largest fraction by which each delay is randomly
+     * reduced so that the retries of operations that failed together are spread out.
+     * @param jitter The jitter between zero and one.
+     * @return The modified policy.
+     */
+    public RetryPolicy withJitter(double jitter) {
+        if (!(jitter >= 0.0 && jitter <= 1.0)) throw new IllegalArgumentException("The jitter must be between zero and one.");
+        return new RetryPolicy(maxAttempts, initialDelay, maxDelay, multiplier, jitter, deadline, retryOn, abortOn);
+    }
+
+    /**
+     * Returns a copy of this policy with the specified deadline, measured from the start of the first attempt, after
+     * which the operation is rejected with a {@link java.util.concurrent.TimeoutException} and no retry is started.  A
+     * rejected attempt whose retry would not start before the deadline rejects the operation immediately with a
+     * {@link java.util.concurrent.TimeoutException} caused by the exception of that attempt.
+     * @param deadline The amount of time for all of the attempts.
+     * @param timeUnit The unit of time for the {@code deadline} argument.
+     * @return The modified policy.
+     */
+    public RetryPolicy withDeadline(long deadline, TimeUnit timeUnit) {
+        if (timeUnit == null) throw new IllegalArgumentException(mustNotBeNull("timeUnit"));
+        if (deadline <= 0L) throw new IllegalArgumentException("The deadline must be positive.");
+        return new RetryPolicy(maxAttempts, initialDelay, maxDelay, multiplier, jitter, timeUnit.toNanos(deadline), retryOn, abortOn);
+    }
+
+    /**
+     * Returns a copy of this policy which retries on the specified exception class.  Once any exception class to retry
+     * on is specified only the instances of those classes are retried.
+     * @param exceptionClass The class of the exceptions to retry on.
+     * @return The modified policy.
+     */
+    public RetryPolicy retryOn(Class<? extends Throwable> exceptionClass) {
+        if (exceptionClass == null) throw new IllegalArgumentException(mustNotBeNull("exceptionClass"));
+        return new RetryPolicy(maxAttempts, initialDelay, maxDelay, multiplier, jitter, deadline, append(retryOn, exceptionClass), abortOn);
+    }
+
+    /**
+     * Returns a copy of this policy which does not retry on the specified exception class, even if it is a subclass of
+     * an exception class to retry on.
+     * @param exceptionClass The class of the exceptions to abort on.
+     * @return The modified policy.
+     */
+    public RetryPolicy abortOn(Class<? extends Throwable> exceptionClass) {
+        if (exceptionClass == null) throw new IllegalArgumentException(mustNotBeNull("exceptionClass"));
+        return new RetryPolicy(maxAttempts, initialDelay, maxDelay, multiplier, jitter, deadline, retryOn, append(abortOn, exceptionClass));
+    }
+
+    private static List<Class<? extends Throwable>> append(List<Class<? extends Throwable>> classes, Class<? extends Throwable> exceptionClass) {
+        List<Class<? extends Throwable>> appended = new ArrayList<Class<? extends Throwable>>(classes.size() + 1);
+        appended.addAll(classes);
+        appended.add(exceptionClass);
+        return Collections.unmodifiableList(appended);
+    }
+
+    long deadline() {
+        return deadline;
+    }
+
+    /**
+     * Returns the delay in nanoseconds before retrying after the specified attempt was rejected, or a negative value if
+     * the operation should not be retried, which is {@link #PAST_DEADLINE} if the retry would overrun the deadline.
+     */
+    long retryDelay(int attempts, Throwable exception, long elapsed) {
+        if (attempts >= maxAttempts || !shouldRetry(exception)) {
+            return -1L;
+        }
+        long delay = delay(attempts, RANDOM.nextDouble());
+        if (deadline > 0L && elapsed + delay >= deadline) {
+            return PAST_DEADLINE;
+        }
+        return delay;
+    }
+
+    boolean shouldRetry(Throwable exception) {
+        for (Class<? extends Throwable> exceptionClass : abortOn) {
+            if (exceptionClass.isInstance(exception)) {
+                return false;
+            }
+        }
+        if (retryOn.isEmpty()) {
+            return true;
+        }
+        for (Class<? extends Throwable> exceptionClass : retryOn) {
+            if (exceptionClass.isInstance(exception)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    long delay(int attempts, double random) {
+        double delay = initialDelay * Math.pow(multiplier, attempts - 1);
+        delay = Math.min(delay, maxDelay);
+        return (long)(delay * (1.0 - jitter * random));
+    }
+}
@@ -0,0 +1,127 @@
+package org.jpromise;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A promise that attempts an operation until it is fulfilled or the {@link org.jpromise.RetryPolicy} gives up.  Each
+ * retry is scheduled on the shared {@link org.jpromise.HashedWheelTimer}, which only submits this promise as the task
+ * starting the attempt to the executor, so the attempts run one after another from the executor rather than
+ * recursing through continuations and the operation never runs on the timer thread.  A retry that would not start
+ * before the deadline rejects this promise with a {@link java.util.concurrent.TimeoutException} caused by the last
+ * rejection.  Once this promise is completed, including by being cancelled, the attempt in flight and the scheduled
+ * retry are cancelled.
+ */
+final class RetryPromise<V> extends AbstractPromise<V> implements Continuation<V>, Runnable {
+    private final Executor executor;
+    private final Callable<? extends Future<V>> operation;
+    private final RetryPolicy policy;
+    private final long start = System.nanoTime();
+    private volatile int attempts;
+    private volatile Promise<V> current;
+    private volatile HashedWheelTimer.Timeout scheduled;
+    private volatile HashedWheelTimer.Timeout deadline;
+    private final Runnable dispatch = new Runnable() {
+        @Override
+        public void run() {
+            try {
+                executor.execute(RetryPromise.this);
+            }
+            catch (Throwable exception) {
+                completeWithException(exception);
+            }
+        }
+    };
+
+    RetryPromise(Executor executor, Callable<? extends Future<V>> operation, RetryPolicy policy) {
+        this.executor = executor;
+        this.operation = operation;
+        this.policy = policy;
+    }
+
+    Promise<V> start() {
+        if (policy.deadline() > 0L) {
+            deadline = HashedWheelTimer.shared().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    completeWithException(new TimeoutException());
+                }
+            }, policy.deadline(), TimeUnit.NANOSECONDS);
+        }
+        run();
+        return this;
+    }
+
+    @Override
+    public void run() {
+        if (isDone()) {
+            return;
+        }
+        attempts += 1;
+        Promise<V> promise;
+        try {
+            Future<V> future = operation.call();
+            promise = future != null ? Promises.fromFuture(future) : Promises.<V>fulfilled(null);
+        }
+        catch (Throwable exception) {
+            promise = Promises.rejected(exception);
+        }
+        current = promise;
+        if (isDone()) {
+            promise.cancel(true);
+            return;
+        }
+        if (promise instanceof AbstractPromise) {
+            ((AbstractPromise<V>)promise).registerCallback(this);
+        }
+        else {
+            promise.whenCompleted(PromiseExecutors.CURRENT_THREAD, this);
+        }
+    }
+
+    @Override
+    public void completed(Promise<V> promise, V result, Throwable exception) {
+        if (exception == null) {
+            complete(result);
+            return;
+        }
+        if (isDone()) {
+            return;
+        }
+        long delay = policy.retryDelay(attempts, exception, System.nanoTime() - start);
+        if (delay == RetryPolicy.PAST_DEADLINE) {
+            TimeoutException timeout = new TimeoutException();
+            timeout.initCause(exception);
+            completeWithException(timeout);
+            return;
+        }
+        if (delay < 0L) {
+            completeWithException(exception);
+            return;
+        }
+        scheduled = HashedWheelTimer.shared().schedule(dispatch, delay, TimeUnit.NANOSECONDS);
+        if (isDone()) {
+            scheduled.cancel();
+        }
+    }
+
+    @Override
+    protected void onCompleted(PromiseState state, V result, Throwable exception) {
+        super.onCompleted(state, result, exception);
+        HashedWheelTimer.Timeout deadline = this.deadline;
+        if (deadline != null) {
+            deadline.cancel();
+        }
+        HashedWheelTimer.Timeout scheduled = this.scheduled;
+        if (scheduled != null) {
+            scheduled.cancel();
+        }
+        Promise<V> current = this.current;
+        if (current != null && !current.isDone()) {
+            current.cancel(true);
+        }
+    }
+}
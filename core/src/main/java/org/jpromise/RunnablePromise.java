@@ -1,14 +1,18 @@
 package org.jpromise;
 
 import java.util.concurrent.Callable;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 import static org.jpromise.util.MessageUtil.mustNotBeNull;
 
 class RunnablePromise<V> extends AbstractPromise<V> implements Runnable {
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<RunnablePromise> STARTED =
+            AtomicIntegerFieldUpdater.newUpdater(RunnablePromise.class, "started");
+
     private final Callable<V> task;
-    private final AtomicBoolean started = new AtomicBoolean(false);
-    private Thread thread;
+    private volatile int started;
+    private volatile Thread thread;
 
     public RunnablePromise(Callable<V> task) {
         if (task == null) throw new IllegalArgumentException(mustNotBeNull("task"));
@@ -28,7 +32,7 @@ class RunnablePromise<V> extends AbstractPromise<V> implements Runnable {
 
     @Override
     public void run() {
-        if (!started.compareAndSet(false, true)) {
+        if (!STARTED.compareAndSet(this, 0, 1)) {
             return;
         }
         try {
@@ -52,7 +56,7 @@ class RunnablePromise<V> extends AbstractPromise<V> implements Runnable {
 
     @Override
     public boolean cancel(boolean mayInterruptIfRunning) {
-        if (started.compareAndSet(false, true)) {
+        if (STARTED.compareAndSet(this, 0, 1)) {
             return super.cancel(mayInterruptIfRunning);
         }
         if (super.cancel(mayInterruptIfRunning)) {
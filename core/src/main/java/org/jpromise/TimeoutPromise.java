@@ -0,0 +1,123 @@
+package org.jpromise;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A promise that mirrors the completion of a source promise unless a timeout on the shared
+ * {@link org.jpromise.HashedWheelTimer} elapses first, in which case it is rejected with a
+ * {@link java.util.concurrent.TimeoutException} or fulfilled with a fallback value.  The same instance is the
+ * continuation registered on the source and the timer task so that a timeout costs a single allocation besides the
+ * timer entry, which is cancelled as soon as the source completes.  Once the timeout elapses or the promise is
+ * cancelled it is removed from the source so that a long-lived source does not retain it.
+ */
+final class TimeoutPromise<V> extends AbstractPromise<V> implements Continuation<V>, Runnable {
+    private final boolean fallback;
+    private final V value;
+    private HashedWheelTimer.Timeout scheduled;
+    private volatile AbstractPromise<V> source;
+    private volatile Forwarder<V> forwarder;
+
+    private TimeoutPromise(boolean fallback, V value) {
+        this.fallback = fallback;
+        this.value = value;
+    }
+
+    static <V> Promise<V> orTimeout(Promise<V> source, long timeout, TimeUnit timeUnit) {
+        return new TimeoutPromise<V>(false, null).schedule(source, timeout, timeUnit);
+    }
+
+    static <V> Promise<V> completeOnTimeout(Promise<V> source, V value, long timeout, TimeUnit timeUnit) {
+        return new TimeoutPromise<V>(true, value).schedule(source, timeout, timeUnit);
+    }
+
+    private Promise<V> schedule(Promise<V> source, long timeout, TimeUnit timeUnit) {
+        // assigned before registering so that it is visible to the continuation on whichever thread completes the source
+        scheduled = HashedWheelTimer.shared().schedule(this, timeout, timeUnit);
+        if (source instanceof AbstractPromise) {
+            AbstractPromise<V> abstractSource = (AbstractPromise<V>)source;
+            this.source = abstractSource;
+            abstractSource.registerCallback(this);
+        }
+        else {
+            Forwarder<V> forwarder = new Forwarder<V>(this);
+            this.forwarder = forwarder;
+            source.whenCompleted(PromiseExecutors.CURRENT_THREAD, forwarder);
+        }
+        if (isDone()) {
+            release();
+        }
+        return this;
+    }
+
+    @Override
+    public void completed(Promise<V> promise, V result, Throwable exception) {
+        scheduled.cancel();
+        if (exception != null) {
+            completeWithException(exception);
+        }
+        else {
+            complete(result);
+        }
+    }
+
+    @Override
+    public void run() {
+        if (fallback) {
+            complete(value);
+        }
+        else {
+            completeWithException(new TimeoutException());
+        }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        if (super.cancel(mayInterruptIfRunning)) {
+            HashedWheelTimer.Timeout scheduled = this.scheduled;
+            if (scheduled != null) {
+                scheduled.cancel();
+            }
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    protected void onCompleted(PromiseState state, V result, Throwable exception) {
+        release();
+        super.onCompleted(state, result, exception);
+    }
+
+    private void release() {
+        AbstractPromise<V> source = this.source;
+        if (source != null) {
+            this.source = null;
+            source.unregisterCallback(this);
+        }
+        Forwarder<V> forwarder = this.forwarder;
+        if (forwarder != null) {
+            this.forwarder = null;
+            forwarder.target = null;
+        }
+    }
+
+    /**
+     * Registered on a source that cannot remove it again, which only retains this once the timeout has completed.
+     */
+    private static final class Forwarder<V> implements Continuation<V> {
+        volatile TimeoutPromise<V> target;
+
+        Forwarder(TimeoutPromise<V> target) {
+            this.target = target;
+        }
+
+        @Override
+        public void completed(Promise<V> promise, V result, Throwable exception) {
+            TimeoutPromise<V> target = this.target;
+            if (target != null) {
+                target.completed(promise, result, exception);
+            }
+        }
+    }
+}
@@ -1,30 +1,27 @@
 package org.jpromise;
 
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.TimeUnit;
 
 class TimerPromise extends AbstractPromise<Void> {
-    private final Timer timer;
+    private final HashedWheelTimer.Timeout timeout;
 
     public TimerPromise(long timeout, TimeUnit timeUnit) {
-        this(new Timer(), timeout, timeUnit);
+        this(HashedWheelTimer.shared(), timeout, timeUnit);
     }
 
-    public TimerPromise(Timer timer, long timeout, TimeUnit timeUnit) {
-        this.timer = timer;
-        timer.schedule(new TimerTask() {
+    public TimerPromise(HashedWheelTimer timer, long timeout, TimeUnit timeUnit) {
+        this.timeout = timer.schedule(new Runnable() {
             @Override
             public void run() {
                 TimerPromise.this.complete(null);
             }
-        }, timeUnit.toMillis(timeout));
+        }, timeout, timeUnit);
     }
 
     @Override
     public boolean cancel(boolean mayInterruptIfRunning) {
         if (super.cancel(mayInterruptIfRunning)) {
-            timer.cancel();
+            timeout.cancel();
             return true;
         }
         return false;
@@ -0,0 +1,56 @@
+package org.jpromise;
+
+/**
+ * A {@link org.jpromise.ConcurrencyLimit} modelled on TCP Vegas, which estimates the number of tasks queued in the
+ * decorated service from how far the round-trip time exceeds the lowest round-trip time observed.  Per round trip the
+ * limit grows by one while fewer than {@code alpha} tasks are estimated to be queued, shrinks by one once at least
+ * {@code beta} are, and shrinks by the logarithm of the limit when the tasks are dropped.
+ */
+public final class VegasLimit extends AbstractConcurrencyLimit {
+    private static final int DEFAULT_ALPHA = 3;
+    private static final int DEFAULT_BETA = 6;
+
+    private final int alpha;
+    private final int beta;
+
+    /**
+     * Creates a new {@link org.jpromise.VegasLimit} which aims to keep between three and six tasks queued.
+     * @param initialLimit The limit before any task has completed.
+     * @param minLimit The lowest limit.
+     * @param maxLimit The highest limit.
+     */
+    public VegasLimit(int initialLimit, int minLimit, int maxLimit) {
+        this(initialLimit, minLimit, maxLimit, DEFAULT_ALPHA, DEFAULT_BETA);
+    }
+
+    /**
+     * Creates a new {@link org.jpromise.VegasLimit}.
+     * @param initialLimit The limit before any task has completed.
+     * @param minLimit The lowest limit.
+     * @param maxLimit The highest limit.
+     * @param alpha The estimated number of queued tasks below which the limit grows.
+     * @param beta The estimated number of queued tasks at which the limit shrinks.
+     */
+    public VegasLimit(int initialLimit, int minLimit, int maxLimit, int alpha, int beta) {
+        super(initialLimit, minLimit, maxLimit);
+        if (alpha < 1) throw new IllegalArgumentException("The alpha must be positive.");
+        if (beta <= alpha) throw new IllegalArgumentException("The beta must be greater than the alpha.");
+        this.alpha = alpha;
+        this.beta = beta;
+    }
+
+    @Override
+    double target(double current, long rtt, long minRtt, boolean dropped) {
+        if (dropped) {
+            return current - Math.max(1.0, Math.log10(current));
+        }
+        double queued = current * (1.0 - (double)minRtt / rtt);
+        if (queued >= beta) {
+            return current - 1;
+        }
+        if (queued < alpha) {
+            return current + 1;
+        }
+        return current;
+    }
+}
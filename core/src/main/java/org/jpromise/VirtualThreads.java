@@ -0,0 +1,39 @@
+package org.jpromise;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+
+/**
+ * Resolves the virtual thread per task executor of the runtime reflectively so that the library can still be
+ * compiled for and loaded on runtimes that do not provide virtual threads.
+ */
+final class VirtualThreads {
+    private VirtualThreads() {
+        throw new IllegalStateException();
+    }
+
+    private static final Executor EXECUTOR = createExecutor();
+
+    static boolean isAvailable() {
+        return EXECUTOR != null;
+    }
+
+    static void execute(Runnable command) {
+        if (EXECUTOR != null) {
+            EXECUTOR.execute(command);
+        }
+        else {
+            PromiseExecutors.NEW_THREAD.execute(command);
+        }
+    }
+
+    private static Executor createExecutor() {
+        try {
+            Method method = Class.forName("java.util.concurrent.Executors").getMethod("newVirtualThreadPerTaskExecutor");
+            return (Executor) method.invoke(null);
+        }
+        catch (Throwable ignored) {
+            return null;
+        }
+    }
+}
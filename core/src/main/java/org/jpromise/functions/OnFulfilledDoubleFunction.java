@@ -0,0 +1,16 @@
+package org.jpromise.functions;
+
+/**
+ * Represents an operation that will occur when a promise is fulfilled successfully with a primitive {@code double}
+ * result that can transform the result into a different {@code double} value without boxing.
+ */
+public interface OnFulfilledDoubleFunction {
+    /**
+     * Performs the operation on the successful fulfillment of the promise and transforms the result
+     * into a different value.
+     * @param result The result of the promise.
+     * @return The transformed value.
+     * @throws Throwable Any exception that might occur during the operation.
+     */
+    double fulfilled(double result) throws Throwable;
+}
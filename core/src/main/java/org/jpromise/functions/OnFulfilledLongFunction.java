@@ -0,0 +1,16 @@
+package org.jpromise.functions;
+
+/**
+ * Represents an operation that will occur when a promise is fulfilled successfully with a primitive {@code long}
+ * result that can transform the result into a different {@code long} value without boxing.
+ */
+public interface OnFulfilledLongFunction {
+    /**
+     * Performs the operation on the successful fulfillment of the promise and transforms the result
+     * into a different value.
+     * @param result The result of the promise.
+     * @return The transformed value.
+     * @throws Throwable Any exception that might occur during the operation.
+     */
+    long fulfilled(long result) throws Throwable;
+}
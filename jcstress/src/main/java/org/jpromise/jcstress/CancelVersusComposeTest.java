@@ -0,0 +1,49 @@
+package org.jpromise.jcstress;
+
+import org.jpromise.Deferred;
+import org.jpromise.Promise;
+import org.jpromise.PromiseExecutors;
+import org.jpromise.Promises;
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.ZZ_Result;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.openjdk.jcstress.annotations.Expect.*;
+
+/**
+ * Cancels a composed continuation while its source is fulfilled and the continuation returns a pending promise.
+ * Whenever the continuation produced the inner promise the cancellation must be propagated to it, whichever of
+ * publishing the inner promise and cancelling happened first.
+ */
+@JCStressTest
+@Outcome(id = "false, false", expect = ACCEPTABLE, desc = "Cancelled before the continuation ran.")
+@Outcome(id = "true, true", expect = ACCEPTABLE, desc = "The inner promise was cancelled.")
+@Outcome(id = "true, false", expect = FORBIDDEN, desc = "The inner promise was composed but not cancelled.")
+@Outcome(expect = FORBIDDEN, desc = "Other cases are not expected.")
+@State
+public class CancelVersusComposeTest {
+    private final Deferred<String> deferred = Promises.defer();
+    private final Deferred<String> inner = Promises.defer();
+    private final AtomicBoolean composed = new AtomicBoolean();
+    private final Promise<String> continuation = deferred.promise().thenCompose(PromiseExecutors.CURRENT_THREAD, result -> {
+        composed.set(true);
+        return inner.promise();
+    });
+
+    @Actor
+    public void fulfill() {
+        deferred.fulfill("SUCCESS");
+    }
+
+    @Actor
+    public void cancel() {
+        continuation.cancel(false);
+    }
+
+    @Arbiter
+    public void arbiter(ZZ_Result r) {
+        r.r1 = composed.get();
+        r.r2 = inner.promise().isCancelled();
+    }
+}
@@ -0,0 +1,49 @@
+package org.jpromise.jcstress;
+
+import org.jpromise.Deferred;
+import org.jpromise.Promise;
+import org.jpromise.PromiseExecutors;
+import org.jpromise.Promises;
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.openjdk.jcstress.annotations.Expect.*;
+
+/**
+ * Cancels a continuation while its source is fulfilled.  The continuation may or may not run once the cancellation
+ * has won, but if the cancellation lost the continuation must have run and completed the promise.
+ */
+@JCStressTest
+@Outcome(id = "1, 0", expect = ACCEPTABLE, desc = "Cancelled before the continuation ran.")
+@Outcome(id = "1, 1", expect = ACCEPTABLE_INTERESTING, desc = "Cancelled while the continuation was running.")
+@Outcome(id = "0, 1", expect = ACCEPTABLE, desc = "The continuation completed first.")
+@Outcome(expect = FORBIDDEN, desc = "The continuation ran twice or neither completed nor cancelled the promise.")
+@State
+public class CancelVersusContinuationTest {
+    private final Deferred<Integer> deferred = Promises.defer();
+    private final AtomicInteger invocations = new AtomicInteger();
+    private final Promise<Integer> continuation = deferred.promise().thenApply(PromiseExecutors.CURRENT_THREAD, result -> {
+        invocations.incrementAndGet();
+        return result + 1;
+    });
+
+    @Actor
+    public void fulfill() {
+        deferred.fulfill(1);
+    }
+
+    @Actor
+    public void cancel(II_Result r) {
+        r.r1 = continuation.cancel(false) ? 1 : 0;
+    }
+
+    @Arbiter
+    public void arbiter(II_Result r) {
+        r.r2 = invocations.get();
+        if (r.r1 == 0 && !continuation.isFulfilled()) {
+            r.r2 = -1;
+        }
+    }
+}
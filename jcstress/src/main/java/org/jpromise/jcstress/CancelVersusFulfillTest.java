@@ -0,0 +1,38 @@
+package org.jpromise.jcstress;
+
+import org.jpromise.Deferred;
+import org.jpromise.Promise;
+import org.jpromise.Promises;
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.ZZZ_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.*;
+
+/**
+ * Cancels a promise while it is fulfilled.  Exactly one of the two transitions must win and the final state must
+ * agree with the winner.
+ */
+@JCStressTest
+@Outcome(id = "true, false, false", expect = ACCEPTABLE, desc = "Fulfilled first.")
+@Outcome(id = "false, true, true", expect = ACCEPTABLE, desc = "Cancelled first.")
+@Outcome(expect = FORBIDDEN, desc = "Both or neither transition won, or the state disagrees with the winner.")
+@State
+public class CancelVersusFulfillTest {
+    private final Deferred<String> deferred = Promises.defer();
+    private final Promise<String> promise = deferred.promise();
+
+    @Actor
+    public void fulfill(ZZZ_Result r) {
+        r.r1 = deferred.fulfill("SUCCESS");
+    }
+
+    @Actor
+    public void cancel(ZZZ_Result r) {
+        r.r2 = promise.cancel(false);
+    }
+
+    @Arbiter
+    public void arbiter(ZZZ_Result r) {
+        r.r3 = promise.isCancelled();
+    }
+}
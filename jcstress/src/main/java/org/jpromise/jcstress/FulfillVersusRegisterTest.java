@@ -0,0 +1,58 @@
+package org.jpromise.jcstress;
+
+import org.jpromise.Deferred;
+import org.jpromise.PromiseExecutors;
+import org.jpromise.Promises;
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.III_Result;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.openjdk.jcstress.annotations.Expect.*;
+
+/**
+ * Registers two continuations while the promise is fulfilled.  Each continuation must run exactly once and observe
+ * the result regardless of whether it was appended to the pending state or invoked immediately.
+ */
+@JCStressTest
+@Outcome(id = "1, 1, 42", expect = ACCEPTABLE, desc = "Both continuations ran once with the result.")
+@Outcome(expect = FORBIDDEN, desc = "A continuation was lost, ran twice or observed the wrong result.")
+@State
+public class FulfillVersusRegisterTest {
+    private final Deferred<Integer> deferred = Promises.defer();
+    private final AtomicInteger first = new AtomicInteger();
+    private final AtomicInteger second = new AtomicInteger();
+    private final AtomicInteger observed = new AtomicInteger(42);
+
+    @Actor
+    public void fulfill() {
+        deferred.fulfill(42);
+    }
+
+    @Actor
+    public void registerFirst() {
+        deferred.promise().then(PromiseExecutors.CURRENT_THREAD, result -> {
+            first.incrementAndGet();
+            if (result != 42) {
+                observed.set(result);
+            }
+        });
+    }
+
+    @Actor
+    public void registerSecond() {
+        deferred.promise().then(PromiseExecutors.CURRENT_THREAD, result -> {
+            second.incrementAndGet();
+            if (result != 42) {
+                observed.set(result);
+            }
+        });
+    }
+
+    @Arbiter
+    public void arbiter(III_Result r) {
+        r.r1 = first.get();
+        r.r2 = second.get();
+        r.r3 = observed.get();
+    }
+}
@@ -0,0 +1,54 @@
+package org.jpromise.jcstress;
+
+import org.jpromise.Deferred;
+import org.jpromise.Promise;
+import org.jpromise.Promises;
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.I_Result;
+
+import java.util.concurrent.ExecutionException;
+
+import static org.openjdk.jcstress.annotations.Expect.*;
+
+/**
+ * Reads the result of a promise that is being fulfilled with an object whose field is not final.  A reader that
+ * observes the promise as done must also observe the fully constructed result.
+ */
+@JCStressTest
+@Outcome(id = "-1", expect = ACCEPTABLE, desc = "The promise was not yet done.")
+@Outcome(id = "42", expect = ACCEPTABLE, desc = "The result was observed.")
+@Outcome(id = "0", expect = FORBIDDEN, desc = "The promise was done but the result was not fully visible.")
+@Outcome(expect = FORBIDDEN, desc = "Other cases are not expected.")
+@State
+public class GetVersusFulfillTest {
+    private final Deferred<Holder> deferred = Promises.defer();
+    private final Promise<Holder> promise = deferred.promise();
+
+    static final class Holder {
+        int value;
+
+        Holder(int value) {
+            this.value = value;
+        }
+    }
+
+    @Actor
+    public void fulfill() {
+        deferred.fulfill(new Holder(42));
+    }
+
+    @Actor
+    public void get(I_Result r) {
+        if (!promise.isDone()) {
+            r.r1 = -1;
+            return;
+        }
+        try {
+            Holder holder = promise.get();
+            r.r1 = holder != null ? holder.value : -2;
+        }
+        catch (InterruptedException | ExecutionException exception) {
+            r.r1 = -3;
+        }
+    }
+}
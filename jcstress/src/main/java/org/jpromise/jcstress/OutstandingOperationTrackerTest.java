@@ -0,0 +1,46 @@
+package org.jpromise.jcstress;
+
+import org.jpromise.operators.OutstandingOperation;
+import org.jpromise.operators.OutstandingOperationTracker;
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.I_Result;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.openjdk.jcstress.annotations.Expect.*;
+
+/**
+ * Completes the tracker while two outstanding operations complete.  The completion runnable must run exactly once,
+ * on whichever thread ends the last operation.
+ */
+@JCStressTest
+@Outcome(id = "1", expect = ACCEPTABLE, desc = "The completion ran once.")
+@Outcome(expect = FORBIDDEN, desc = "The completion was lost or ran more than once.")
+@State
+public class OutstandingOperationTrackerTest {
+    private final OutstandingOperationTracker tracker = new OutstandingOperationTracker();
+    private final OutstandingOperation first = tracker.start();
+    private final OutstandingOperation second = tracker.start();
+    private final AtomicInteger completions = new AtomicInteger();
+
+    @Actor
+    public void completeFirst() {
+        first.complete();
+    }
+
+    @Actor
+    public void completeSecond() {
+        second.complete();
+        second.complete();
+    }
+
+    @Actor
+    public void completeTracker() {
+        tracker.complete(completions::incrementAndGet);
+    }
+
+    @Arbiter
+    public void arbiter(I_Result r) {
+        r.r1 = completions.get();
+    }
+}
@@ -0,0 +1,40 @@
+package org.jpromise.jcstress;
+
+import org.jpromise.LongDeferred;
+import org.jpromise.LongPromise;
+import org.jpromise.Promises;
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.J_Result;
+
+import java.util.concurrent.ExecutionException;
+
+import static org.openjdk.jcstress.annotations.Expect.*;
+
+/**
+ * Reads a primitive promise with {@code getNow} while it is fulfilled.  The unboxed completion must never be observed
+ * partially initialized.
+ */
+@JCStressTest
+@Outcome(id = "-1", expect = ACCEPTABLE, desc = "The promise was not yet done.")
+@Outcome(id = "9223372036854775807", expect = ACCEPTABLE, desc = "The result was observed.")
+@Outcome(expect = FORBIDDEN, desc = "A partially initialized completion was observed.")
+@State
+public class PrimitiveGetVersusFulfillTest {
+    private final LongDeferred deferred = Promises.deferLong();
+    private final LongPromise promise = deferred.promise();
+
+    @Actor
+    public void fulfill() {
+        deferred.fulfill(Long.MAX_VALUE);
+    }
+
+    @Actor
+    public void getNow(J_Result r) {
+        try {
+            r.r1 = promise.getNow(-1L);
+        }
+        catch (ExecutionException exception) {
+            r.r1 = -2L;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.jpromise.jcstress;
+
+import org.jpromise.ExecutorPromiseService;
+import org.jpromise.PromiseExecutors;
+import org.jpromise.RateLimitedPromiseService;
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.ZZ_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.*;
+
+/**
+ * Acquires the only permit of a token bucket from two threads.  The bucket refills so slowly that it does not refill
+ * during the test, so exactly one of the acquisitions must succeed.
+ */
+@JCStressTest
+@Outcome(id = "true, false", expect = ACCEPTABLE, desc = "The first actor acquired the permit.")
+@Outcome(id = "false, true", expect = ACCEPTABLE, desc = "The second actor acquired the permit.")
+@Outcome(expect = FORBIDDEN, desc = "The permit was acquired twice or not at all.")
+@State
+public class RateLimitedAcquireTest {
+    private final RateLimitedPromiseService service = new RateLimitedPromiseService(new ExecutorPromiseService(PromiseExecutors.CURRENT_THREAD), 0.001, 1);
+
+    @Actor
+    public void actor1(ZZ_Result r) {
+        r.r1 = service.tryAcquire(1);
+    }
+
+    @Actor
+    public void actor2(ZZ_Result r) {
+        r.r2 = service.tryAcquire(1);
+    }
+}
@@ -0,0 +1,38 @@
+package org.jpromise.jcstress;
+
+import org.jpromise.Deferred;
+import org.jpromise.Promise;
+import org.jpromise.PromiseManager;
+import org.jpromise.Promises;
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.Z_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.*;
+
+/**
+ * Completes the inputs of {@code whenAllCompleted} concurrently.  The shared counter must observe every completion.
+ */
+@JCStressTest
+@Outcome(id = "true", expect = ACCEPTABLE, desc = "The joined promise was fulfilled.")
+@Outcome(id = "false", expect = FORBIDDEN, desc = "A completion was lost.")
+@State
+public class WhenAllCompletedTest {
+    private final Deferred<String> first = Promises.defer();
+    private final Deferred<String> second = Promises.defer();
+    private final Promise<Void> joined = PromiseManager.whenAllCompleted(first.promise(), second.promise());
+
+    @Actor
+    public void fulfill() {
+        first.fulfill("SUCCESS");
+    }
+
+    @Actor
+    public void reject() {
+        second.reject(new Exception());
+    }
+
+    @Arbiter
+    public void arbiter(Z_Result r) {
+        r.r1 = joined.isFulfilled();
+    }
+}
@@ -0,0 +1,56 @@
+package org.jpromise.jcstress;
+
+import org.jpromise.Deferred;
+import org.jpromise.Promise;
+import org.jpromise.PromiseManager;
+import org.jpromise.Promises;
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.LL_Result;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.openjdk.jcstress.annotations.Expect.*;
+
+/**
+ * Fulfills the inputs of {@code whenNFulfilled} concurrently while a third is rejected.  Each result must be published
+ * into its claimed slot before the quorum is reported.
+ */
+@JCStressTest
+@Outcome(id = "first, second", expect = ACCEPTABLE, desc = "The first input claimed the first slot.")
+@Outcome(id = "second, first", expect = ACCEPTABLE, desc = "The second input claimed the first slot.")
+@Outcome(expect = FORBIDDEN, desc = "A result was lost or the quorum was decided early.")
+@State
+public class WhenNFulfilledTest {
+    private final Deferred<String> first = Promises.defer();
+    private final Deferred<String> second = Promises.defer();
+    private final Deferred<String> third = Promises.defer();
+    private final Promise<List<String>> quorum = PromiseManager.whenNFulfilled(2, Arrays.asList(first.promise(), second.promise(), third.promise()));
+
+    @Actor
+    public void fulfillFirst() {
+        first.fulfill("first");
+    }
+
+    @Actor
+    public void fulfillSecond() {
+        second.fulfill("second");
+    }
+
+    @Actor
+    public void reject() {
+        third.reject(new Exception());
+    }
+
+    @Arbiter
+    public void arbiter(LL_Result r) {
+        try {
+            List<String> results = quorum.getNow(null);
+            r.r1 = results == null ? null : results.get(0);
+            r.r2 = results == null ? null : results.get(1);
+        }
+        catch (Exception exception) {
+            r.r1 = exception;
+        }
+    }
+}
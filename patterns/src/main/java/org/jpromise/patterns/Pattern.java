@@ -1,5 +1,6 @@
 package org.jpromise.patterns;
 
+import org.jpromise.CancellationMode;
 import org.jpromise.Promise;
 import org.jpromise.PromiseManager;
 import org.jpromise.functions.*;
@@ -12,7 +13,8 @@ import org.jpromise.functions.OnFulfilledFunction3;
 import org.jpromise.functions.OnFulfilledFunction4;
 import org.jpromise.functions.OnFulfilledFunction5;
 
-import java.util.concurrent.ExecutionException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.Future;
 
 /**
@@ -96,11 +98,28 @@ public class Pattern {
      * @return A promise that will be completed when both promises are fulfilled.
      */
     public static <V1, V2> Promise<Pattern2<V1, V2>> join(final Promise<V1> first, final Promise<V2> second) {
-        return PromiseManager.whenAllFulfilled(first, second)
-                .thenApply(new OnFulfilledFunction<Void, Pattern2<V1, V2>>() {
+        return join(CancellationMode.NONE, first, second);
+    }
+
+    /**
+     * Creates a single {@link org.jpromise.Promise} representing the successful completion
+     * of both of the specified promises.  If either of the promises is rejected then the
+     * created promise will also be rejected with the same exception and the remaining
+     * promises are cancelled as specified by the {@link org.jpromise.CancellationMode}.
+     * @param mode Specifies whether the remaining promises are cancelled after the first rejection.
+     * @param first The first promise.
+     * @param second The second promise.
+     * @param <V1> The result type of the first promise.
+     * @param <V2> The result type of the second promise.
+     * @return A promise that will be completed when both promises are fulfilled.
+     */
+    public static <V1, V2> Promise<Pattern2<V1, V2>> join(CancellationMode mode, Promise<V1> first, Promise<V2> second) {
+        return PromiseManager.<Object>allOf(mode, Arrays.<Promise<?>>asList(first, second))
+                .thenApply(new OnFulfilledFunction<List<Object>, Pattern2<V1, V2>>() {
                     @Override
-                    public Pattern2<V1, V2> fulfilled(Void result) throws Throwable {
-                        return new Pattern2<V1, V2>(getResult(first), getResult(second));
+                    @SuppressWarnings("unchecked")
+                    public Pattern2<V1, V2> fulfilled(List<Object> results) throws Throwable {
+                        return new Pattern2<V1, V2>((V1)results.get(0), (V2)results.get(1));
                     }
                 });
     }
@@ -118,11 +137,30 @@ public class Pattern {
      * @return A promise that will be completed when all of the promises are fulfilled.
      */
     public static <V1, V2, V3> Promise<Pattern3<V1, V2, V3>> join(final Promise<V1> first, final Promise<V2> second, final Promise<V3> third) {
-        return PromiseManager.whenAllFulfilled(first, second, third)
-                .thenApply(new OnFulfilledFunction<Void, Pattern3<V1, V2, V3>>() {
+        return join(CancellationMode.NONE, first, second, third);
+    }
+
+    /**
+     * Creates a single {@link org.jpromise.Promise} representing the successful completion
+     * of all of the specified promises.  If any of the promises is rejected then the
+     * created promise will also be rejected with the same exception and the remaining
+     * promises are cancelled as specified by the {@link org.jpromise.CancellationMode}.
+     * @param mode Specifies whether the remaining promises are cancelled after the first rejection.
+     * @param first The first promise.
+     * @param second The second promise.
+     * @param third The third promise.
+     * @param <V1> The result type of the first promise.
+     * @param <V2> The result type of the second promise.
+     * @param <V3> The result type of the third promise.
+     * @return A promise that will be completed when all of the promises are fulfilled.
+     */
+    public static <V1, V2, V3> Promise<Pattern3<V1, V2, V3>> join(CancellationMode mode, Promise<V1> first, Promise<V2> second, Promise<V3> third) {
+        return PromiseManager.<Object>allOf(mode, Arrays.<Promise<?>>asList(first, second, third))
+                .thenApply(new OnFulfilledFunction<List<Object>, Pattern3<V1, V2, V3>>() {
                     @Override
-                    public Pattern3<V1, V2, V3> fulfilled(Void result) throws Throwable {
-                        return new Pattern3<V1, V2, V3>(getResult(first), getResult(second), getResult(third));
+                    @SuppressWarnings("unchecked")
+                    public Pattern3<V1, V2, V3> fulfilled(List<Object> results) throws Throwable {
+                        return new Pattern3<V1, V2, V3>((V1)results.get(0), (V2)results.get(1), (V3)results.get(2));
                     }
                 });
     }
@@ -142,11 +180,32 @@ public class Pattern {
      * @return A promise that will be completed when all of the promises are fulfilled.
      */
     public static <V1, V2, V3, V4> Promise<Pattern4<V1, V2, V3, V4>> join(final Promise<V1> first, final Promise<V2> second, final Promise<V3> third, final Promise<V4> fourth) {
-        return PromiseManager.whenAllFulfilled(first, second, third, fourth)
-                .thenApply(new OnFulfilledFunction<Void, Pattern4<V1, V2, V3, V4>>() {
+        return join(CancellationMode.NONE, first, second, third, fourth);
+    }
+
+    /**
+     * Creates a single {@link org.jpromise.Promise} representing the successful completion
+     * of all of the specified promises.  If any of the promises is rejected then the
+     * created promise will also be rejected with the same exception and the remaining
+     * promises are cancelled as specified by the {@link org.jpromise.CancellationMode}.
+     * @param mode Specifies whether the remaining promises are cancelled after the first rejection.
+     * @param first The first promise.
+     * @param second The second promise.
+     * @param third The third promise.
+     * @param fourth The fourth promise.
+     * @param <V1> The result type of the first promise.
+     * @param <V2> The result type of the second promise.
+     * @param <V3> The result type of the third promise.
+     * @param <V4> The result type of the fourth promise.
+     * @return A promise that will be completed when all of the promises are fulfilled.
+     */
+    public static <V1, V2, V3, V4> Promise<Pattern4<V1, V2, V3, V4>> join(CancellationMode mode, Promise<V1> first, Promise<V2> second, Promise<V3> third, Promise<V4> fourth) {
+        return PromiseManager.<Object>allOf(mode, Arrays.<Promise<?>>asList(first, second, third, fourth))
+                .thenApply(new OnFulfilledFunction<List<Object>, Pattern4<V1, V2, V3, V4>>() {
                     @Override
-                    public Pattern4<V1, V2, V3, V4> fulfilled(Void result) throws Throwable {
-                        return new Pattern4<V1, V2, V3, V4>(getResult(first), getResult(second), getResult(third), getResult(fourth));
+                    @SuppressWarnings("unchecked")
+                    public Pattern4<V1, V2, V3, V4> fulfilled(List<Object> results) throws Throwable {
+                        return new Pattern4<V1, V2, V3, V4>((V1)results.get(0), (V2)results.get(1), (V3)results.get(2), (V4)results.get(3));
                     }
                 });
     }
@@ -168,22 +227,38 @@ public class Pattern {
      * @return A promise that will be completed when all of the promises are fulfilled.
      */
     public static <V1, V2, V3, V4, V5> Promise<Pattern5<V1, V2, V3, V4, V5>> join(final Promise<V1> first, final Promise<V2> second, final Promise<V3> third, final Promise<V4> fourth, final Promise<V5> fifth) {
-        return PromiseManager.whenAllFulfilled(first, second, third, fourth, fifth)
-                .thenApply(new OnFulfilledFunction<Void, Pattern5<V1, V2, V3, V4, V5>>() {
+        return join(CancellationMode.NONE, first, second, third, fourth, fifth);
+    }
+
+    /**
+     * Creates a single {@link org.jpromise.Promise} representing the successful completion
+     * of all of the specified promises.  If any of the promises is rejected then the
+     * created promise will also be rejected with the same exception and the remaining
+     * promises are cancelled as specified by the {@link org.jpromise.CancellationMode}.
+     * @param mode Specifies whether the remaining promises are cancelled after the first rejection.
+     * @param first The first promise.
+     * @param second The second promise.
+     * @param third The third promise.
+     * @param fourth The fourth promise.
+     * @param fifth The fifth promise.
+     * @param <V1> The result type of the first promise.
+     * @param <V2> The result type of the second promise.
+     * @param <V3> The result type of the third promise.
+     * @param <V4> The result type of the fourth promise.
+     * @param <V5> The result type of the fifth promise.
+     * @return A promise that will be completed when all of the promises are fulfilled.
+     */
+    public static <V1, V2, V3, V4, V5> Promise<Pattern5<V1, V2, V3, V4, V5>> join(CancellationMode mode, Promise<V1> first, Promise<V2> second, Promise<V3> third, Promise<V4> fourth, Promise<V5> fifth) {
+        return PromiseManager.<Object>allOf(mode, Arrays.<Promise<?>>asList(first, second, third, fourth, fifth))
+                .thenApply(new OnFulfilledFunction<List<Object>, Pattern5<V1, V2, V3, V4, V5>>() {
                     @Override
-                    public Pattern5<V1, V2, V3, V4, V5> fulfilled(Void result) throws Throwable {
-                        return new Pattern5<V1, V2, V3, V4, V5>(getResult(first), getResult(second), getResult(third), getResult(fourth), getResult(fifth));
+                    @SuppressWarnings("unchecked")
+                    public Pattern5<V1, V2, V3, V4, V5> fulfilled(List<Object> results) throws Throwable {
+                        return new Pattern5<V1, V2, V3, V4, V5>((V1)results.get(0), (V2)results.get(1), (V3)results.get(2), (V4)results.get(3), (V5)results.get(4));
                     }
                 });
     }
 
-    private static <V> V getResult(Promise<V> promise) throws InterruptedException, ExecutionException {
-        if (promise == null) {
-            return null;
-        }
-        return promise.get();
-    }
-
     /**
      * Helper method to be combined with the {@link org.jpromise.Promise#then(org.jpromise.functions.OnFulfilled)}
      * method to decompose the separate values of the {@link org.jpromise.patterns.Pattern2} into
@@ -1,6 +1,9 @@
 package org.jpromise.patterns;
 
+import org.jpromise.CancellationMode;
+import org.jpromise.Deferred;
 import org.jpromise.Promise;
+import org.jpromise.PromiseHelpers;
 import org.jpromise.Promises;
 import org.jpromise.functions.*;
 import org.junit.Test;
@@ -8,6 +11,7 @@ import org.junit.Test;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.Future;
 
 import static org.jpromise.PromiseHelpers.*;
@@ -96,6 +100,17 @@ public class PatternTest {
         assertFulfills(Pattern.<String, String>of(SUCCESS1, null), promise);
     }
 
+    @Test
+    public void joinCancelsRemaining() throws Throwable {
+        Throwable exception = new Throwable();
+        Deferred<String> deferred = Promises.defer();
+
+        Promise<Pattern3<String, String, String>> promise = Pattern.join(CancellationMode.CANCEL, deferred.promise(), Promises.fulfilled(SUCCESS2), PromiseHelpers.<String>rejectAfter(exception, 10));
+
+        assertRejects(exception, promise);
+        assertRejects(CancellationException.class, deferred.promise());
+    }
+
     @Test(expected = IndexOutOfBoundsException.class)
     public void getUnderBoundsThrows() throws Throwable {
         Pattern2<String, String> pattern = Pattern.of(SUCCESS1, SUCCESS2);
@@ -7,7 +7,6 @@ import java.util.concurrent.atomic.AtomicLong;
 public abstract class BoundedStreamOperator<V_IN, V_OUT> extends StreamOperator<V_IN, V_OUT> {
     @Override
     public PromiseSubscriber<V_IN> subscribe(final PromiseSubscriber<? super V_OUT> subscriber) {
-        BoundedPromiseSubscriberImpl impl = new BoundedPromiseSubscriberImpl(subscriber);
         return super.subscribe(new BoundedPromiseSubscriberImpl(subscriber));
     }
 
@@ -1,6 +1,7 @@
 package org.jpromise.operators;
 
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.jpromise.util.MessageUtil.mustNotBeNull;
@@ -8,23 +9,22 @@ import static org.jpromise.util.MessageUtil.mustNotBeNull;
 public final class OutstandingOperationTracker {
     private final AtomicLong outstanding = new AtomicLong(1);
     private final AtomicBoolean completed = new AtomicBoolean(false);
-    private Runnable runnable;
+    private volatile Runnable runnable;
 
     public final OutstandingOperation start() {
+        begin();
+        return new Operation(this);
+    }
+
+    /**
+     * Starts an operation that the caller guarantees to {@link #end()} exactly once, which avoids allocating an
+     * {@link OutstandingOperation} per element.
+     */
+    void begin() {
         outstanding.incrementAndGet();
-        return new OutstandingOperation() {
-            private final AtomicBoolean closed = new AtomicBoolean(false);
-
-            @Override
-            public void complete() {
-                if (closed.compareAndSet(false, true)) {
-                    end();
-                }
-            }
-        };
     }
 
-    private void end() {
+    void end() {
         if (outstanding.decrementAndGet() == 0) {
             runnable.run();
         }
@@ -37,4 +37,22 @@ public final class OutstandingOperationTracker {
             end();
         }
     }
+
+    private static final class Operation implements OutstandingOperation {
+        private static final AtomicIntegerFieldUpdater<Operation> CLOSED = AtomicIntegerFieldUpdater.newUpdater(Operation.class, "closed");
+
+        private final OutstandingOperationTracker tracker;
+        private volatile int closed;
+
+        Operation(OutstandingOperationTracker tracker) {
+            this.tracker = tracker;
+        }
+
+        @Override
+        public void complete() {
+            if (CLOSED.compareAndSet(this, 0, 1)) {
+                tracker.end();
+            }
+        }
+    }
 }
@@ -9,7 +9,7 @@ public abstract class StreamOperator<V_IN, V_OUT> {
 
             @Override
             public void fulfilled(V_IN result) {
-                OutstandingOperation operation = tracker.start();
+                tracker.begin();
                 try {
                     StreamOperator.this.fulfilled(subscriber, result);
                 }
@@ -17,13 +17,13 @@ public abstract class StreamOperator<V_IN, V_OUT> {
                     subscriber.rejected(exception);
                 }
                 finally {
-                    operation.complete();
+                    tracker.end();
                 }
             }
 
             @Override
             public void rejected(Throwable exception) {
-                OutstandingOperation operation = tracker.start();
+                tracker.begin();
                 try {
                     StreamOperator.this.rejected(subscriber, exception);
                 }
@@ -31,7 +31,7 @@ public abstract class StreamOperator<V_IN, V_OUT> {
                     subscriber.rejected(error);
                 }
                 finally {
-                    operation.complete();
+                    tracker.end();
                 }
             }
 
@@ -0,0 +1,55 @@
+package org.jpromise;
+
+import org.jpromise.functions.OnFulfilledFunction;
+import org.jpromise.operators.FilterOperator;
+import org.jpromise.operators.MapOperator;
+import org.jpromise.operators.StreamOperator;
+import org.junit.Test;
+
+import static org.jpromise.AllocationHelpers.assertAllocatesAtMost;
+
+public class StreamAllocationBudgetTest {
+    private static final int OPERATIONS = 100000;
+    private static final String SUCCESS1 = "SUCCESS1";
+
+    private static final PromiseSubscriber<String> SINK = new PromiseSubscriber<String>() {
+        @Override
+        public void fulfilled(String result) { }
+
+        @Override
+        public void rejected(Throwable exception) { }
+
+        @Override
+        public void complete() { }
+    };
+
+    private static void assertElementAllocatesAtMost(String name, long budget, StreamOperator<String, String> operator) {
+        final PromiseSubscriber<String> subscriber = operator.subscribe(SINK);
+        assertAllocatesAtMost(name, budget, OPERATIONS, new Runnable() {
+            @Override
+            public void run() {
+                subscriber.fulfilled(SUCCESS1);
+            }
+        });
+    }
+
+    @Test
+    public void mapPerElement() {
+        assertElementAllocatesAtMost("MapOperator per element", 0, new MapOperator<String, String>(new OnFulfilledFunction<String, String>() {
+            @Override
+            public String fulfilled(String result) throws Throwable {
+                return result;
+            }
+        }));
+    }
+
+    @Test
+    public void filterPerElement() {
+        assertElementAllocatesAtMost("FilterOperator per element", 0, new FilterOperator<String>(new OnFulfilledFunction<String, Boolean>() {
+            @Override
+            public Boolean fulfilled(String result) throws Throwable {
+                return Boolean.TRUE;
+            }
+        }));
+    }
+}